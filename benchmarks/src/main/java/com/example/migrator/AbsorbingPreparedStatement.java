@@ -0,0 +1,79 @@
+package com.example.migrator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Arrays;
+
+/**
+ * INSERT-Statement, das Batches schluckt: Streams werden beim {@code addBatch} vollständig gelesen
+ * (wie es ein Treiber beim Senden täte), übrige Werte nur gezählt.
+ */
+final class AbsorbingPreparedStatement extends PreparedStatementAdapter {
+
+    private final FakeJdbc db;
+    private final Object[] params;
+    private final char[] cbuf = new char[8192];
+    private final byte[] bbuf = new byte[8192];
+    private int batched;
+    private long batchBytes;
+
+    AbsorbingPreparedStatement(FakeJdbc db, long parameters) {
+        this.db = db;
+        this.params = new Object[(int) parameters];
+    }
+
+    @Override public void setObject(int i, Object v) { params[i - 1] = v; }
+    @Override public void setNull(int i, int sqlType) { params[i - 1] = null; }
+    @Override public void setString(int i, String v) { params[i - 1] = v; }
+    @Override public void setBytes(int i, byte[] v) { params[i - 1] = v; }
+    @Override public void setBigDecimal(int i, BigDecimal v) { params[i - 1] = v; }
+    @Override public void setInt(int i, int v) { params[i - 1] = v; }
+    @Override public void setLong(int i, long v) { params[i - 1] = v; }
+    @Override public void setDate(int i, java.sql.Date v) { params[i - 1] = v; }
+    @Override public void setTimestamp(int i, Timestamp v) { params[i - 1] = v; }
+    @Override public void setCharacterStream(int i, Reader r) { params[i - 1] = r; }
+    @Override public void setBinaryStream(int i, InputStream is) { params[i - 1] = is; }
+
+    @Override public void addBatch() throws SQLException {
+        long bytes = 0;
+        try {
+            for (Object p : params) {
+                if (p == null) bytes += 1;
+                else if (p instanceof Reader r) { for (int n; (n = r.read(cbuf)) > 0; ) bytes += n; }
+                else if (p instanceof InputStream is) { for (int n; (n = is.read(bbuf)) > 0; ) bytes += n; }
+                else if (p instanceof String s) bytes += s.length();
+                else if (p instanceof byte[] b) bytes += b.length;
+                else bytes += 8;
+            }
+        } catch (IOException ex) {
+            throw new SQLException(ex);
+        }
+        Arrays.fill(params, null);
+        batchBytes += bytes;
+        batched++;
+    }
+
+    @Override public int[] executeBatch() {
+        int[] r = new int[batched];
+        Arrays.fill(r, 1);
+        db.insertedRows.add(batched);
+        db.insertedBytes.add(batchBytes);
+        batched = 0;
+        batchBytes = 0;
+        return r;
+    }
+
+    @Override public int executeUpdate() throws SQLException {
+        addBatch();
+        return executeBatch().length;
+    }
+
+    @Override public void clearBatch() { batched = 0; batchBytes = 0; }
+    @Override public void clearParameters() { Arrays.fill(params, null); }
+    @Override public boolean isWrapperFor(Class<?> c) { return false; }
+    @Override public void close() { }
+    @Override public boolean isClosed() { return false; }
+}
@@ -0,0 +1,73 @@
+package com.example.migrator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zeilenschleife der Kopie je Spaltenmischung, Ergebnis in Zeilen/s:
+ * {@code bindLoop} nur Lesen/Binden/addBatch mit den Kopierern des Plans,
+ * {@code copyTable} der ganze {@link DBManager#copyTable}-Pfad inkl. executeBatch/commit und Metriken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(CopyBenchmark.ROWS)
+public class CopyBenchmark {
+
+    static final int ROWS = 20_000;
+
+    @Param({"NUMBER", "VARCHAR2", "DATE", "CLOB", "BLOB", "MIXED"})
+    public String mix;
+
+    @Param({"8"})
+    public int columns;
+
+    @Param({"2048"})
+    public int lobBytes;
+
+    private FakeJdbc db;
+    private Connection src, dst;
+    private CopyPlan plan;
+    private CopyOptions opts;
+
+    @Setup
+    public void setup() throws SQLException {
+        db = new FakeJdbc();
+        db.addTable("T", mix, columns, ROWS, lobBytes);
+        src = db.connect("src");
+        dst = db.connect("dst");
+        plan = CopyPlan.get(src, "SRC", dst, "DST", "T");
+        opts = new CopyOptions();
+        opts.setCommitBatch(1000);
+    }
+
+    @Benchmark
+    public long bindLoop() throws SQLException {
+        CopyPlan.ColumnKind[] copiers = plan.copiers(false);
+        int n = copiers.length;
+        try (ResultSet rs = src.createStatement().executeQuery(plan.selectSql(null));
+             AbsorbingPreparedStatement ps = (AbsorbingPreparedStatement) dst.prepareStatement(plan.insertSql(false))) {
+            int batch = 0;
+            while (rs.next()) {
+                for (int i = 0; i < n; i++) copiers[i].copy(rs, ps, i + 1);
+                ps.addBatch();
+                if (++batch == opts.getCommitBatch()) { ps.executeBatch(); batch = 0; }
+            }
+            if (batch > 0) ps.executeBatch();
+        }
+        return db.insertedRows.sum();
+    }
+
+    @Benchmark
+    public long copyTable() throws SQLException {
+        DBManager.copyTable(src, "SRC", dst, "DST", "T", null, opts, null, null);
+        return db.insertedRows.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.migrator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Sortierung der Zähler-Spalten über {@link MainController#compareCountStringsAsLong} (Zahlen und Sonderwerte). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountSortBenchmark {
+
+    @Param({"50000"})
+    public int rows;
+
+    private List<String> counts;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(3);
+        counts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int k = rnd.nextInt(100);
+            counts.add(k < 2 ? null : k < 4 ? "error" : k < 8 ? "table not exists" : k < 10 ? "" : Long.toString(rnd.nextLong() >>> 20));
+        }
+    }
+
+    @Benchmark
+    public List<String> sort() {
+        List<String> copy = new ArrayList<>(counts);
+        copy.sort(MainController::compareCountStringsAsLong);
+        return copy;
+    }
+}
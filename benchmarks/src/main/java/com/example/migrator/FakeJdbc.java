@@ -0,0 +1,212 @@
+package com.example.migrator;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-Process-Ersatz für eine Oracle-Datenbank in den Benchmarks: liefert synthetische Zeilen für
+ * SELECTs, beantwortet die Dictionary-Abfragen von {@link MetadataCache}/{@link CopyPlan} und
+ * schluckt INSERT-Batches. Connection und Metadaten sind Proxies (außerhalb der Zeilenschleife),
+ * ResultSet und INSERT-Statement konkrete Klassen, damit sie die Messung nicht verfälschen.
+ */
+final class FakeJdbc {
+
+    /** Spalte einer synthetischen Tabelle mit vorab erzeugten Werten. */
+    static final class Column {
+        final String name, oracleType;
+        final int jdbcType, length;
+        final Integer precision, scale;
+        Column(String name, String oracleType, int jdbcType, int length, Integer precision, Integer scale) {
+            this.name = name; this.oracleType = oracleType; this.jdbcType = jdbcType; this.length = length;
+            this.precision = precision; this.scale = scale;
+        }
+    }
+
+    static final class Table {
+        final String name;
+        final List<Column> columns = new ArrayList<>();
+        final long rows;
+        Object[][] pool;   // [Zeile % POOL][Spalte]
+        Table(String name, long rows) { this.name = name.toUpperCase(); this.rows = rows; }
+    }
+
+    /** So viele unterschiedliche Zeilen werden erzeugt und zyklisch ausgeliefert. */
+    static final int POOL = 1024;
+
+    /** Spaltenmischungen der Benchmarks. */
+    static final List<String> MIXES = List.of("NUMBER", "VARCHAR2", "DATE", "CLOB", "BLOB", "MIXED");
+
+    private static final Pattern FROM = Pattern.compile("FROM\\s+(\\w+)\\.(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, Table> tables = new HashMap<>();
+    final LongAdder insertedRows = new LongAdder();
+    final LongAdder insertedBytes = new LongAdder();
+
+    /**
+     * Tabelle mit {@code columns} Spalten der Mischung ({@code NUMBER}, {@code VARCHAR2}, {@code DATE},
+     * {@code CLOB}, {@code BLOB} oder {@code MIXED}); erste Spalte ist der PK, jeder zehnte andere Wert NULL.
+     */
+    Table addTable(String name, String mix, int columns, long rows, int lobBytes) {
+        Table t = new Table(name, rows);
+        t.columns.add(new Column("ID", "NUMBER", Types.NUMERIC, 22, 19, 0));
+        String[] cycle = mix.equals("MIXED") ? new String[] {"NUMBER", "VARCHAR2", "DATE", "VARCHAR2", "NUMBER", "CLOB", "BLOB"}
+                : new String[] {mix};
+        for (int c = 1; c < columns; c++) {
+            String type = cycle[(c - 1) % cycle.length];
+            t.columns.add(switch (type) {
+                case "NUMBER" -> new Column("N" + c, "NUMBER", Types.NUMERIC, 22, 12, 2);
+                case "VARCHAR2" -> new Column("S" + c, "VARCHAR2", Types.VARCHAR, 100, null, null);
+                case "DATE" -> new Column("D" + c, "DATE", Types.DATE, 7, null, null);
+                case "CLOB" -> new Column("C" + c, "CLOB", Types.CLOB, 4000, null, null);
+                case "BLOB" -> new Column("B" + c, "BLOB", Types.BLOB, 4000, null, null);
+                default -> throw new IllegalArgumentException("Spaltentyp " + type);
+            });
+        }
+        Random rnd = new Random(42);
+        t.pool = new Object[POOL][t.columns.size()];
+        for (int r = 0; r < POOL; r++) {
+            t.pool[r][0] = BigDecimal.valueOf(r);
+            for (int c = 1; c < t.columns.size(); c++) {
+                if (r % 10 == c % 10) continue;   // NULL
+                t.pool[r][c] = value(t.columns.get(c), rnd, lobBytes);
+            }
+        }
+        tables.put(t.name, t);
+        return t;
+    }
+
+    private static Object value(Column c, Random rnd, int lobBytes) {
+        switch (c.oracleType) {
+            case "NUMBER": return BigDecimal.valueOf(rnd.nextInt(100_000_000), 2);
+            case "VARCHAR2": return randomText(rnd, 10 + rnd.nextInt(40));
+            case "DATE": return new java.sql.Date(1_500_000_000_000L + rnd.nextInt(1_000_000) * 60_000L);
+            case "CLOB": return randomText(rnd, lobBytes);
+            default: {
+                byte[] b = new byte[lobBytes];
+                rnd.nextBytes(b);
+                return b;
+            }
+        }
+    }
+
+    private static String randomText(Random rnd, int len) {
+        char[] ch = new char[len];
+        for (int i = 0; i < len; i++) ch[i] = (char) ('a' + rnd.nextInt(26));
+        return new String(ch);
+    }
+
+    Table table(String name) {
+        Table t = tables.get(name.toUpperCase());
+        if (t == null) throw new IllegalArgumentException("Tabelle " + name + " unbekannt");
+        return t;
+    }
+
+    /** Verbindung als Proxy; {@code name} bestimmt die URL (Cache-Schlüssel von Plan und Metadaten). */
+    Connection connect(String name) {
+        String url = "jdbc:bench:" + name;
+        DatabaseMetaData md = (DatabaseMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {DatabaseMetaData.class}, (p, m, a) -> switch (m.getName()) {
+                    case "getURL" -> url;
+                    case "getUserName" -> "BENCH";
+                    case "getDatabaseProductName" -> "Oracle";   // Dictionary-Abfragen wie bei Oracle (SqlDialect.ORACLE)
+                    default -> throw new SQLFeatureNotSupportedException(m.getName());
+                });
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (p, m, a) -> switch (m.getName()) {
+                    case "createStatement" -> new QueryStatement(this, null);
+                    case "prepareStatement" -> ((String) a[0]).trim().toUpperCase().startsWith("INSERT")
+                            ? new AbsorbingPreparedStatement(this, ((String) a[0]).chars().filter(ch -> ch == '?').count())
+                            : new QueryStatement(this, (String) a[0]);
+                    case "getMetaData" -> md;
+                    case "getAutoCommit", "isClosed", "isWrapperFor", "isReadOnly" -> false;
+                    case "isValid" -> true;
+                    case "setAutoCommit", "commit", "rollback", "close", "setReadOnly", "setClientInfo" -> null;
+                    case "hashCode" -> System.identityHashCode(p);
+                    case "equals" -> p == a[0];
+                    case "toString" -> url;
+                    default -> throw new SQLFeatureNotSupportedException(m.getName());
+                });
+    }
+
+    // --- Abfragen ------------------------------------------------------------
+
+    /** Antwort auf eine Abfrage (Statement-SQL, Bindwerte ab Index 0). */
+    ResultSet query(String sql, Object[] params) throws SQLException {
+        String u = sql.toUpperCase();
+        if (u.contains("SYS_CONTEXT")) return rows(new String[] {"CON"}, new Object[][] {{"BENCH"}});
+        if (u.contains("NLS_DATABASE_PARAMETERS")) return rows(new String[] {"VALUE"}, new Object[0][]);
+        if (u.contains("ALL_TAB_COLUMNS") && u.contains("DATA_DEFAULT")) return rows(new String[] {"T", "C", "D"}, new Object[0][]);
+        if (u.contains("ALL_TAB_COLUMNS")) return dictColumns(filter(params));
+        if (u.contains("ALL_CONSTRAINTS")) return dictPrimaryKeys(filter(params));
+        if (u.contains("ALL_INDEXES")) return rows(new String[] {"T", "I", "U", "C"}, new Object[0][]);
+
+        Matcher m = FROM.matcher(sql);
+        if (!m.find()) throw new SQLSyntaxErrorException("Bench: nicht unterstützt: " + sql);
+        Table t = table(m.group(2));
+        if (u.contains("COUNT(*)")) return rows(new String[] {"CNT"}, new Object[][] {{BigDecimal.valueOf(t.rows)}});
+        return new SyntheticResultSet(t, u.contains("WHERE 1=0") ? 0 : t.rows);
+    }
+
+    private static String filter(Object[] params) {
+        return params != null && params.length > 1 && params[1] != null ? params[1].toString().toUpperCase() : null;
+    }
+
+    private ResultSet dictColumns(String only) {
+        List<Object[]> out = new ArrayList<>();
+        for (Table t : tables.values()) {
+            if (only != null && !only.equals(t.name)) continue;
+            for (Column c : t.columns) {
+                out.add(new Object[] {t.name, c.name, c.oracleType, c.length,
+                        c.oracleType.equals("VARCHAR2") ? "B" : null, c.precision, c.scale, c.name.equals("ID") ? "N" : "Y", 0});
+            }
+        }
+        return rows(new String[] {"TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "DATA_LENGTH", "CHAR_USED",
+                "DATA_PRECISION", "DATA_SCALE", "NULLABLE", "DEFAULT_LENGTH"}, out.toArray(new Object[0][]));
+    }
+
+    private ResultSet dictPrimaryKeys(String only) {
+        List<Object[]> out = new ArrayList<>();
+        for (Table t : tables.values()) {
+            if (only == null || only.equals(t.name)) out.add(new Object[] {t.name, "PK_" + t.name, "P", "ID", null, null, null});
+        }
+        return rows(new String[] {"TABLE_NAME", "CONSTRAINT_NAME", "CONSTRAINT_TYPE", "COLUMN_NAME",
+                "R_OWNER", "R_TABLE_NAME", "R_COLUMN_NAME"}, out.toArray(new Object[0][]));
+    }
+
+    private static ResultSet rows(String[] labels, Object[][] data) {
+        Table t = new Table("DICT", data.length);
+        for (String l : labels) t.columns.add(new Column(l, "VARCHAR2", Types.VARCHAR, 4000, null, null));
+        t.pool = data.length == 0 ? new Object[1][labels.length] : data;
+        return new SyntheticResultSet(t, data.length);
+    }
+
+    // --- Statements für Abfragen -----------------------------------------------
+
+    /** Statement/PreparedStatement für SELECTs; Bindwerte werden nur für die Dictionary-Filter gebraucht. */
+    static final class QueryStatement extends PreparedStatementAdapter {
+        private final FakeJdbc db;
+        private final String sql;
+        private final Object[] params = new Object[8];
+        private int fetchSize = 10;
+
+        QueryStatement(FakeJdbc db, String sql) { this.db = db; this.sql = sql; }
+
+        @Override public ResultSet executeQuery() throws SQLException { return db.query(sql, params); }
+        @Override public ResultSet executeQuery(String s) throws SQLException { return db.query(s, null); }
+        @Override public void setString(int i, String v) { params[i - 1] = v; }
+        @Override public void setInt(int i, int v) { params[i - 1] = v; }
+        @Override public void setLong(int i, long v) { params[i - 1] = v; }
+        @Override public void setObject(int i, Object v) { params[i - 1] = v; }
+        @Override public void setFetchSize(int rows) { fetchSize = rows; }
+        @Override public int getFetchSize() { return fetchSize; }
+        @Override public void setQueryTimeout(int s) { }
+        @Override public boolean isWrapperFor(Class<?> c) { return false; }
+        @Override public void close() { }
+        @Override public boolean isClosed() { return false; }
+    }
+}
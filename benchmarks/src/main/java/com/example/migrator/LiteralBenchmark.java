@@ -0,0 +1,44 @@
+package com.example.migrator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** {@link DBManager#toSqlLiteral} über gemischte Werte (Keyset-Checkpoints, Bereichsgrenzen, WHERE-Vorschläge). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(LiteralBenchmark.VALUES)
+public class LiteralBenchmark {
+
+    static final int VALUES = 1024;
+
+    private final Object[] values = new Object[VALUES];
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(7);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = switch (i % 6) {
+                case 0 -> BigDecimal.valueOf(rnd.nextLong(), rnd.nextInt(4));
+                case 1 -> "Name O'" + rnd.nextInt(100_000);
+                case 2 -> new java.sql.Date(1_500_000_000_000L + rnd.nextInt(1_000_000) * 60_000L);
+                case 3 -> new Timestamp(1_500_000_000_000L + rnd.nextInt(1_000_000) * 1_000L);
+                case 4 -> { byte[] b = new byte[16]; rnd.nextBytes(b); yield b; }
+                default -> rnd.nextInt();
+            };
+        }
+    }
+
+    @Benchmark
+    public void toSqlLiteral(Blackhole bh) {
+        for (Object v : values) bh.consume(DBManager.toSqlLiteral(v));
+    }
+}
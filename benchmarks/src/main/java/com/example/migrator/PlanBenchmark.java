@@ -0,0 +1,46 @@
+package com.example.migrator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planung und DDL einer breiten Tabelle: Kopierplan inkl. Dictionary-Abfragen (Cache verworfen)
+ * und {@code CREATE TABLE} aus den gecachten Metadaten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanBenchmark {
+
+    @Param({"20", "200"})
+    public int columns;
+
+    private Connection src, dst;
+
+    @Setup
+    public void setup() throws SQLException {
+        FakeJdbc db = new FakeJdbc();
+        db.addTable("WIDE", "MIXED", columns, 0, 16);
+        src = db.connect("src");
+        dst = db.connect("dst");
+        DBManager.buildCreateTableDDL(src, "SRC", "DST", "WIDE");   // Metadaten in den Cache
+    }
+
+    @Benchmark
+    public CopyPlan buildPlan() throws SQLException {
+        CopyPlan.invalidateAll();
+        MetadataCache.invalidateAll();
+        return CopyPlan.get(src, "SRC", dst, "DST", "WIDE");
+    }
+
+    @Benchmark
+    public String createTableDdl() throws SQLException {
+        return DBManager.buildCreateTableDDL(src, "SRC", "DST", "WIDE");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.migrator;
+
+import java.sql.*;
+
+/** Basisklasse für die Batch-schluckenden Statements. Alle Methoden werfen {@link SQLFeatureNotSupportedException}. */
+abstract class PreparedStatementAdapter implements PreparedStatement {
+
+    public void addBatch() throws SQLException { throw unsupported("addBatch"); }
+    public void addBatch(String a0) throws SQLException { throw unsupported("addBatch"); }
+    public void cancel() throws SQLException { throw unsupported("cancel"); }
+    public void clearBatch() throws SQLException { throw unsupported("clearBatch"); }
+    public void clearParameters() throws SQLException { throw unsupported("clearParameters"); }
+    public void clearWarnings() throws SQLException { throw unsupported("clearWarnings"); }
+    public void close() throws SQLException { throw unsupported("close"); }
+    public void closeOnCompletion() throws SQLException { throw unsupported("closeOnCompletion"); }
+    public boolean execute() throws SQLException { throw unsupported("execute"); }
+    public boolean execute(String a0, int[] a1) throws SQLException { throw unsupported("execute"); }
+    public boolean execute(String a0, String[] a1) throws SQLException { throw unsupported("execute"); }
+    public boolean execute(String a0, int a1) throws SQLException { throw unsupported("execute"); }
+    public boolean execute(String a0) throws SQLException { throw unsupported("execute"); }
+    public int[] executeBatch() throws SQLException { throw unsupported("executeBatch"); }
+    public ResultSet executeQuery() throws SQLException { throw unsupported("executeQuery"); }
+    public ResultSet executeQuery(String a0) throws SQLException { throw unsupported("executeQuery"); }
+    public int executeUpdate() throws SQLException { throw unsupported("executeUpdate"); }
+    public int executeUpdate(String a0, int[] a1) throws SQLException { throw unsupported("executeUpdate"); }
+    public int executeUpdate(String a0, String[] a1) throws SQLException { throw unsupported("executeUpdate"); }
+    public int executeUpdate(String a0, int a1) throws SQLException { throw unsupported("executeUpdate"); }
+    public int executeUpdate(String a0) throws SQLException { throw unsupported("executeUpdate"); }
+    public Connection getConnection() throws SQLException { throw unsupported("getConnection"); }
+    public int getFetchDirection() throws SQLException { throw unsupported("getFetchDirection"); }
+    public int getFetchSize() throws SQLException { throw unsupported("getFetchSize"); }
+    public ResultSet getGeneratedKeys() throws SQLException { throw unsupported("getGeneratedKeys"); }
+    public int getMaxFieldSize() throws SQLException { throw unsupported("getMaxFieldSize"); }
+    public int getMaxRows() throws SQLException { throw unsupported("getMaxRows"); }
+    public ResultSetMetaData getMetaData() throws SQLException { throw unsupported("getMetaData"); }
+    public boolean getMoreResults() throws SQLException { throw unsupported("getMoreResults"); }
+    public boolean getMoreResults(int a0) throws SQLException { throw unsupported("getMoreResults"); }
+    public ParameterMetaData getParameterMetaData() throws SQLException { throw unsupported("getParameterMetaData"); }
+    public int getQueryTimeout() throws SQLException { throw unsupported("getQueryTimeout"); }
+    public ResultSet getResultSet() throws SQLException { throw unsupported("getResultSet"); }
+    public int getResultSetConcurrency() throws SQLException { throw unsupported("getResultSetConcurrency"); }
+    public int getResultSetHoldability() throws SQLException { throw unsupported("getResultSetHoldability"); }
+    public int getResultSetType() throws SQLException { throw unsupported("getResultSetType"); }
+    public int getUpdateCount() throws SQLException { throw unsupported("getUpdateCount"); }
+    public SQLWarning getWarnings() throws SQLException { throw unsupported("getWarnings"); }
+    public boolean isCloseOnCompletion() throws SQLException { throw unsupported("isCloseOnCompletion"); }
+    public boolean isClosed() throws SQLException { throw unsupported("isClosed"); }
+    public boolean isPoolable() throws SQLException { throw unsupported("isPoolable"); }
+    public boolean isWrapperFor(Class<?> a0) throws SQLException { throw unsupported("isWrapperFor"); }
+    public void setArray(int a0, Array a1) throws SQLException { throw unsupported("setArray"); }
+    public void setAsciiStream(int a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("setAsciiStream"); }
+    public void setAsciiStream(int a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("setAsciiStream"); }
+    public void setAsciiStream(int a0, java.io.InputStream a1) throws SQLException { throw unsupported("setAsciiStream"); }
+    public void setBigDecimal(int a0, java.math.BigDecimal a1) throws SQLException { throw unsupported("setBigDecimal"); }
+    public void setBinaryStream(int a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("setBinaryStream"); }
+    public void setBinaryStream(int a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("setBinaryStream"); }
+    public void setBinaryStream(int a0, java.io.InputStream a1) throws SQLException { throw unsupported("setBinaryStream"); }
+    public void setBlob(int a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("setBlob"); }
+    public void setBlob(int a0, java.io.InputStream a1) throws SQLException { throw unsupported("setBlob"); }
+    public void setBlob(int a0, Blob a1) throws SQLException { throw unsupported("setBlob"); }
+    public void setBoolean(int a0, boolean a1) throws SQLException { throw unsupported("setBoolean"); }
+    public void setByte(int a0, byte a1) throws SQLException { throw unsupported("setByte"); }
+    public void setBytes(int a0, byte[] a1) throws SQLException { throw unsupported("setBytes"); }
+    public void setCharacterStream(int a0, java.io.Reader a1, int a2) throws SQLException { throw unsupported("setCharacterStream"); }
+    public void setCharacterStream(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("setCharacterStream"); }
+    public void setCharacterStream(int a0, java.io.Reader a1) throws SQLException { throw unsupported("setCharacterStream"); }
+    public void setClob(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("setClob"); }
+    public void setClob(int a0, java.io.Reader a1) throws SQLException { throw unsupported("setClob"); }
+    public void setClob(int a0, Clob a1) throws SQLException { throw unsupported("setClob"); }
+    public void setCursorName(String a0) throws SQLException { throw unsupported("setCursorName"); }
+    public void setDate(int a0, Date a1, java.util.Calendar a2) throws SQLException { throw unsupported("setDate"); }
+    public void setDate(int a0, Date a1) throws SQLException { throw unsupported("setDate"); }
+    public void setDouble(int a0, double a1) throws SQLException { throw unsupported("setDouble"); }
+    public void setEscapeProcessing(boolean a0) throws SQLException { throw unsupported("setEscapeProcessing"); }
+    public void setFetchDirection(int a0) throws SQLException { throw unsupported("setFetchDirection"); }
+    public void setFetchSize(int a0) throws SQLException { throw unsupported("setFetchSize"); }
+    public void setFloat(int a0, float a1) throws SQLException { throw unsupported("setFloat"); }
+    public void setInt(int a0, int a1) throws SQLException { throw unsupported("setInt"); }
+    public void setLong(int a0, long a1) throws SQLException { throw unsupported("setLong"); }
+    public void setMaxFieldSize(int a0) throws SQLException { throw unsupported("setMaxFieldSize"); }
+    public void setMaxRows(int a0) throws SQLException { throw unsupported("setMaxRows"); }
+    public void setNCharacterStream(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("setNCharacterStream"); }
+    public void setNCharacterStream(int a0, java.io.Reader a1) throws SQLException { throw unsupported("setNCharacterStream"); }
+    public void setNClob(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("setNClob"); }
+    public void setNClob(int a0, java.io.Reader a1) throws SQLException { throw unsupported("setNClob"); }
+    public void setNClob(int a0, NClob a1) throws SQLException { throw unsupported("setNClob"); }
+    public void setNString(int a0, String a1) throws SQLException { throw unsupported("setNString"); }
+    public void setNull(int a0, int a1, String a2) throws SQLException { throw unsupported("setNull"); }
+    public void setNull(int a0, int a1) throws SQLException { throw unsupported("setNull"); }
+    public void setObject(int a0, Object a1, int a2, int a3) throws SQLException { throw unsupported("setObject"); }
+    public void setObject(int a0, Object a1, int a2) throws SQLException { throw unsupported("setObject"); }
+    public void setObject(int a0, Object a1) throws SQLException { throw unsupported("setObject"); }
+    public void setPoolable(boolean a0) throws SQLException { throw unsupported("setPoolable"); }
+    public void setQueryTimeout(int a0) throws SQLException { throw unsupported("setQueryTimeout"); }
+    public void setRef(int a0, Ref a1) throws SQLException { throw unsupported("setRef"); }
+    public void setRowId(int a0, RowId a1) throws SQLException { throw unsupported("setRowId"); }
+    public void setSQLXML(int a0, SQLXML a1) throws SQLException { throw unsupported("setSQLXML"); }
+    public void setShort(int a0, short a1) throws SQLException { throw unsupported("setShort"); }
+    public void setString(int a0, String a1) throws SQLException { throw unsupported("setString"); }
+    public void setTime(int a0, Time a1, java.util.Calendar a2) throws SQLException { throw unsupported("setTime"); }
+    public void setTime(int a0, Time a1) throws SQLException { throw unsupported("setTime"); }
+    public void setTimestamp(int a0, Timestamp a1, java.util.Calendar a2) throws SQLException { throw unsupported("setTimestamp"); }
+    public void setTimestamp(int a0, Timestamp a1) throws SQLException { throw unsupported("setTimestamp"); }
+    public void setURL(int a0, java.net.URL a1) throws SQLException { throw unsupported("setURL"); }
+    @Deprecated public void setUnicodeStream(int a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("setUnicodeStream"); }
+    public <T> T unwrap(Class<T> a0) throws SQLException { throw unsupported("unwrap"); }
+
+    static SQLException unsupported(String method) {
+        return new SQLFeatureNotSupportedException(method);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.migrator;
+
+import java.sql.*;
+
+/** Basisklasse für synthetische ResultSets. Alle Methoden werfen {@link SQLFeatureNotSupportedException}. */
+abstract class ResultSetAdapter implements ResultSet {
+
+    public boolean absolute(int a0) throws SQLException { throw unsupported("absolute"); }
+    public void afterLast() throws SQLException { throw unsupported("afterLast"); }
+    public void beforeFirst() throws SQLException { throw unsupported("beforeFirst"); }
+    public void cancelRowUpdates() throws SQLException { throw unsupported("cancelRowUpdates"); }
+    public void clearWarnings() throws SQLException { throw unsupported("clearWarnings"); }
+    public void close() throws SQLException { throw unsupported("close"); }
+    public void deleteRow() throws SQLException { throw unsupported("deleteRow"); }
+    public int findColumn(String a0) throws SQLException { throw unsupported("findColumn"); }
+    public boolean first() throws SQLException { throw unsupported("first"); }
+    public Array getArray(String a0) throws SQLException { throw unsupported("getArray"); }
+    public Array getArray(int a0) throws SQLException { throw unsupported("getArray"); }
+    public java.io.InputStream getAsciiStream(String a0) throws SQLException { throw unsupported("getAsciiStream"); }
+    public java.io.InputStream getAsciiStream(int a0) throws SQLException { throw unsupported("getAsciiStream"); }
+    @Deprecated public java.math.BigDecimal getBigDecimal(String a0, int a1) throws SQLException { throw unsupported("getBigDecimal"); }
+    public java.math.BigDecimal getBigDecimal(String a0) throws SQLException { throw unsupported("getBigDecimal"); }
+    @Deprecated public java.math.BigDecimal getBigDecimal(int a0, int a1) throws SQLException { throw unsupported("getBigDecimal"); }
+    public java.math.BigDecimal getBigDecimal(int a0) throws SQLException { throw unsupported("getBigDecimal"); }
+    public java.io.InputStream getBinaryStream(String a0) throws SQLException { throw unsupported("getBinaryStream"); }
+    public java.io.InputStream getBinaryStream(int a0) throws SQLException { throw unsupported("getBinaryStream"); }
+    public Blob getBlob(String a0) throws SQLException { throw unsupported("getBlob"); }
+    public Blob getBlob(int a0) throws SQLException { throw unsupported("getBlob"); }
+    public boolean getBoolean(String a0) throws SQLException { throw unsupported("getBoolean"); }
+    public boolean getBoolean(int a0) throws SQLException { throw unsupported("getBoolean"); }
+    public byte getByte(String a0) throws SQLException { throw unsupported("getByte"); }
+    public byte getByte(int a0) throws SQLException { throw unsupported("getByte"); }
+    public byte[] getBytes(String a0) throws SQLException { throw unsupported("getBytes"); }
+    public byte[] getBytes(int a0) throws SQLException { throw unsupported("getBytes"); }
+    public java.io.Reader getCharacterStream(String a0) throws SQLException { throw unsupported("getCharacterStream"); }
+    public java.io.Reader getCharacterStream(int a0) throws SQLException { throw unsupported("getCharacterStream"); }
+    public Clob getClob(String a0) throws SQLException { throw unsupported("getClob"); }
+    public Clob getClob(int a0) throws SQLException { throw unsupported("getClob"); }
+    public int getConcurrency() throws SQLException { throw unsupported("getConcurrency"); }
+    public String getCursorName() throws SQLException { throw unsupported("getCursorName"); }
+    public Date getDate(String a0, java.util.Calendar a1) throws SQLException { throw unsupported("getDate"); }
+    public Date getDate(String a0) throws SQLException { throw unsupported("getDate"); }
+    public Date getDate(int a0, java.util.Calendar a1) throws SQLException { throw unsupported("getDate"); }
+    public Date getDate(int a0) throws SQLException { throw unsupported("getDate"); }
+    public double getDouble(String a0) throws SQLException { throw unsupported("getDouble"); }
+    public double getDouble(int a0) throws SQLException { throw unsupported("getDouble"); }
+    public int getFetchDirection() throws SQLException { throw unsupported("getFetchDirection"); }
+    public int getFetchSize() throws SQLException { throw unsupported("getFetchSize"); }
+    public float getFloat(String a0) throws SQLException { throw unsupported("getFloat"); }
+    public float getFloat(int a0) throws SQLException { throw unsupported("getFloat"); }
+    public int getHoldability() throws SQLException { throw unsupported("getHoldability"); }
+    public int getInt(String a0) throws SQLException { throw unsupported("getInt"); }
+    public int getInt(int a0) throws SQLException { throw unsupported("getInt"); }
+    public long getLong(String a0) throws SQLException { throw unsupported("getLong"); }
+    public long getLong(int a0) throws SQLException { throw unsupported("getLong"); }
+    public ResultSetMetaData getMetaData() throws SQLException { throw unsupported("getMetaData"); }
+    public java.io.Reader getNCharacterStream(String a0) throws SQLException { throw unsupported("getNCharacterStream"); }
+    public java.io.Reader getNCharacterStream(int a0) throws SQLException { throw unsupported("getNCharacterStream"); }
+    public NClob getNClob(String a0) throws SQLException { throw unsupported("getNClob"); }
+    public NClob getNClob(int a0) throws SQLException { throw unsupported("getNClob"); }
+    public String getNString(String a0) throws SQLException { throw unsupported("getNString"); }
+    public String getNString(int a0) throws SQLException { throw unsupported("getNString"); }
+    public <T> T getObject(String a0, Class<T> a1) throws SQLException { throw unsupported("getObject"); }
+    public Object getObject(String a0, java.util.Map<String, Class<?>> a1) throws SQLException { throw unsupported("getObject"); }
+    public Object getObject(String a0) throws SQLException { throw unsupported("getObject"); }
+    public <T> T getObject(int a0, Class<T> a1) throws SQLException { throw unsupported("getObject"); }
+    public Object getObject(int a0, java.util.Map<String, Class<?>> a1) throws SQLException { throw unsupported("getObject"); }
+    public Object getObject(int a0) throws SQLException { throw unsupported("getObject"); }
+    public Ref getRef(String a0) throws SQLException { throw unsupported("getRef"); }
+    public Ref getRef(int a0) throws SQLException { throw unsupported("getRef"); }
+    public int getRow() throws SQLException { throw unsupported("getRow"); }
+    public RowId getRowId(String a0) throws SQLException { throw unsupported("getRowId"); }
+    public RowId getRowId(int a0) throws SQLException { throw unsupported("getRowId"); }
+    public SQLXML getSQLXML(String a0) throws SQLException { throw unsupported("getSQLXML"); }
+    public SQLXML getSQLXML(int a0) throws SQLException { throw unsupported("getSQLXML"); }
+    public short getShort(String a0) throws SQLException { throw unsupported("getShort"); }
+    public short getShort(int a0) throws SQLException { throw unsupported("getShort"); }
+    public Statement getStatement() throws SQLException { throw unsupported("getStatement"); }
+    public String getString(String a0) throws SQLException { throw unsupported("getString"); }
+    public String getString(int a0) throws SQLException { throw unsupported("getString"); }
+    public Time getTime(String a0, java.util.Calendar a1) throws SQLException { throw unsupported("getTime"); }
+    public Time getTime(String a0) throws SQLException { throw unsupported("getTime"); }
+    public Time getTime(int a0, java.util.Calendar a1) throws SQLException { throw unsupported("getTime"); }
+    public Time getTime(int a0) throws SQLException { throw unsupported("getTime"); }
+    public Timestamp getTimestamp(String a0, java.util.Calendar a1) throws SQLException { throw unsupported("getTimestamp"); }
+    public Timestamp getTimestamp(String a0) throws SQLException { throw unsupported("getTimestamp"); }
+    public Timestamp getTimestamp(int a0, java.util.Calendar a1) throws SQLException { throw unsupported("getTimestamp"); }
+    public Timestamp getTimestamp(int a0) throws SQLException { throw unsupported("getTimestamp"); }
+    public int getType() throws SQLException { throw unsupported("getType"); }
+    public java.net.URL getURL(String a0) throws SQLException { throw unsupported("getURL"); }
+    public java.net.URL getURL(int a0) throws SQLException { throw unsupported("getURL"); }
+    @Deprecated public java.io.InputStream getUnicodeStream(String a0) throws SQLException { throw unsupported("getUnicodeStream"); }
+    @Deprecated public java.io.InputStream getUnicodeStream(int a0) throws SQLException { throw unsupported("getUnicodeStream"); }
+    public SQLWarning getWarnings() throws SQLException { throw unsupported("getWarnings"); }
+    public void insertRow() throws SQLException { throw unsupported("insertRow"); }
+    public boolean isAfterLast() throws SQLException { throw unsupported("isAfterLast"); }
+    public boolean isBeforeFirst() throws SQLException { throw unsupported("isBeforeFirst"); }
+    public boolean isClosed() throws SQLException { throw unsupported("isClosed"); }
+    public boolean isFirst() throws SQLException { throw unsupported("isFirst"); }
+    public boolean isLast() throws SQLException { throw unsupported("isLast"); }
+    public boolean isWrapperFor(Class<?> a0) throws SQLException { throw unsupported("isWrapperFor"); }
+    public boolean last() throws SQLException { throw unsupported("last"); }
+    public void moveToCurrentRow() throws SQLException { throw unsupported("moveToCurrentRow"); }
+    public void moveToInsertRow() throws SQLException { throw unsupported("moveToInsertRow"); }
+    public boolean next() throws SQLException { throw unsupported("next"); }
+    public boolean previous() throws SQLException { throw unsupported("previous"); }
+    public void refreshRow() throws SQLException { throw unsupported("refreshRow"); }
+    public boolean relative(int a0) throws SQLException { throw unsupported("relative"); }
+    public boolean rowDeleted() throws SQLException { throw unsupported("rowDeleted"); }
+    public boolean rowInserted() throws SQLException { throw unsupported("rowInserted"); }
+    public boolean rowUpdated() throws SQLException { throw unsupported("rowUpdated"); }
+    public void setFetchDirection(int a0) throws SQLException { throw unsupported("setFetchDirection"); }
+    public void setFetchSize(int a0) throws SQLException { throw unsupported("setFetchSize"); }
+    public <T> T unwrap(Class<T> a0) throws SQLException { throw unsupported("unwrap"); }
+    public void updateArray(String a0, Array a1) throws SQLException { throw unsupported("updateArray"); }
+    public void updateArray(int a0, Array a1) throws SQLException { throw unsupported("updateArray"); }
+    public void updateAsciiStream(String a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("updateAsciiStream"); }
+    public void updateAsciiStream(String a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("updateAsciiStream"); }
+    public void updateAsciiStream(String a0, java.io.InputStream a1) throws SQLException { throw unsupported("updateAsciiStream"); }
+    public void updateAsciiStream(int a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("updateAsciiStream"); }
+    public void updateAsciiStream(int a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("updateAsciiStream"); }
+    public void updateAsciiStream(int a0, java.io.InputStream a1) throws SQLException { throw unsupported("updateAsciiStream"); }
+    public void updateBigDecimal(String a0, java.math.BigDecimal a1) throws SQLException { throw unsupported("updateBigDecimal"); }
+    public void updateBigDecimal(int a0, java.math.BigDecimal a1) throws SQLException { throw unsupported("updateBigDecimal"); }
+    public void updateBinaryStream(String a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("updateBinaryStream"); }
+    public void updateBinaryStream(String a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("updateBinaryStream"); }
+    public void updateBinaryStream(String a0, java.io.InputStream a1) throws SQLException { throw unsupported("updateBinaryStream"); }
+    public void updateBinaryStream(int a0, java.io.InputStream a1, int a2) throws SQLException { throw unsupported("updateBinaryStream"); }
+    public void updateBinaryStream(int a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("updateBinaryStream"); }
+    public void updateBinaryStream(int a0, java.io.InputStream a1) throws SQLException { throw unsupported("updateBinaryStream"); }
+    public void updateBlob(String a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("updateBlob"); }
+    public void updateBlob(String a0, java.io.InputStream a1) throws SQLException { throw unsupported("updateBlob"); }
+    public void updateBlob(String a0, Blob a1) throws SQLException { throw unsupported("updateBlob"); }
+    public void updateBlob(int a0, java.io.InputStream a1, long a2) throws SQLException { throw unsupported("updateBlob"); }
+    public void updateBlob(int a0, java.io.InputStream a1) throws SQLException { throw unsupported("updateBlob"); }
+    public void updateBlob(int a0, Blob a1) throws SQLException { throw unsupported("updateBlob"); }
+    public void updateBoolean(String a0, boolean a1) throws SQLException { throw unsupported("updateBoolean"); }
+    public void updateBoolean(int a0, boolean a1) throws SQLException { throw unsupported("updateBoolean"); }
+    public void updateByte(String a0, byte a1) throws SQLException { throw unsupported("updateByte"); }
+    public void updateByte(int a0, byte a1) throws SQLException { throw unsupported("updateByte"); }
+    public void updateBytes(String a0, byte[] a1) throws SQLException { throw unsupported("updateBytes"); }
+    public void updateBytes(int a0, byte[] a1) throws SQLException { throw unsupported("updateBytes"); }
+    public void updateCharacterStream(String a0, java.io.Reader a1, int a2) throws SQLException { throw unsupported("updateCharacterStream"); }
+    public void updateCharacterStream(String a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateCharacterStream"); }
+    public void updateCharacterStream(String a0, java.io.Reader a1) throws SQLException { throw unsupported("updateCharacterStream"); }
+    public void updateCharacterStream(int a0, java.io.Reader a1, int a2) throws SQLException { throw unsupported("updateCharacterStream"); }
+    public void updateCharacterStream(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateCharacterStream"); }
+    public void updateCharacterStream(int a0, java.io.Reader a1) throws SQLException { throw unsupported("updateCharacterStream"); }
+    public void updateClob(String a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateClob"); }
+    public void updateClob(String a0, java.io.Reader a1) throws SQLException { throw unsupported("updateClob"); }
+    public void updateClob(String a0, Clob a1) throws SQLException { throw unsupported("updateClob"); }
+    public void updateClob(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateClob"); }
+    public void updateClob(int a0, java.io.Reader a1) throws SQLException { throw unsupported("updateClob"); }
+    public void updateClob(int a0, Clob a1) throws SQLException { throw unsupported("updateClob"); }
+    public void updateDate(String a0, Date a1) throws SQLException { throw unsupported("updateDate"); }
+    public void updateDate(int a0, Date a1) throws SQLException { throw unsupported("updateDate"); }
+    public void updateDouble(String a0, double a1) throws SQLException { throw unsupported("updateDouble"); }
+    public void updateDouble(int a0, double a1) throws SQLException { throw unsupported("updateDouble"); }
+    public void updateFloat(String a0, float a1) throws SQLException { throw unsupported("updateFloat"); }
+    public void updateFloat(int a0, float a1) throws SQLException { throw unsupported("updateFloat"); }
+    public void updateInt(String a0, int a1) throws SQLException { throw unsupported("updateInt"); }
+    public void updateInt(int a0, int a1) throws SQLException { throw unsupported("updateInt"); }
+    public void updateLong(String a0, long a1) throws SQLException { throw unsupported("updateLong"); }
+    public void updateLong(int a0, long a1) throws SQLException { throw unsupported("updateLong"); }
+    public void updateNCharacterStream(String a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateNCharacterStream"); }
+    public void updateNCharacterStream(String a0, java.io.Reader a1) throws SQLException { throw unsupported("updateNCharacterStream"); }
+    public void updateNCharacterStream(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateNCharacterStream"); }
+    public void updateNCharacterStream(int a0, java.io.Reader a1) throws SQLException { throw unsupported("updateNCharacterStream"); }
+    public void updateNClob(String a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateNClob"); }
+    public void updateNClob(String a0, java.io.Reader a1) throws SQLException { throw unsupported("updateNClob"); }
+    public void updateNClob(String a0, NClob a1) throws SQLException { throw unsupported("updateNClob"); }
+    public void updateNClob(int a0, java.io.Reader a1, long a2) throws SQLException { throw unsupported("updateNClob"); }
+    public void updateNClob(int a0, java.io.Reader a1) throws SQLException { throw unsupported("updateNClob"); }
+    public void updateNClob(int a0, NClob a1) throws SQLException { throw unsupported("updateNClob"); }
+    public void updateNString(String a0, String a1) throws SQLException { throw unsupported("updateNString"); }
+    public void updateNString(int a0, String a1) throws SQLException { throw unsupported("updateNString"); }
+    public void updateNull(String a0) throws SQLException { throw unsupported("updateNull"); }
+    public void updateNull(int a0) throws SQLException { throw unsupported("updateNull"); }
+    public void updateObject(String a0, Object a1, int a2) throws SQLException { throw unsupported("updateObject"); }
+    public void updateObject(String a0, Object a1) throws SQLException { throw unsupported("updateObject"); }
+    public void updateObject(int a0, Object a1, int a2) throws SQLException { throw unsupported("updateObject"); }
+    public void updateObject(int a0, Object a1) throws SQLException { throw unsupported("updateObject"); }
+    public void updateRef(String a0, Ref a1) throws SQLException { throw unsupported("updateRef"); }
+    public void updateRef(int a0, Ref a1) throws SQLException { throw unsupported("updateRef"); }
+    public void updateRow() throws SQLException { throw unsupported("updateRow"); }
+    public void updateRowId(String a0, RowId a1) throws SQLException { throw unsupported("updateRowId"); }
+    public void updateRowId(int a0, RowId a1) throws SQLException { throw unsupported("updateRowId"); }
+    public void updateSQLXML(String a0, SQLXML a1) throws SQLException { throw unsupported("updateSQLXML"); }
+    public void updateSQLXML(int a0, SQLXML a1) throws SQLException { throw unsupported("updateSQLXML"); }
+    public void updateShort(String a0, short a1) throws SQLException { throw unsupported("updateShort"); }
+    public void updateShort(int a0, short a1) throws SQLException { throw unsupported("updateShort"); }
+    public void updateString(String a0, String a1) throws SQLException { throw unsupported("updateString"); }
+    public void updateString(int a0, String a1) throws SQLException { throw unsupported("updateString"); }
+    public void updateTime(String a0, Time a1) throws SQLException { throw unsupported("updateTime"); }
+    public void updateTime(int a0, Time a1) throws SQLException { throw unsupported("updateTime"); }
+    public void updateTimestamp(String a0, Timestamp a1) throws SQLException { throw unsupported("updateTimestamp"); }
+    public void updateTimestamp(int a0, Timestamp a1) throws SQLException { throw unsupported("updateTimestamp"); }
+    public boolean wasNull() throws SQLException { throw unsupported("wasNull"); }
+
+    static SQLException unsupported(String method) {
+        return new SQLFeatureNotSupportedException(method);
+    }
+}
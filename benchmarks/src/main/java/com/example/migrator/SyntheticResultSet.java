@@ -0,0 +1,76 @@
+package com.example.migrator;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+
+/** Liefert {@code rows} Zeilen aus dem vorab erzeugten Werte-Pool einer {@link FakeJdbc.Table}. */
+final class SyntheticResultSet extends ResultSetAdapter {
+
+    private final FakeJdbc.Table table;
+    private final long rows;
+    private long pos = -1;
+    private Object[] cur;
+    private boolean wasNull;
+    private int fetchSize = 10;
+    private boolean closed;
+
+    SyntheticResultSet(FakeJdbc.Table table, long rows) {
+        this.table = table;
+        this.rows = rows;
+    }
+
+    @Override public boolean next() {
+        if (++pos >= rows) { cur = null; return false; }
+        cur = table.pool[(int) (pos % table.pool.length)];
+        return true;
+    }
+
+    private Object v(int idx) {
+        Object o = cur[idx - 1];
+        wasNull = o == null;
+        return o;
+    }
+
+    @Override public boolean wasNull() { return wasNull; }
+    @Override public Object getObject(int i) { return v(i); }
+    @Override public String getString(int i) { Object o = v(i); return o == null ? null : o.toString(); }
+    @Override public int getInt(int i) { Object o = v(i); return o == null ? 0 : ((Number) o).intValue(); }
+    @Override public long getLong(int i) { Object o = v(i); return o == null ? 0 : ((Number) o).longValue(); }
+    @Override public BigDecimal getBigDecimal(int i) { return (BigDecimal) v(i); }
+    @Override public java.sql.Date getDate(int i) { return (java.sql.Date) v(i); }
+    @Override public Timestamp getTimestamp(int i) {
+        Object o = v(i);
+        return o == null ? null : o instanceof Timestamp ts ? ts : new Timestamp(((java.util.Date) o).getTime());
+    }
+    @Override public byte[] getBytes(int i) { return (byte[]) v(i); }
+    @Override public Reader getCharacterStream(int i) { Object o = v(i); return o == null ? null : new StringReader((String) o); }
+    @Override public InputStream getBinaryStream(int i) { Object o = v(i); return o == null ? null : new ByteArrayInputStream((byte[]) o); }
+
+    @Override public void setFetchSize(int n) { fetchSize = n; }
+    @Override public int getFetchSize() { return fetchSize; }
+    @Override public boolean isWrapperFor(Class<?> c) { return false; }
+    @Override public void close() { closed = true; }
+    @Override public boolean isClosed() { return closed; }
+
+    @Override public ResultSetMetaData getMetaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+                (p, m, a) -> {
+                    if (m.getName().equals("getColumnCount")) return table.columns.size();
+                    FakeJdbc.Column c = table.columns.get((Integer) a[0] - 1);
+                    return switch (m.getName()) {
+                        case "getColumnName", "getColumnLabel" -> c.name;
+                        case "getColumnTypeName" -> c.oracleType;
+                        case "getColumnType" -> c.jdbcType;
+                        case "getPrecision" -> c.precision == null ? 0 : c.precision;
+                        case "getScale" -> c.scale == null ? 0 : c.scale;
+                        case "isNullable" -> c.name.equals("ID") ? ResultSetMetaData.columnNoNulls : ResultSetMetaData.columnNullable;
+                        default -> throw new SQLFeatureNotSupportedException(m.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,362 @@
+package com.example.migrator;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * End-to-End-Durchsatz von {@code createTableLikeSource}, {@code copyTable} und {@code deleteRowsInBatches}
+ * gegen eine lokale eingebettete Datenbank – Quelle und Ziel sind zwei Schemas derselben Datenbank
+ * (Standard: temporäre H2-Datei im Oracle-Modus, SQL über {@link SqlDialect#GENERIC}).
+ * Die synthetische Last ist eine FK-Kette von Tabellen; je Phase werden Zeilen/s, MB/s (Nutzdaten)
+ * und Heap-Spitze gemessen, über {@code repeat} Läufe der Median berichtet und optional gegen eine
+ * frühere Messung verglichen.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.migrator.ThroughputHarness [harness.properties] [key=value …]
+ *
+ * url=jdbc:h2:file:/tmp/migbench;MODE=Oracle     (Standard: temporäre H2-Datei, wird am Ende gelöscht)
+ * user=sa / pass=
+ * rows=100000                   Zeilen je Tabelle
+ * chain=3                       Tabellen der FK-Kette (T1.PARENT_ID → T0.ID, T2 → T1 …)
+ * columns=20                    Spalten neben ID/PARENT_ID, abwechselnd NUMBER, VARCHAR2, DATE
+ * varchar=40                    maximale VARCHAR2-Länge
+ * lobs=0                        LOB-Spalten je Tabelle, abwechselnd CLOB/BLOB
+ * lobBytes=4096                 Größe je LOB-Wert
+ * nulls=0.1                     Anteil NULL je Nicht-Schlüsselspalte
+ * batch=1000
+ * options=pipelined,…           wie beim HeadlessRunner
+ * commit=rows=50000              CommitPolicy, wie beim HeadlessRunner
+ * repeat=3
+ * out=result.properties         Ergebnis (Median) schreiben
+ * baseline=result.properties    vergleichen; Exit-Code 1, wenn schlechter als tolerance
+ * tolerance=0.15
+ * metrics=metrics.json          CopyMetrics-Snapshot des letzten Laufs
+ * </pre>
+ * Die Heap-Spitze ist die Summe der Pool-Spitzen seit Phasenbeginn (obere Schranke); bei einer
+ * In-Memory-Datenbank ({@code jdbc:h2:mem:}) enthält sie auch deren Daten.
+ */
+public class ThroughputHarness {
+
+    static final int EXIT_OK = 0, EXIT_REGRESSION = 1, EXIT_ERROR = 2;
+    static final String SRC = "BENCH_SRC", DST = "BENCH_DST";
+    static final List<String> PHASES = List.of("create", "copy", "delete");
+
+    /** Messwerte einer Phase; {@code rows} bei create = Tabellen. */
+    record Phase(String name, long rows, long bytes, long nanos, long peakHeap) {
+        double seconds() { return nanos / 1_000_000_000.0; }
+        double rowsPerSec() { return nanos > 0 ? rows / seconds() : 0; }
+        double mbPerSec() { return nanos > 0 ? bytes / 1024.0 / 1024.0 / seconds() : 0; }
+        double peakHeapMB() { return peakHeap / 1024.0 / 1024.0; }
+    }
+
+    private interface Step { long run() throws Exception; }
+
+    private final Properties p;
+    private final int rows, chain, columns, varchar, lobs, lobBytes, batch, repeat;
+    private final double nulls, tolerance;
+    private final CopyOptions opts = new CopyOptions();
+    private final Map<String, Long> payloadBytes = new HashMap<>();
+
+    private static void log(String s) { System.out.println("[harness] " + s); }
+
+    public static void main(String[] args) {
+        Properties p = new Properties();
+        int code;
+        try {
+            for (String a : args) {
+                int eq = a.indexOf('=');
+                if (eq > 0) { p.setProperty(a.substring(0, eq).trim(), a.substring(eq + 1).trim()); continue; }
+                try (InputStream is = Files.newInputStream(Paths.get(a))) { p.load(is); }
+            }
+            code = new ThroughputHarness(p).run();
+        } catch (Exception ex) {
+            log("Fehler: " + ex);
+            ex.printStackTrace();
+            code = EXIT_ERROR;
+        }
+        System.exit(code);
+    }
+
+    ThroughputHarness(Properties p) {
+        this.p = p;
+        rows = Math.max(1, integer("rows", 100_000));
+        chain = Math.max(1, integer("chain", 3));
+        columns = Math.max(0, integer("columns", 20));
+        varchar = Math.max(1, integer("varchar", 40));
+        lobs = Math.max(0, integer("lobs", 0));
+        lobBytes = Math.max(1, integer("lobBytes", 4096));
+        batch = Math.max(1, integer("batch", 1000));
+        repeat = Math.max(1, integer("repeat", 3));
+        nulls = Double.parseDouble(p.getProperty("nulls", "0.1").trim());
+        tolerance = Double.parseDouble(p.getProperty("tolerance", "0.15").trim());
+        opts.setCommitBatch(batch);
+        for (String o : HeadlessRunner.list(p.getProperty("options", ""))) HeadlessRunner.setOption(opts, o);
+        opts.setCommitPolicy(CommitPolicy.parse(p.getProperty("commit")));
+    }
+
+    private int integer(String key, int def) { return Integer.parseInt(p.getProperty(key, String.valueOf(def)).trim()); }
+
+    int run() throws Exception {
+        Path tmp = null;
+        String url = p.getProperty("url");
+        if (url == null) {
+            tmp = Files.createTempDirectory("migbench");
+            url = "jdbc:h2:file:" + tmp.resolve("db").toAbsolutePath() + ";MODE=Oracle";
+        }
+        String user = p.getProperty("user", "sa"), pass = p.getProperty("pass", "");
+        try {
+            Map<String, Double> result;
+            try (Connection src = DriverManager.getConnection(url, user, pass);
+                 Connection dst = DriverManager.getConnection(url, user, pass)) {
+                DatabaseMetaData md = src.getMetaData();
+                log(md.getDatabaseProductName() + " " + md.getDatabaseProductVersion() + " (" + SqlDialect.of(src) + "), " + url);
+                log("Last: " + chain + " Tabellen × " + rows + " Zeilen, " + columns + " Spalten, " + lobs + " LOBs à "
+                        + lobBytes + " B, NULL-Anteil " + nulls + ", Batch " + batch);
+
+                List<String> tables = setup(src);
+                List<Map<String, Phase>> runs = new ArrayList<>();
+                for (int r = 1; r <= repeat; r++) {
+                    CopyMetrics.resetAll();
+                    Map<String, Phase> run = runOnce(src, dst, tables);
+                    runs.add(run);
+                    StringBuilder sb = new StringBuilder("Lauf " + r + ":");
+                    for (Phase ph : run.values()) sb.append("\n  ").append(format(ph));
+                    log(sb.toString());
+                }
+                result = median(runs);
+            }
+            log("Median über " + repeat + " Läufe:");
+            for (String ph : PHASES) {
+                System.out.printf(Locale.ROOT, "  %-7s %12.0f Zeilen/s %9.1f MB/s %8.1f MB Heap %9.0f ms%n", ph,
+                        result.get(ph + ".rowsPerSec"), result.get(ph + ".mbPerSec"), result.get(ph + ".peakHeapMB"), result.get(ph + ".ms"));
+            }
+            if (p.getProperty("metrics") != null) CopyMetrics.writeSnapshot(Paths.get(p.getProperty("metrics")));
+            if (p.getProperty("out") != null) save(result, Paths.get(p.getProperty("out")));
+            return p.getProperty("baseline") != null ? compare(result, Paths.get(p.getProperty("baseline"))) : EXIT_OK;
+        } finally {
+            if (tmp != null) deleteTree(tmp);
+        }
+    }
+
+    // --- Last erzeugen ---------------------------------------------------------
+
+    private static String table(int level) { return "BENCH_T" + level; }
+
+    /** Legt das Quellschema mit der FK-Kette an und füllt es; liefert die Tabellen in Eltern-vor-Kind-Reihenfolge. */
+    private List<String> setup(Connection src) throws SQLException {
+        exec(src, "DROP SCHEMA IF EXISTS " + SRC + " CASCADE");
+        exec(src, "CREATE SCHEMA " + SRC);
+        src.setAutoCommit(false);
+        List<String> tables = new ArrayList<>();
+        for (int level = 0; level < chain; level++) {
+            String t = table(level);
+            StringBuilder ddl = new StringBuilder("CREATE TABLE " + SRC + "." + t + " (ID NUMBER(19) NOT NULL");
+            if (level > 0) ddl.append(", PARENT_ID NUMBER(19)");
+            for (int c = 0; c < columns; c++) {
+                switch (c % 3) {
+                    case 0 -> ddl.append(", N").append(c).append(" NUMBER(12,2)");
+                    case 1 -> ddl.append(", S").append(c).append(" VARCHAR2(").append(varchar).append(")");
+                    default -> ddl.append(", D").append(c).append(" DATE");
+                }
+            }
+            for (int l = 0; l < lobs; l++) ddl.append(l % 2 == 0 ? ", C" : ", B").append(l).append(l % 2 == 0 ? " CLOB" : " BLOB");
+            ddl.append(", CONSTRAINT PK_").append(t).append(" PRIMARY KEY (ID)");
+            if (level > 0) ddl.append(", CONSTRAINT FK_").append(t).append(" FOREIGN KEY (PARENT_ID) REFERENCES ")
+                    .append(SRC).append(".").append(table(level - 1)).append(" (ID)");
+            exec(src, ddl.append(")").toString());
+
+            long t0 = System.nanoTime();
+            long bytes = fill(src, t, level);
+            payloadBytes.put(t, bytes);
+            log(String.format(Locale.ROOT, "%s: %d Zeilen, %.1f MB Nutzdaten in %.1f s erzeugt", t, rows,
+                    bytes / 1024.0 / 1024.0, (System.nanoTime() - t0) / 1e9));
+            tables.add(t);
+        }
+        return tables;
+    }
+
+    /** Füllt eine Tabelle mit Zufallswerten (fester Seed); liefert die Nutzdaten in Bytes wie {@link CopyPlan#estimateBytes}. */
+    private long fill(Connection src, String t, int level) throws SQLException {
+        Random rnd = new Random(42 + level);
+        // wenige LOB-Werte wiederverwenden: die Erzeugung soll die Datenbank füllen, nicht die CPU
+        String[] clobs = new String[8];
+        byte[][] blobs = new byte[8][];
+        for (int i = 0; i < clobs.length; i++) {
+            clobs[i] = text(rnd, lobBytes);
+            blobs[i] = new byte[lobBytes];
+            rnd.nextBytes(blobs[i]);
+        }
+        int keys = level > 0 ? 2 : 1;
+        int n = keys + columns + lobs;
+        String ins = "INSERT INTO " + SRC + "." + t + " VALUES (" + String.join(",", Collections.nCopies(n, "?")) + ")";
+        long bytes = 0;
+        try (PreparedStatement ps = src.prepareStatement(ins)) {
+            for (int id = 1; id <= rows; id++) {
+                BigDecimal key = BigDecimal.valueOf(id);
+                ps.setBigDecimal(1, key);
+                bytes += CopyPlan.estimateBytes(key);
+                if (level > 0) {
+                    BigDecimal parent = BigDecimal.valueOf(1 + rnd.nextInt(rows));
+                    ps.setBigDecimal(2, parent);
+                    bytes += CopyPlan.estimateBytes(parent);
+                }
+                for (int c = 0; c < columns; c++) {
+                    int idx = keys + c + 1;
+                    boolean isNull = rnd.nextDouble() < nulls;
+                    Object v = null;
+                    switch (c % 3) {
+                        case 0 -> { if (isNull) ps.setNull(idx, Types.NUMERIC); else ps.setBigDecimal(idx, (BigDecimal) (v = BigDecimal.valueOf(rnd.nextInt(100_000_000), 2))); }
+                        case 1 -> { if (isNull) ps.setNull(idx, Types.VARCHAR); else ps.setString(idx, (String) (v = text(rnd, 1 + rnd.nextInt(varchar)))); }
+                        default -> { if (isNull) ps.setNull(idx, Types.DATE); else ps.setDate(idx, (java.sql.Date) (v = new java.sql.Date(1_500_000_000_000L + rnd.nextInt(3650) * 86_400_000L))); }
+                    }
+                    bytes += CopyPlan.estimateBytes(v);
+                }
+                for (int l = 0; l < lobs; l++) {
+                    int idx = keys + columns + l + 1;
+                    if (rnd.nextDouble() < nulls) { ps.setNull(idx, l % 2 == 0 ? Types.CLOB : Types.BLOB); bytes += 1; continue; }
+                    if (l % 2 == 0) ps.setString(idx, clobs[rnd.nextInt(clobs.length)]);
+                    else ps.setBytes(idx, blobs[rnd.nextInt(blobs.length)]);
+                    bytes += lobBytes;
+                }
+                ps.addBatch();
+                if (id % 1000 == 0) { ps.executeBatch(); src.commit(); }
+            }
+            ps.executeBatch();
+            src.commit();
+        }
+        return bytes;
+    }
+
+    private static String text(Random rnd, int len) {
+        char[] ch = new char[len];
+        for (int i = 0; i < len; i++) ch[i] = (char) ('a' + rnd.nextInt(26));
+        return new String(ch);
+    }
+
+    // --- Messen ----------------------------------------------------------------
+
+    /** Ein Durchlauf: Zielschema neu, Tabellen anlegen, kopieren (Eltern zuerst), löschen (Kinder zuerst). */
+    private Map<String, Phase> runOnce(Connection src, Connection dst, List<String> tables) throws Exception {
+        dst.setAutoCommit(true);
+        exec(dst, "DROP SCHEMA IF EXISTS " + DST + " CASCADE");
+        exec(dst, "CREATE SCHEMA " + DST);
+        CopyPlan.invalidateAll();
+        MetadataCache.invalidateAll();
+        long total = 0, totalBytes = 0;
+        for (String t : tables) { total += rows; totalBytes += payloadBytes.get(t); }
+
+        Map<String, Phase> run = new LinkedHashMap<>();
+        run.put("create", measure("create", 0, () -> {
+            for (String t : tables) DBManager.createTableLikeSource(src, SRC, dst, DST, t);
+            return tables.size();
+        }));
+        run.put("copy", measure("copy", totalBytes, () -> {
+            for (String t : tables) DBManager.copyTable(src, SRC, dst, DST, t, null, opts, null, null);
+            return tables.size() * (long) rows;
+        }));
+        for (String t : tables) {
+            long n = DBManager.countRows(dst, DST, t, null);
+            if (n != rows) throw new SQLException(DST + "." + t + ": " + n + " statt " + rows + " Zeilen nach copyTable");
+        }
+        List<String> reverse = new ArrayList<>(tables);
+        Collections.reverse(reverse);
+        long expected = total;
+        run.put("delete", measure("delete", totalBytes, () -> {
+            long deleted = 0;
+            for (String t : reverse) deleted += DBManager.deleteRowsInBatches(dst, DST, t, null, batch, null, null);
+            if (deleted != expected) throw new SQLException(deleted + " statt " + expected + " Zeilen gelöscht");
+            return deleted;
+        }));
+        return run;
+    }
+
+    private static Phase measure(String name, long bytes, Step step) throws Exception {
+        System.gc();
+        List<MemoryPoolMXBean> heap = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) { pool.resetPeakUsage(); heap.add(pool); }
+        }
+        long t0 = System.nanoTime();
+        long n = step.run();
+        long nanos = System.nanoTime() - t0;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heap) peak += pool.getPeakUsage().getUsed();
+        return new Phase(name, n, bytes, nanos, peak);
+    }
+
+    private static String format(Phase ph) {
+        return String.format(Locale.ROOT, "%-7s %10d %s in %7.2f s: %10.0f/s %8.1f MB/s, Heap-Spitze %.1f MB", ph.name(), ph.rows(),
+                ph.name().equals("create") ? "Tabellen" : "Zeilen  ", ph.seconds(), ph.rowsPerSec(), ph.mbPerSec(), ph.peakHeapMB());
+    }
+
+    /** Median je Phase und Kennzahl. */
+    private static Map<String, Double> median(List<Map<String, Phase>> runs) {
+        Map<String, Double> out = new LinkedHashMap<>();
+        for (String ph : PHASES) {
+            out.put(ph + ".rowsPerSec", median(runs, ph, Phase::rowsPerSec));
+            out.put(ph + ".mbPerSec", median(runs, ph, Phase::mbPerSec));
+            out.put(ph + ".peakHeapMB", median(runs, ph, Phase::peakHeapMB));
+            out.put(ph + ".ms", median(runs, ph, x -> x.nanos() / 1e6));
+        }
+        return out;
+    }
+
+    private static double median(List<Map<String, Phase>> runs, String phase, java.util.function.ToDoubleFunction<Phase> f) {
+        double[] v = runs.stream().mapToDouble(r -> f.applyAsDouble(r.get(phase))).sorted().toArray();
+        return v.length % 2 == 1 ? v[v.length / 2] : (v[v.length / 2 - 1] + v[v.length / 2]) / 2;
+    }
+
+    // --- Ergebnis / Vergleich --------------------------------------------------
+
+    private static final List<String> CONFIG_KEYS = List.of("rows", "chain", "columns", "varchar", "lobs", "lobBytes", "nulls", "batch", "options", "commit");
+
+    private void save(Map<String, Double> result, Path file) throws java.io.IOException {
+        Properties out = new Properties();
+        for (Map.Entry<String, Double> e : result.entrySet()) out.setProperty(e.getKey(), String.format(Locale.ROOT, "%.3f", e.getValue()));
+        for (String k : CONFIG_KEYS) if (p.getProperty(k) != null) out.setProperty("config." + k, p.getProperty(k));
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (var w = Files.newBufferedWriter(file)) { out.store(w, "ThroughputHarness (Median über " + repeat + " Läufe)"); }
+        log("Ergebnis: " + file.toAbsolutePath());
+    }
+
+    /** Durchsatz darf höchstens {@code tolerance} unter, die Heap-Spitze höchstens {@code tolerance} über der Basis liegen. */
+    private int compare(Map<String, Double> result, Path file) throws java.io.IOException {
+        Properties base = new Properties();
+        try (var r = Files.newBufferedReader(file)) { base.load(r); }
+        for (String k : CONFIG_KEYS) {
+            if (!Objects.equals(base.getProperty("config." + k), p.getProperty(k)))
+                log("Hinweis: " + k + " weicht von der Basis ab (" + base.getProperty("config." + k) + " → " + p.getProperty(k) + ")");
+        }
+        int worse = 0;
+        for (Map.Entry<String, Double> e : result.entrySet()) {
+            String k = e.getKey();
+            if (k.endsWith(".ms") || base.getProperty(k) == null) continue;
+            double b = Double.parseDouble(base.getProperty(k)), v = e.getValue();
+            if (b <= 0) continue;
+            boolean higherIsBetter = !k.endsWith(".peakHeapMB");
+            double change = (v - b) / b;
+            boolean bad = higherIsBetter ? change < -tolerance : change > tolerance;
+            System.out.printf(Locale.ROOT, "  %-20s %12.1f → %12.1f  %+6.1f %%%s%n", k, b, v, change * 100, bad ? "  SCHLECHTER" : "");
+            if (bad) worse++;
+        }
+        log(worse == 0 ? "Keine Verschlechterung gegenüber " + file : worse + " Kennzahl(en) schlechter als " + file
+                + " (Toleranz " + Math.round(tolerance * 100) + " %)");
+        return worse == 0 ? EXIT_OK : EXIT_REGRESSION;
+    }
+
+    private static void exec(Connection c, String sql) throws SQLException {
+        try (Statement st = c.createStatement()) { st.executeUpdate(sql); }
+    }
+
+    private static void deleteTree(Path dir) {
+        try (var walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(f -> { try { Files.delete(f); } catch (java.io.IOException ignored) {} });
+        } catch (java.io.IOException ignored) {}
+    }
+}
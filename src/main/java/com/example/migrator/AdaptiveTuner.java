@@ -0,0 +1,84 @@
+package com.example.migrator;
+
+/**
+ * Passt Fetch-Size und Batch-Größe während der Kopie an: Zeilenbreite wird aus
+ * Stichproben gemessen, Ziel ist eine feste Datenmenge pro Roundtrip innerhalb
+ * eines Heap-Budgets. Das Roundtrip-Ziel selbst wird anhand des Durchsatzes
+ * schrittweise nachgeführt (größer, solange es schneller wird).
+ */
+public class AdaptiveTuner {
+
+    private static final int MIN_ROWS = 10;
+    private static final int MAX_ROWS = 50_000;
+    private static final long MIN_TARGET = 64 * 1024;
+    private static final int WINDOW_FLUSHES = 5;
+
+    private final long heapBudget;
+    private final int buffers;           // wie viele Batches gleichzeitig im Speicher liegen können
+
+    private volatile double avgRowBytes = 0;
+    private volatile long targetBytes;
+    private volatile int fetchSize;
+    private volatile int batchSize;
+
+    private long rowsSeen;
+    private double step = 1.5;           // Richtung/Faktor der Ziel-Anpassung
+    private int windowFlushes;
+    private long windowRows, windowNanos;
+    private double lastRate = -1;
+
+    public AdaptiveTuner(CopyOptions opts) {
+        this.heapBudget = Math.max(1024 * 1024, opts.getHeapBudgetBytes());
+        this.buffers = opts.isPipelined() ? opts.getPipelineDepth() + 2 : 2;
+        this.targetBytes = Math.max(MIN_TARGET, opts.getTargetBytesPerRoundTrip());
+        this.fetchSize = 1000;
+        this.batchSize = Math.min(opts.getCommitBatch(), MAX_ROWS);
+    }
+
+    /** Stichprobe nehmen? Die ersten 50 Zeilen, danach jede 100. */
+    public boolean wantSample() {
+        long r = rowsSeen++;
+        return r < 50 || r % 100 == 0;
+    }
+
+    /** Gemessene Breite einer Zeile (Bytes). */
+    public synchronized void sample(long rowBytes) {
+        double a = avgRowBytes;
+        avgRowBytes = a == 0 ? rowBytes : a * 0.95 + rowBytes * 0.05;
+        recompute();
+    }
+
+    /** Nach jedem executeBatch/commit: Zeilen und Dauer seit dem letzten Flush. */
+    public synchronized void onFlush(int rows, long nanos) {
+        windowRows += rows;
+        windowNanos += nanos;
+        if (++windowFlushes < WINDOW_FLUSHES || windowNanos <= 0) return;
+
+        double rate = windowRows / (windowNanos / 1e9);
+        if (lastRate > 0 && rate < lastRate * 0.95) step = 1.0 / step;   // schlechter → Richtung umkehren
+        lastRate = rate;
+        windowFlushes = 0; windowRows = 0; windowNanos = 0;
+
+        long max = heapBudget / buffers;
+        targetBytes = Math.max(MIN_TARGET, Math.min(max, (long) (targetBytes * step)));
+        recompute();
+    }
+
+    private void recompute() {
+        double row = Math.max(16, avgRowBytes);
+        long byHeap = (long) (heapBudget / buffers / row);
+        int limit = (int) Math.max(MIN_ROWS, Math.min(MAX_ROWS, byHeap));
+        int rows = (int) Math.max(MIN_ROWS, Math.min(limit, targetBytes / row));
+        fetchSize = rows;
+        batchSize = rows;
+    }
+
+    public int fetchSize() { return fetchSize; }
+    public int batchSize() { return batchSize; }
+
+    /** Z. B. "fetch 2400, batch 2400, ~420 B/row, 1.0 MB/roundtrip". */
+    public String describe() {
+        return String.format(java.util.Locale.ROOT, "fetch %d, batch %d, ~%.0f B/row, %.1f MB/roundtrip",
+                fetchSize, batchSize, avgRowBytes, targetBytes / 1024.0 / 1024.0);
+    }
+}
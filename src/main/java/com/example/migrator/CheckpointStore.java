@@ -0,0 +1,114 @@
+package com.example.migrator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Lokaler Checkpoint einer fortsetzbaren Kopie: zuletzt committeter PK-Wert (als SQL-Literale)
+ * und Zeilenanzahl, je Quell-/Zielschema, Tabelle und WHERE-Bedingung sowie Quell-/Ziel-URL
+ * (gleiche Schemanamen in verschiedenen Datenbanken). Ältere Dateien ohne URL werden noch gelesen.
+ */
+public class CheckpointStore {
+
+    public static final class Checkpoint {
+        public final List<String> pkColumns;
+        public final List<String> lastLiterals;
+        public final long rows;
+        public Checkpoint(List<String> pkColumns, List<String> lastLiterals, long rows) {
+            this.pkColumns = pkColumns;
+            this.lastLiterals = lastLiterals;
+            this.rows = rows;
+        }
+    }
+
+    private static Path baseDir() {
+        Path dir = Paths.get(System.getProperty("user.home"), ".oracle-migrator", "checkpoint");
+        try { Files.createDirectories(dir); } catch (IOException ignored) {}
+        return dir;
+    }
+
+    private static String norm(String where) { return where == null ? "" : where.trim(); }
+
+    private static String prefix(String srcSchema, String dstSchema, String table) {
+        return (srcSchema == null ? "" : srcSchema.toUpperCase()) + "__" +
+                (dstSchema == null ? "" : dstSchema.toUpperCase()) + "__" +
+                (table == null ? "" : table.toUpperCase()) + "__";
+    }
+
+    private static Path file(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table, String where) {
+        return baseDir().resolve(prefix(srcSchema, dstSchema, table) + ConfigStore.dbTag(srcUrl, dstUrl) + "__" +
+                Integer.toHexString(norm(where).hashCode()) + ".properties");
+    }
+
+    /** Dateiname ohne URL (ältere Versionen). */
+    private static Path legacyFile(String srcSchema, String dstSchema, String table, String where) {
+        return baseDir().resolve(prefix(srcSchema, dstSchema, table) + Integer.toHexString(norm(where).hashCode()) + ".properties");
+    }
+
+    public static void save(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table, String where,
+                            Checkpoint cp) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("where", norm(where));
+        p.setProperty("pk", String.join(",", cp.pkColumns));
+        p.setProperty("rows", Long.toString(cp.rows));
+        for (int i = 0; i < cp.lastLiterals.size(); i++) p.setProperty("last." + i, cp.lastLiterals.get(i));
+        Path f = file(srcUrl, srcSchema, dstUrl, dstSchema, table, where);
+        Path tmp = f.resolveSibling(f.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp)) {
+            p.store(os, "copyTable checkpoint");
+        }
+        Files.move(tmp, f, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Checkpoint oder {@code null}, wenn keiner existiert bzw. WHERE/PK nicht mehr passen. */
+    public static Checkpoint load(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table, String where,
+                                  List<String> pkColumns) {
+        Path f = file(srcUrl, srcSchema, dstUrl, dstSchema, table, where);
+        if (!Files.exists(f)) f = legacyFile(srcSchema, dstSchema, table, where);
+        if (!Files.exists(f)) return null;
+        Properties p = new Properties();
+        try (InputStream is = Files.newInputStream(f)) {
+            p.load(is);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!norm(where).equals(p.getProperty("where", ""))) return null;
+        if (!String.join(",", pkColumns).equals(p.getProperty("pk", ""))) return null;
+        List<String> lits = new ArrayList<>();
+        for (int i = 0; i < pkColumns.size(); i++) {
+            String v = p.getProperty("last." + i);
+            if (v == null) return null;
+            lits.add(v);
+        }
+        long rows;
+        try { rows = Long.parseLong(p.getProperty("rows", "0")); } catch (NumberFormatException e) { rows = 0; }
+        return new Checkpoint(pkColumns, lits, rows);
+    }
+
+    public static void clear(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table, String where) {
+        try {
+            Files.deleteIfExists(file(srcUrl, srcSchema, dstUrl, dstSchema, table, where));
+            Files.deleteIfExists(legacyFile(srcSchema, dstSchema, table, where));
+        } catch (IOException ignored) {}
+    }
+
+    /** Entfernt alle Checkpoints einer Tabelle für diese Datenbanken (unabhängig von der WHERE-Bedingung). */
+    public static int clearAll(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table) {
+        String prefix = prefix(srcSchema, dstSchema, table);
+        String tag = ConfigStore.dbTag(srcUrl, dstUrl) + "__";
+        int n = 0;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(baseDir(), prefix + "*.properties")) {
+            for (Path f : ds) {
+                // eigene URL oder ältere Datei ohne URL; Checkpoints anderer Datenbanken bleiben
+                String rest = f.getFileName().toString().substring(prefix.length());
+                if (rest.startsWith(tag) || !rest.contains("__")) { Files.deleteIfExists(f); n++; }
+            }
+        } catch (IOException ignored) {}
+        return n;
+    }
+}
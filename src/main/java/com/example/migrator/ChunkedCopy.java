@@ -0,0 +1,152 @@
+package com.example.migrator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallele Kopie einer Tabelle: Zerlegung in Bereiche (PK oder ROWID-Extents),
+ * jeder Worker läuft auf eigenem Quell-/Ziel-Verbindungspaar; Worker 0 nutzt das Paar des Aufrufers.
+ */
+public class ChunkedCopy {
+
+    private static void log(String s) { System.out.println("[chunkedCopy] " + s); }
+
+    /** Ermittelt die Bereichs-Prädikate gemäß Modus; Fallback PK ↔ ROWID, wenn eines nicht möglich ist. */
+    public static List<String> computeRanges(Connection src, String schema, String table, String whereClause,
+                                             int chunks, CopyOptions.ChunkMode mode) throws SQLException {
+        List<String> ranges = new ArrayList<>();
+        if (mode != CopyOptions.ChunkMode.PK) {
+            ranges = KeyRanges.byRowidExtents(src, schema, table, chunks);
+        }
+        if (ranges.isEmpty() && mode != CopyOptions.ChunkMode.ROWID) {
+            List<String> pk = DBManager.getPrimaryKeyColumns(src, schema, table);
+            ranges = KeyRanges.byPrimaryKey(src, schema, table, pk, whereClause, chunks);
+        }
+        return ranges;
+    }
+
+    /**
+     * Kopiert die Tabelle in {@code opts.getChunks()} parallelen Workern. {@code src}/{@code dst} ist das
+     * Verbindungspaar des Aufrufers: damit werden die Bereiche ermittelt, und Worker 0 kopiert darauf;
+     * es bleibt offen. Die übrigen Worker leihen eigene Paare aus dem Pool.
+     */
+    public static void copyTable(Connection src, DBConfig srcCfg, Connection dst, DBConfig dstCfg, String table,
+                                 String whereClause, CopyOptions opts, DBManager.ProgressListener listener,
+                                 DBManager.StopSignal stop) throws SQLException {
+        // "single<=n" gilt für die ganze Tabelle, nicht je Bereich → vor der Aufteilung auflösen
+        if (!opts.isDirectPath()) opts = DBManager.resolveCommitPolicy(src, srcCfg.getSchema(), table, whereClause, opts, null, -1);
+        copyChunks(src, srcCfg, dst, dstCfg, table, whereClause, opts, listener, stop);
+    }
+
+    private static void copyChunks(Connection src, DBConfig srcCfg, Connection dst, DBConfig dstCfg, String table,
+                                   String whereClause, CopyOptions opts, DBManager.ProgressListener listener,
+                                   DBManager.StopSignal stop) throws SQLException {
+        if (opts.isDirectPath()) {
+            // APPEND_VALUES sperrt die Zieltabelle exklusiv – parallele Chunks würden sich nur blockieren
+            log(table + ": Direct Path aktiv, kopiere ohne Aufteilung");
+            DBManager.copyTable(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), table, whereClause, opts, listener, stop);
+            return;
+        }
+        final List<String> ranges = computeRanges(src, srcCfg.getSchema(), table, whereClause, opts.getChunks(), opts.getChunkMode());
+        if (ranges.isEmpty()) {
+            // weder ROWID-Extents noch PK verfügbar → normaler Einzel-Stream
+            log(table + ": keine Bereiche ermittelbar, kopiere ohne Aufteilung");
+            DBManager.copyTable(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), table, whereClause, opts, listener, stop);
+            return;
+        }
+        // Sessions der Worker 1..n-1 vorab zusagen lassen; was der Pool nicht hergibt, läuft mit weniger Workern
+        int wanted = Math.min(opts.getChunks(), ranges.size()) - 1;
+        final ConnectionPool.Reservation srcSlots = ConnectionPool.of(srcCfg).reserve(wanted);
+        final ConnectionPool.Reservation dstSlots = ConnectionPool.of(dstCfg).reserve(wanted);
+        int extra = Math.min(srcSlots.size(), dstSlots.size());
+        srcSlots.trim(extra);
+        dstSlots.trim(extra);
+        int workers = 1 + extra;
+        log(table + ": " + ranges.size() + " Bereiche auf " + workers + " Sessions"
+                + (extra < wanted ? " (Pool ausgelastet, " + opts.getChunks() + " angefordert)" : ""));
+
+        // Stop von außen oder Fehler in einem Chunk beendet alle Chunks
+        final DBManager.StopSignal abort = new DBManager.StopSignal() {
+            @Override public boolean isStopped() { return super.isStopped() || (stop != null && stop.isStopped()); }
+        };
+        final AtomicLong total = new AtomicLong();
+        final AtomicReference<Exception> firstError = new AtomicReference<>();
+        final long started = System.nanoTime();
+        final BlockingQueue<String> work = new LinkedBlockingQueue<>(ranges);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "chunk-" + table);
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (int w = 0; w < workers; w++) {
+                final boolean own = w == 0;
+                pool.submit(() -> {
+                    try {
+                        if (own) {
+                            copyRanges(src, srcCfg, dst, dstCfg, table, whereClause, opts, work, total, started, listener, abort);
+                        } else {
+                            try (Connection s = srcSlots.borrow(); Connection d = dstSlots.borrow()) {
+                                copyRanges(s, srcCfg, d, dstCfg, table, whereClause, opts, work, total, started, listener, abort);
+                            }
+                        }
+                    } catch (Exception ex) {
+                        firstError.compareAndSet(null, ex);
+                        abort.stop();
+                    }
+                    return null;
+                });
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) { /* warten */ }
+        } catch (InterruptedException ie) {
+            abort.stop();
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted", ie);
+        } finally {
+            pool.shutdownNow();
+            srcSlots.close();
+            dstSlots.close();
+        }
+
+        Exception ex = firstError.get();
+        if (ex instanceof SQLException sqe) throw sqe;
+        if (ex != null) throw new SQLException(ex.getMessage(), ex);
+        if (stop != null && stop.isStopped()) throw new SQLException("stopped");
+    }
+
+    /** Ein Worker: Bereiche aus der Warteschlange kopieren, bis sie leer ist oder abgebrochen wird. */
+    private static void copyRanges(Connection src, DBConfig srcCfg, Connection dst, DBConfig dstCfg, String table,
+                                   String whereClause, CopyOptions opts, BlockingQueue<String> work, AtomicLong total,
+                                   long started, DBManager.ProgressListener listener, DBManager.StopSignal abort) throws SQLException {
+        String range;
+        while ((range = work.poll()) != null && !abort.isStopped()) {
+            final long[] last = {0};
+            DBManager.copyTable(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), table,
+                    KeyRanges.and(whereClause, range), opts,
+                    new DBManager.ProgressListener() {
+                        @Override public void onBatch(long copied, double rate) {
+                            long sum = total.addAndGet(copied - last[0]);
+                            last[0] = copied;
+                            report(listener, sum, started);
+                        }
+                        @Override public void onInfo(String info) {
+                            if (listener != null) synchronized (listener) { listener.onInfo(info); }
+                        }
+                    }, abort);
+        }
+    }
+
+    private static void report(DBManager.ProgressListener listener, long sum, long started) {
+        if (listener == null) return;
+        double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+        double rate = Math.round(sec > 0 ? sum / sec : 0);
+        synchronized (listener) { listener.onBatch(sum, rate); }
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leert die Zieltabelle (ganz oder per WHERE) mit der jeweils billigsten Strategie:
+ * TRUNCATE ohne WHERE, TRUNCATE PARTITION für vollständig betroffene Partitionen,
+ * sonst parallele DELETEs über ROWID- bzw. PK-Bereiche. Bei sehr hohem Löschanteil optional
+ * "Keep & Swap": verbleibende Zeilen sichern, Tabelle leeren, Zeilen per Direct Path zurückschreiben.
+ */
+public class CleanupEngine {
+
+    public enum Strategy { AUTO, TRUNCATE, PARTITIONS, RANGES, KEEP_AND_SWAP, BATCHED }
+
+    /** Ab diesem Löschanteil wählt AUTO Keep & Swap. */
+    static final double SWAP_FRACTION = 0.7;
+    /** Keep & Swap lohnt erst ab dieser Anzahl zu löschender Zeilen. */
+    static final long SWAP_MIN_ROWS = 1_000_000;
+    /** Zielgröße eines Bereichs (ein DELETE + Commit je Bereich). */
+    static final long ROWS_PER_RANGE = 200_000;
+    private static final int MAX_RANGES = 4096;
+
+    /** Ergebnis: gewählte Strategie(n) und gelöschte Zeilen. */
+    public static final class Result {
+        public final String strategy;
+        public final long deleted;
+        Result(String strategy, long deleted) { this.strategy = strategy; this.deleted = deleted; }
+    }
+
+    private final DBConfig dstCfg;
+    private final int sessions;
+    private final int batchSize;
+    private final boolean noLogging;
+
+    public CleanupEngine(DBConfig dstCfg, int sessions, int batchSize) {
+        this(dstCfg, sessions, batchSize, false);
+    }
+
+    /** @param noLogging Keep & Swap sichert die Zeilen NOLOGGING (nur auf ausdrücklichen Wunsch, siehe {@link CopyOptions#isNoLogging()}) */
+    public CleanupEngine(DBConfig dstCfg, int sessions, int batchSize, boolean noLogging) {
+        this.dstCfg = dstCfg;
+        this.sessions = Math.max(1, sessions);
+        this.batchSize = Math.max(1, batchSize);
+        this.noLogging = noLogging;
+    }
+
+    private static void log(String s) { System.out.println("[cleanup] " + s); }
+
+    /**
+     * Löscht die Zeilen, die {@code whereClause} erfüllen (leer = alle).
+     * {@code toDelete}: vorab gezählte Anzahl (für Strategiewahl; {@code < 0} = unbekannt).
+     */
+    public Result delete(String table, String whereClause, long toDelete, Strategy strategy,
+                         DBManager.DeleteListener listener, DBManager.StopSignal stop) throws SQLException {
+        String schema = dstCfg.getSchema();
+        boolean noWhere = whereClause == null || whereClause.isBlank();
+        Strategy s = strategy == null ? Strategy.AUTO : strategy;
+        AtomicLong deleted = new AtomicLong();
+        DBManager.DeleteListener progress = n -> {
+            if (listener != null) synchronized (deleted) { listener.onBatch(n); }
+        };
+
+        try (Connection dst = DBManager.open(dstCfg)) {
+            if (s == Strategy.AUTO) s = choose(dst, schema, table, whereClause, toDelete);
+            log(schema + "." + table + ": Strategie " + s);
+
+            switch (s) {
+                case TRUNCATE:
+                    if (!noWhere) throw new SQLException("TRUNCATE nur ohne WHERE möglich");
+                    long before = toDelete >= 0 ? toDelete : DBManager.countRows(dst, schema, table, null);
+                    if (truncate(dst, schema + "." + table)) {
+                        progress.onBatch(before);
+                        return new Result("truncate", before);
+                    }
+                    // z. B. ORA-02266 (referenziert durch aktive FKs) → bereichsweise löschen
+                    return new Result("ranges", deleteRanges(dst, schema, table, null, toDelete, deleted, progress, stop));
+
+                case PARTITIONS: {
+                    long truncated = truncateMatchingPartitions(dst, schema, table, whereClause, progress, deleted, stop);
+                    long rest = deleteRanges(dst, schema, table, whereClause, toDelete < 0 ? -1 : toDelete - truncated,
+                            deleted, progress, stop);
+                    return new Result("partitions+ranges", truncated + rest);
+                }
+                case KEEP_AND_SWAP:
+                    return keepAndSwap(dst, schema, table, whereClause, toDelete, deleted, progress, stop);
+
+                case BATCHED:
+                    return new Result("batched", DBManager.deleteRowsInBatches(dst, schema, table, whereClause, batchSize, listener, stop));
+
+                case RANGES:
+                default:
+                    return new Result("ranges", deleteRanges(dst, schema, table, whereClause, toDelete, deleted, progress, stop));
+            }
+        }
+    }
+
+    /** Strategiewahl: ohne WHERE TRUNCATE, partitionierte Tabellen zuerst Partitionen, bei hohem Anteil Keep & Swap. */
+    Strategy choose(Connection dst, String schema, String table, String whereClause, long toDelete) throws SQLException {
+        if (whereClause == null || whereClause.isBlank()) return Strategy.TRUNCATE;
+        if (!partitions(dst, schema, table).isEmpty()) return Strategy.PARTITIONS;
+        if (toDelete >= SWAP_MIN_ROWS) {
+            long total = DBManager.countRows(dst, schema, table, null);
+            if (total > 0 && (double) toDelete / total >= SWAP_FRACTION) return Strategy.KEEP_AND_SWAP;
+        }
+        return Strategy.RANGES;
+    }
+
+    private static boolean truncate(Connection dst, String fq) {
+        try (Statement st = dst.createStatement()) {
+            st.execute("TRUNCATE TABLE " + fq);
+            return true;
+        } catch (SQLException ex) {
+            log("TRUNCATE " + fq + " nicht möglich: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    static List<String> partitions(Connection conn, String schema, String table) throws SQLException {
+        List<String> names = new ArrayList<>();
+        String sql = "SELECT partition_name FROM all_tab_partitions WHERE table_owner = ? AND table_name = ? ORDER BY partition_position";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, schema.toUpperCase());
+            ps.setString(2, table.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Partitionen, in denen jede Zeile die Bedingung erfüllt, per TRUNCATE PARTITION leeren.
+     * Geprüft wird mit zwei abbrechenden Probes (ROWNUM = 1), nicht über die HIGH_VALUE-Texte.
+     * Die verneinte Bedingung verhindert Partition Pruning: für eine vollständig passende Partition
+     * liest die zweite Probe die ganze Partition. Die geleerten Zeilen werden deshalb nicht zusätzlich
+     * gezählt, sondern aus NUM_ROWS der Statistik übernommen (ohne Statistik 0).
+     */
+    private long truncateMatchingPartitions(Connection dst, String schema, String table, String whereClause,
+                                            DBManager.DeleteListener progress, AtomicLong deleted,
+                                            DBManager.StopSignal stop) throws SQLException {
+        String fq = schema + "." + table;
+        long truncated = 0;
+        Map<String, Long> stats = partitionRows(dst, schema, table);
+        for (String p : partitions(dst, schema, table)) {
+            if (stop != null && stop.isStopped()) throw new SQLException("stopped");
+            String part = fq + " PARTITION (" + p + ")";
+            // leere Partition zuerst (billig), dann Zeilen, für die die Bedingung nicht TRUE ist (auch NULL)
+            if (!exists(dst, "SELECT 1 FROM " + part + " WHERE ROWNUM = 1")) continue;
+            if (exists(dst, "SELECT 1 FROM " + part + " WHERE (CASE WHEN (" + whereClause + ") THEN 1 ELSE 0 END) = 0 AND ROWNUM = 1")) continue;
+            long rows = stats.getOrDefault(p, 0L);
+            try (Statement st = dst.createStatement()) {
+                st.execute("ALTER TABLE " + fq + " TRUNCATE PARTITION " + p + " UPDATE GLOBAL INDEXES");
+            } catch (SQLException ex) {
+                log("TRUNCATE PARTITION " + p + " nicht möglich, wird gelöscht: " + ex.getMessage());
+                continue;
+            }
+            truncated += rows;
+            progress.onBatch(deleted.addAndGet(rows));
+            log(fq + ": Partition " + p + " geleert (~" + rows + " Zeilen laut Statistik)");
+        }
+        return truncated;
+    }
+
+    /** NUM_ROWS je Partition aus der Statistik (nur analysierte Partitionen). */
+    static Map<String, Long> partitionRows(Connection conn, String schema, String table) throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        String sql = "SELECT partition_name, num_rows FROM all_tab_partitions WHERE table_owner = ? AND table_name = ? AND num_rows IS NOT NULL";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, schema.toUpperCase());
+            ps.setString(2, table.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return rows;
+    }
+
+    private static boolean exists(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Ein DELETE + Commit je ROWID- bzw. PK-Bereich, verteilt auf {@code sessions} Sessions.
+     * Jeder Bereich wird nur einmal gelesen, statt die Tabelle je Batch erneut von vorn zu scannen.
+     * Ohne ROWID-Extents und PK bleibt nur das bisherige Batch-Löschen.
+     */
+    private long deleteRanges(Connection dst, String schema, String table, String whereClause, long toDelete,
+                              AtomicLong deleted, DBManager.DeleteListener progress,
+                              DBManager.StopSignal stop) throws SQLException {
+        int n = (int) Math.min(MAX_RANGES, Math.max(sessions * 4L,
+                toDelete > 0 ? (toDelete + ROWS_PER_RANGE - 1) / ROWS_PER_RANGE : 0));
+        List<String> ranges = ChunkedCopy.computeRanges(dst, schema, table, whereClause, n, CopyOptions.ChunkMode.AUTO);
+        if (ranges.isEmpty()) {
+            log(schema + "." + table + ": keine Bereiche ermittelbar, lösche in Batches");
+            long base = deleted.get();
+            int done = DBManager.deleteRowsInBatches(dst, schema, table, whereClause, batchSize,
+                    x -> progress.onBatch(base + x), stop);
+            deleted.addAndGet(done);
+            return done;
+        }
+        log(schema + "." + table + ": " + ranges.size() + " Bereiche auf " + sessions + " Sessions");
+
+        // Fehler in einem Bereich beendet alle Worker, ohne das Stop-Signal des Aufrufers zu setzen
+        final DBManager.StopSignal abort = new DBManager.StopSignal() {
+            @Override public boolean isStopped() { return super.isStopped() || (stop != null && stop.isStopped()); }
+        };
+        BlockingQueue<String> work = new LinkedBlockingQueue<>(ranges);
+        int workers = Math.min(sessions, ranges.size());
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "cleanup-range");
+            t.setDaemon(true);
+            return t;
+        });
+        String fq = schema + "." + table;
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(pool.submit(() -> {
+                long mine = 0;
+                CopyMetrics.Batch mb = CopyMetrics.of("delete", table).batch();
+                try (Connection c = DBManager.open(dstCfg)) {
+                    c.setAutoCommit(false);
+                    String range;
+                    while ((range = work.poll()) != null) {
+                        if (abort.isStopped()) throw new SQLException("stopped");
+                        mb.skip();
+                        int aff = LinkCopy.executeCancellable(c, "DELETE FROM " + fq + " WHERE " + KeyRanges.and(whereClause, range), abort);
+                        mb.lap(CopyMetrics.Phase.EXECUTE);
+                        c.commit();
+                        mb.lap(CopyMetrics.Phase.COMMIT);
+                        mb.rows(aff);
+                        mb.flush();
+                        mine += aff;
+                        progress.onBatch(deleted.addAndGet(aff));
+                    }
+                }
+                return mine;
+            }));
+        }
+        pool.shutdown();
+        long total = 0;
+        try {
+            for (Future<Long> f : futures) total += f.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted", ex);
+        } catch (ExecutionException ex) {
+            abort.stop();   // übrige Worker anhalten
+            Throwable c = ex.getCause();
+            if (c instanceof SQLException sqe) throw sqe;
+            throw new SQLException(c.getMessage(), c);
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Keep & Swap: verbleibende Zeilen in eine Hilfstabelle sichern, Original per TRUNCATE leeren und
+     * die Zeilen per Direct Path zurückschreiben. Die Zieltabelle behält so Indizes, Constraints und Grants.
+     * Gesichert und zurückgeschrieben werden nur beschreibbare Spalten (ohne virtuelle); mit
+     * GENERATED ALWAYS-Identity oder wenn TRUNCATE nicht geht (z. B. ORA-02266) wird bereichsweise gelöscht.
+     * Schlägt das Zurückschreiben fehl, bleibt die Hilfstabelle stehen (Name im Log und in der Exception).
+     */
+    private Result keepAndSwap(Connection dst, String schema, String table, String whereClause, long toDelete,
+                               AtomicLong deleted, DBManager.DeleteListener progress,
+                               DBManager.StopSignal stop) throws SQLException {
+        String fq = schema + "." + table;
+        String keep = schema + "." + keepName(table);
+        List<String> cols = insertableColumns(dst, schema, table);
+        if (cols == null) {
+            log(fq + ": Identity-Spalte GENERATED ALWAYS, Keep & Swap nicht möglich → Bereiche");
+            return new Result("ranges", deleteRanges(dst, schema, table, whereClause, toDelete, deleted, progress, stop));
+        }
+        String list = String.join(",", cols);
+        long total = DBManager.countRows(dst, schema, table, null);
+        if (stop != null && stop.isStopped()) throw new SQLException("stopped");
+
+        // die Hilfstabelle ist nach dem TRUNCATE die einzige Kopie → NOLOGGING nur auf ausdrücklichen Wunsch
+        if (noLogging) log(fq + ": Hilfstabelle NOLOGGING – nach einem Media Recovery nicht wiederherstellbar, Backup empfohlen");
+        try (Statement st = dst.createStatement()) {
+            st.execute("CREATE TABLE " + keep + (noLogging ? " NOLOGGING" : "") + " AS SELECT " + list + " FROM " + fq +
+                    " WHERE (CASE WHEN (" + whereClause + ") THEN 1 ELSE 0 END) = 0");
+        }
+        long kept = DBManager.countRows(dst, schema, keepName(table), null);
+        log(fq + ": " + kept + " von " + total + " Zeilen gesichert in " + keep);
+
+        if (!truncate(dst, fq)) {
+            // Original unverändert → Hilfstabelle verwerfen und wie bei TRUNCATE bereichsweise löschen
+            dropQuietly(dst, keep);
+            return new Result("ranges", deleteRanges(dst, schema, table, whereClause, toDelete, deleted, progress, stop));
+        }
+        dst.setAutoCommit(false);
+        try (Statement st = dst.createStatement()) {
+            st.executeUpdate("INSERT /*+ APPEND */ INTO " + fq + " (" + list + ") SELECT " + list + " FROM " + keep);
+            dst.commit();
+        } catch (SQLException ex) {
+            try { dst.rollback(); } catch (SQLException ignored) {}
+            log("Zurückschreiben fehlgeschlagen, gesicherte Zeilen in " + keep + ": " + ex.getMessage());
+            throw new SQLException("Keep & Swap: Zurückschreiben fehlgeschlagen, Zeilen liegen in " + keep + ": " + ex.getMessage(), ex);
+        } finally {
+            dst.setAutoCommit(true);
+        }
+        dropQuietly(dst, keep);
+        progress.onBatch(total - kept);
+        return new Result("keep&swap", total - kept);
+    }
+
+    /**
+     * Beschreibbare Spalten in Tabellenreihenfolge (ohne virtuelle und versteckte);
+     * {@code null}, wenn eine Identity-Spalte GENERATED ALWAYS die Werte nicht annimmt.
+     */
+    static List<String> insertableColumns(Connection conn, String schema, String table) throws SQLException {
+        String sql = "SELECT c.column_name, c.virtual_column, " +
+                "(SELECT i.generation_type FROM all_tab_identity_cols i WHERE i.owner = c.owner " +
+                "AND i.table_name = c.table_name AND i.column_name = c.column_name) " +
+                "FROM all_tab_cols c WHERE c.owner = ? AND c.table_name = ? AND c.hidden_column = 'NO' ORDER BY c.column_id";
+        List<String> cols = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, schema.toUpperCase());
+            ps.setString(2, table.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if ("ALWAYS".equals(rs.getString(3))) return null;
+                    if (!"YES".equals(rs.getString(2))) cols.add(rs.getString(1));
+                }
+            }
+        }
+        if (cols.isEmpty()) throw new SQLException("Keep & Swap: keine Spalten für " + schema + "." + table);
+        return cols;
+    }
+
+    /** Name der Hilfstabelle (max. 30 Zeichen für ältere Versionen). */
+    static String keepName(String table) {
+        String n = table.toUpperCase() + "$KEEP";
+        return n.length() <= 30 ? n : table.toUpperCase().substring(0, 25) + "$KEEP";
+    }
+
+    private static void dropQuietly(Connection dst, String fq) {
+        try (Statement st = dst.createStatement()) {
+            st.execute("DROP TABLE " + fq + " PURGE");
+        } catch (SQLException ex) {
+            log("DROP " + fq + " fehlgeschlagen: " + ex.getMessage());
+        }
+    }
+}
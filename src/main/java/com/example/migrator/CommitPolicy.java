@@ -0,0 +1,144 @@
+package com.example.migrator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wann {@code copyTable} committet: nach jedem JDBC-Batch (Standard, bisheriges Verhalten), einmal am Ende
+ * (eine Transaktion) oder sobald Zeilen, geschätzte Bytes oder Zeit seit dem letzten Commit eine Grenze
+ * erreichen – was zuerst eintritt. Die Batch-Größe bleibt davon getrennt die Zahl der Zeilen je executeBatch.
+ * <p>
+ * Textform (Job-Datei, Übersicht, gespeicherte Einstellung je Tabelle):
+ * <pre>
+ * batch                            Commit nach jedem Batch
+ * single                           eine Transaktion
+ * rows=50000,bytes=64m,time=30s    Grenzen, beliebig kombinierbar (Bytes k/m/g, Zeit ms/s/m)
+ * single&lt;=20000,bytes=64m          eine Transaktion bis 20000 Zeilen, größere Tabellen nach den Grenzen
+ * </pre>
+ */
+public final class CommitPolicy {
+
+    public static final CommitPolicy BATCH = new CommitPolicy(0, 0, 0, false, 0);
+    public static final CommitPolicy SINGLE = new CommitPolicy(0, 0, 0, true, 0);
+
+    /** Grenzen seit dem letzten Commit, 0 = ohne. */
+    public final int rows;
+    public final long bytes;
+    public final long millis;
+    public final boolean single;
+    /** Eine Transaktion, wenn die Tabelle höchstens so viele Zeilen hat (0 = aus), siehe {@link #resolve}. */
+    public final long singleUpTo;
+
+    private CommitPolicy(int rows, long bytes, long millis, boolean single, long singleUpTo) {
+        this.rows = Math.max(0, rows);
+        this.bytes = Math.max(0, bytes);
+        this.millis = Math.max(0, millis);
+        this.single = single;
+        this.singleUpTo = Math.max(0, singleUpTo);
+    }
+
+    public static CommitPolicy limits(int rows, long bytes, long millis) {
+        return rows <= 0 && bytes <= 0 && millis <= 0 ? BATCH : new CommitPolicy(rows, bytes, millis, false, 0);
+    }
+
+    /** Nach jedem Batch committen (keine Grenzen, keine einzelne Transaktion). */
+    public boolean isBatch() { return !single && rows == 0 && bytes == 0 && millis == 0; }
+
+    /** Policy für eine Tabelle mit {@code expectedRows} Zeilen (negativ = unbekannt): löst {@code single<=n} auf. */
+    public CommitPolicy resolve(long expectedRows) {
+        if (singleUpTo == 0) return this;
+        if (expectedRows >= 0 && expectedRows <= singleUpTo) return SINGLE;
+        return limits(rows, bytes, millis);
+    }
+
+    /** Liest die Textform; leer/{@code null} = {@link #BATCH}. */
+    public static CommitPolicy parse(String s) {
+        if (s == null || s.isBlank()) return BATCH;
+        int rows = 0; long bytes = 0, millis = 0, singleUpTo = 0;
+        boolean single = false;
+        for (String part : s.split(",")) {
+            String t = part.trim().toLowerCase(Locale.ROOT).replace(" ", "");
+            if (t.isEmpty() || t.equals("batch")) continue;
+            if (t.equals("single")) { single = true; continue; }
+            try {
+                if (t.startsWith("single<=")) singleUpTo = Long.parseLong(t.substring(8));
+                else if (t.startsWith("rows=")) rows = Integer.parseInt(t.substring(5));
+                else if (t.startsWith("bytes=")) bytes = size(t.substring(6));
+                else if (t.startsWith("time=")) millis = duration(t.substring(5));
+                else throw new IllegalArgumentException("Commit-Policy: unbekannt: " + part.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Commit-Policy: ungültige Zahl in " + part.trim());
+            }
+        }
+        if (single) return SINGLE;
+        if (singleUpTo > 0) return new CommitPolicy(rows, bytes, millis, false, singleUpTo);
+        return limits(rows, bytes, millis);
+    }
+
+    private static long size(String v) {
+        char u = v.charAt(v.length() - 1);
+        long f = switch (u) { case 'k' -> 1024L; case 'm' -> 1024L * 1024; case 'g' -> 1024L * 1024 * 1024; default -> 1; };
+        return Long.parseLong(f == 1 ? v : v.substring(0, v.length() - 1)) * f;
+    }
+
+    private static long duration(String v) {
+        if (v.endsWith("ms")) return Long.parseLong(v.substring(0, v.length() - 2));
+        if (v.endsWith("s")) return Long.parseLong(v.substring(0, v.length() - 1)) * 1000;
+        if (v.endsWith("m")) return Long.parseLong(v.substring(0, v.length() - 1)) * 60_000;
+        return Long.parseLong(v) * 1000;
+    }
+
+    /** Textform, von {@link #parse} wieder lesbar. */
+    @Override public String toString() {
+        if (single) return "single";
+        List<String> parts = new ArrayList<>();
+        if (singleUpTo > 0) parts.add("single<=" + singleUpTo);
+        if (rows > 0) parts.add("rows=" + rows);
+        if (bytes > 0) parts.add("bytes=" + sizeText(bytes));
+        if (millis > 0) parts.add("time=" + (millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms"));
+        return parts.isEmpty() ? "batch" : String.join(",", parts);
+    }
+
+    private static String sizeText(long b) {
+        if (b % (1024L * 1024 * 1024) == 0) return b / (1024L * 1024 * 1024) + "g";
+        if (b % (1024L * 1024) == 0) return b / (1024L * 1024) + "m";
+        if (b % 1024 == 0) return b / 1024 + "k";
+        return Long.toString(b);
+    }
+
+    @Override public boolean equals(Object o) { return o instanceof CommitPolicy c && c.toString().equals(toString()); }
+    @Override public int hashCode() { return toString().hashCode(); }
+
+    /** Neuer Zähler für die offene Transaktion eines Kopier-Threads. */
+    public Tx begin() { return new Tx(); }
+
+    /** Zeilen, Bytes und Dauer der offenen Transaktion; nicht threadsicher. */
+    public final class Tx {
+        private long txRows, txBytes;
+        private long txStart = System.nanoTime();
+
+        /**
+         * Eine Grenze ist mit dem laufenden Batch erreicht – Batch vorzeitig ausführen und committen.
+         * Wird je Zeile gefragt; bei {@link #BATCH} und {@link #SINGLE} immer {@code false}.
+         */
+        public boolean flushDue(int batchRows, long batchBytes) {
+            if (single) return false;
+            return (rows > 0 && txRows + batchRows >= rows)
+                    || (bytes > 0 && txBytes + batchBytes >= bytes)
+                    || (millis > 0 && System.nanoTime() - txStart >= millis * 1_000_000);
+        }
+
+        /** Nach executeBatch aufrufen; {@code true} = jetzt committen (danach {@link #committed()}). */
+        public boolean executed(int batchRows, long batchBytes) {
+            txRows += batchRows;
+            txBytes += batchBytes;
+            return !single && (isBatch() || flushDue(0, 0));
+        }
+
+        public void committed() { txRows = 0; txBytes = 0; txStart = System.nanoTime(); }
+
+        /** Ausgeführte, noch nicht committete Zeilen. */
+        public long pendingRows() { return txRows; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.migrator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Commit-Policy je Quellschema und Tabelle in {@code ~/.oracle-migrator/commit.properties}
+ * (Schlüssel SCHEMA__TABELLE, Wert in der Textform von {@link CommitPolicy}).
+ */
+public class CommitPolicyStore {
+
+    private static Path file() {
+        Path dir = Paths.get(System.getProperty("user.home"), ".oracle-migrator");
+        try { Files.createDirectories(dir); } catch (IOException ignored) {}
+        return dir.resolve("commit.properties");
+    }
+
+    private static String key(String schema, String table) {
+        return (schema == null ? "" : schema.toUpperCase()) + "__" + (table == null ? "" : table.toUpperCase());
+    }
+
+    private static Properties read() {
+        Properties p = new Properties();
+        Path f = file();
+        if (Files.exists(f)) {
+            try (InputStream is = Files.newInputStream(f)) { p.load(is); } catch (IOException ignored) {}
+        }
+        return p;
+    }
+
+    /** Gespeicherte Policies eines Schemas: Tabelle (groß) → Policy; ungültige Einträge werden übergangen. */
+    public static synchronized Map<String, CommitPolicy> loadAll(String schema) {
+        Map<String, CommitPolicy> out = new HashMap<>();
+        String prefix = key(schema, "");
+        Properties p = read();
+        for (String k : p.stringPropertyNames()) {
+            if (!k.startsWith(prefix)) continue;
+            try { out.put(k.substring(prefix.length()), CommitPolicy.parse(p.getProperty(k))); }
+            catch (IllegalArgumentException ignored) {}
+        }
+        return out;
+    }
+
+    /** Speichert die Policy der Tabelle; {@code null} entfernt sie (dann gilt die Vorgabe). */
+    public static synchronized void save(String schema, String table, CommitPolicy policy) throws IOException {
+        Properties p = read();
+        if (policy == null) p.remove(key(schema, table)); else p.setProperty(key(schema, table), policy.toString());
+        Path f = file();
+        Path tmp = f.resolveSibling(f.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp)) {
+            p.store(os, "commit policy per table");
+        }
+        Files.move(tmp, f, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -15,6 +15,7 @@ public class ConfigController {
     @FXML private TextField dstUserField;
     @FXML private PasswordField dstPassField;
     @FXML private TextField dstSchemaField;
+    @FXML private TextField dstDbLinkField;
 
     private DBConfig sourceCfg = new DBConfig();
     private DBConfig targetCfg = new DBConfig();
@@ -32,6 +33,7 @@ public class ConfigController {
         dstUserField.setText(targetCfg.getUser());
         dstPassField.setText(targetCfg.getPassword());
         dstSchemaField.setText(targetCfg.getSchema());
+        dstDbLinkField.setText(targetCfg.getDbLink());
     }
 
     public DBConfig getSourceCfg() {
@@ -47,6 +49,7 @@ public class ConfigController {
         targetCfg.setUser(dstUserField.getText());
         targetCfg.setPassword(dstPassField.getText());
         targetCfg.setSchema(dstSchemaField.getText());
+        targetCfg.setDbLink(dstDbLinkField.getText());
         try { ConfigStore.save(sourceCfg, targetCfg); } catch (Exception ignored) {}
         return targetCfg;
     }
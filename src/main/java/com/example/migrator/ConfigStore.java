@@ -13,6 +13,15 @@ public class ConfigStore {
         return dir.resolve("db.properties");
     }
 
+    /**
+     * Kurzes Kennzeichen für ein Quell-/Ziel-Paar von Datenbanken (Hash der URLs), damit lokale Zustände
+     * (Checkpoints, Watermarks) gleichnamiger Schemas auf verschiedenen Datenbanken getrennt bleiben.
+     */
+    static String dbTag(String srcUrl, String dstUrl) {
+        String k = (srcUrl == null ? "" : srcUrl.trim().toLowerCase()) + "|" + (dstUrl == null ? "" : dstUrl.trim().toLowerCase());
+        return Integer.toHexString(k.hashCode());
+    }
+
     private static String enc(String s) {
         if (s == null) return "";
         return Base64.getEncoder().encodeToString(s.getBytes(java.nio.charset.StandardCharsets.UTF_8));
@@ -33,6 +42,7 @@ public class ConfigStore {
         p.setProperty("dst.user", dst.getUser());
         p.setProperty("dst.pass", enc(dst.getPassword()));
         p.setProperty("dst.schema", dst.getSchema());
+        p.setProperty("dst.dblink", dst.getDbLink());
         try (OutputStream os = Files.newOutputStream(cfgFile())) {
             p.store(os, "Oracle Migrator Config");
         }
@@ -54,5 +64,6 @@ public class ConfigStore {
         dst.setUser(p.getProperty("dst.user", dst.getUser()));
         dst.setPassword(dec(p.getProperty("dst.pass", "")));
         dst.setSchema(p.getProperty("dst.schema", dst.getSchema()));
+        dst.setDbLink(p.getProperty("dst.dblink", ""));
     }
 }
@@ -0,0 +1,303 @@
+package com.example.migrator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Einfacher Verbindungspool je Verbindungsprofil (URL/User/Passwort).
+ * {@code close()} auf der ausgegebenen Verbindung gibt sie an den Pool zurück.
+ * Neue Oracle-Sessions bekommen implizites Statement-Caching, länger unbenutzte
+ * Verbindungen werden vor der Ausgabe per {@code isValid} geprüft.
+ * Parallele Worker einer Kopie reservieren ihre Sessions vorab mit {@link #reserve}: verschachteltes Ausleihen
+ * (Task hält ein Paar, Worker leihen weitere) kann den Pool so nicht erschöpfen, es laufen dann weniger Worker.
+ */
+public class ConnectionPool {
+
+    private static final Map<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+    static final int MAX_SIZE = 32;
+    static final int STATEMENT_CACHE_SIZE = 50;
+    private static final long WAIT_TIMEOUT_MS = 60_000;
+    private static final long VALIDATE_AFTER_MS = 30_000;
+
+    private final String name;
+    private final String url, user, password;
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    private int open;          // ausgegeben + frei
+    private int inUse;
+    private int reserved;      // zugesagt, noch nicht ausgeliehen
+    private boolean closed;
+
+    // Statistik
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    private static final class Idle {
+        final Connection conn; final long since;
+        Idle(Connection conn, long since) { this.conn = conn; this.since = since; }
+    }
+
+    private ConnectionPool(String name, String url, String user, String password) {
+        this.name = name; this.url = url; this.user = user; this.password = password;
+    }
+
+    private static void log(String s) { System.out.println("[pool] " + s); }
+
+    private static String key(DBConfig cfg) {
+        return cfg.getJdbcUrl() + "|" + cfg.getUsername() + "|" + Integer.toHexString(String.valueOf(cfg.getPassword()).hashCode());
+    }
+
+    /** Pool für das Profil (wird beim ersten Zugriff angelegt). */
+    public static ConnectionPool of(DBConfig cfg) {
+        return POOLS.computeIfAbsent(key(cfg), k -> new ConnectionPool(
+                cfg.getUsername() + "@" + cfg.getJdbcUrl().replaceFirst("^jdbc:oracle:thin:@", ""),
+                cfg.getJdbcUrl(), cfg.getUsername(), cfg.getPassword()));
+    }
+
+    /** Verbindung ausleihen; wartet höchstens {@value #WAIT_TIMEOUT_MS} ms auf eine freie. */
+    public Connection borrow() throws SQLException { return borrow(false); }
+
+    /** {@code reservedSlot}: Platz ist über eine {@link Reservation} zugesagt, kein Warten auf Kapazität. */
+    private Connection borrow(boolean reservedSlot) throws SQLException {
+        long t0 = System.nanoTime();
+        Connection physical = null;
+        boolean skipWait = reservedSlot;
+        while (physical == null) {
+            Idle i;
+            synchronized (this) {
+                long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MS;
+                while (!closed && !skipWait && (inUse + reserved >= MAX_SIZE || (idle.isEmpty() && open >= MAX_SIZE))) {
+                    long left = deadline - System.currentTimeMillis();
+                    if (left <= 0) throw new SQLException("Connection-Pool erschöpft (" + MAX_SIZE + " Sessions): " + name);
+                    try { wait(left); } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("interrupted", ie);
+                    }
+                }
+                if (closed) throw new SQLException("Connection-Pool geschlossen: " + name);
+                i = idle.pollFirst();
+                if (i == null) open++;
+                if (skipWait) reserved--;
+                inUse++;
+            }
+            if (i == null) {
+                try {
+                    physical = create();
+                } catch (SQLException ex) {
+                    synchronized (this) { open--; inUse--; notifyAll(); }
+                    throw ex;
+                }
+            } else if (System.currentTimeMillis() - i.since > VALIDATE_AFTER_MS && !isValid(i.conn)) {
+                // Health-Check außerhalb der Sperre; defekte Session verwerfen und erneut versuchen
+                discard(i.conn);
+                synchronized (this) { open--; inUse--; notifyAll(); }
+                skipWait = false;   // der zugesagte Platz ist mit dem verworfenen Versuch verbraucht
+            } else {
+                physical = i.conn;
+            }
+        }
+        long waited = System.nanoTime() - t0;
+        waitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        borrowed.incrementAndGet();
+        return wrap(physical);
+    }
+
+    /**
+     * Sagt bis zu {@code n} Sessions sofort zu, ohne zu warten (0, wenn der Pool voll ist).
+     * Die zugesagten Plätze zählen gegen {@link #MAX_SIZE}, sind für andere Ausleiher gesperrt und werden
+     * bei {@link Reservation#close()} wieder frei, soweit sie nicht ausgeliehen wurden.
+     */
+    public synchronized Reservation reserve(int n) {
+        int k = Math.max(0, Math.min(n, MAX_SIZE - inUse - reserved));
+        reserved += k;
+        return new Reservation(k);
+    }
+
+    /** Zugesagte Sessions eines Pools für die Worker einer Kopie. */
+    public final class Reservation implements AutoCloseable {
+        private int left;
+        private Reservation(int n) { left = n; }
+
+        /** Anzahl noch nicht ausgeliehener, zugesagter Sessions. */
+        public int size() { synchronized (ConnectionPool.this) { return left; } }
+
+        /** Gibt zugesagte Plätze über {@code keep} hinaus sofort frei. */
+        public void trim(int keep) {
+            synchronized (ConnectionPool.this) {
+                int drop = Math.max(0, left - Math.max(0, keep));
+                left -= drop;
+                reserved -= drop;
+                if (drop > 0) ConnectionPool.this.notifyAll();
+            }
+        }
+
+        /** Verbindung auf einem zugesagten Platz (ohne Warten); ist keiner mehr frei, wie {@link #borrow()}. */
+        public Connection borrow() throws SQLException {
+            boolean slot;
+            synchronized (ConnectionPool.this) {
+                slot = left > 0;
+                if (slot) left--;   // bleibt in reserved, bis borrow(true) ihn als inUse übernimmt
+            }
+            return ConnectionPool.this.borrow(slot);
+        }
+
+        @Override public void close() { trim(0); }
+    }
+
+    private Connection create() throws SQLException {
+        Connection c = DriverManager.getConnection(url, user, password);
+        if (c.isWrapperFor(oracle.jdbc.OracleConnection.class)) {
+            oracle.jdbc.OracleConnection oc = c.unwrap(oracle.jdbc.OracleConnection.class);
+            oc.setImplicitCachingEnabled(true);
+            oc.setStatementCacheSize(STATEMENT_CACHE_SIZE);
+        }
+        created.incrementAndGet();
+        return c;
+    }
+
+    private static boolean isValid(Connection c) {
+        try { return c.isValid(2); } catch (SQLException ex) { return false; }
+    }
+
+    private void discard(Connection c) {
+        discarded.incrementAndGet();
+        try { c.close(); } catch (SQLException ignored) {}
+    }
+
+    /** Rückgabe: offene Transaktion verwerfen, Autocommit zurücksetzen; defekte Sessions schließen. */
+    private void giveBack(Connection c) {
+        boolean ok;
+        try {
+            if (!c.getAutoCommit()) { c.rollback(); c.setAutoCommit(true); }
+            ok = !c.isClosed();
+        } catch (SQLException ex) {
+            ok = false;
+        }
+        synchronized (this) {
+            inUse--;
+            if (ok && !closed) {
+                idle.addFirst(new Idle(c, System.currentTimeMillis()));
+            } else {
+                open--;
+                discard(c);
+            }
+            notifyAll();
+        }
+    }
+
+    /** Proxy, dessen close() die Verbindung zurückgibt; alle anderen Aufrufe gehen an die Session. */
+    private Connection wrap(Connection physical) {
+        InvocationHandler h = new InvocationHandler() {
+            private boolean returned;
+            @Override public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                switch (m.getName()) {
+                    case "close":
+                        synchronized (this) {
+                            if (!returned) { returned = true; giveBack(physical); }
+                        }
+                        return null;
+                    case "isClosed":
+                        synchronized (this) { if (returned) return true; }
+                        break;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "pooled[" + name + "]";
+                    default:
+                        synchronized (this) { if (returned) throw new SQLException("Connection bereits an den Pool zurückgegeben"); }
+                }
+                try {
+                    return m.invoke(physical, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, h);
+    }
+
+    /** Z. B. "scott@//db:1521/X: 3 in use, 5 idle, 8 created, wait avg 2 ms / max 40 ms". */
+    public synchronized String stats() {
+        long n = borrowed.get();
+        return String.format(java.util.Locale.ROOT, "%s: %d in use, %d idle, %d created, wait avg %d ms / max %d ms%s",
+                name, inUse, idle.size(), created.get(),
+                n > 0 ? TimeUnit.NANOSECONDS.toMillis(waitNanos.get() / n) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                discarded.get() > 0 ? ", " + discarded.get() + " discarded" : "");
+    }
+
+    /** Statistik aller Pools, eine Zeile je Pool. */
+    public static String allStats() {
+        StringBuilder sb = new StringBuilder();
+        for (ConnectionPool p : POOLS.values()) {
+            if (sb.length() > 0) sb.append("\n");
+            sb.append(p.stats());
+        }
+        return sb.length() == 0 ? "keine Verbindungen" : sb.toString();
+    }
+
+    /**
+     * Prüft alle freien Verbindungen und schließt defekte. Die Prüfung (isValid, bis zu 2 s je Session)
+     * läuft außerhalb der Sperre, damit Ausleihen und Rückgaben laufender Kopien nicht warten.
+     */
+    public int healthCheck() {
+        java.util.List<Idle> check;
+        synchronized (this) {
+            check = new java.util.ArrayList<>(idle);   // zählen weiter zu open, sind aber nicht ausleihbar
+            idle.clear();
+        }
+        java.util.List<Idle> good = new java.util.ArrayList<>(check.size());
+        int bad = 0;
+        for (Idle i : check) {
+            if (isValid(i.conn)) good.add(new Idle(i.conn, System.currentTimeMillis()));
+            else { discard(i.conn); bad++; }
+        }
+        synchronized (this) {
+            open -= bad;
+            for (Idle i : good) {
+                if (closed) { open--; try { i.conn.close(); } catch (SQLException ignored) {} }
+                else idle.addLast(i);   // hinter die zwischenzeitlich zurückgegebenen
+            }
+            notifyAll();
+        }
+        if (bad > 0) log(name + ": " + bad + " defekte Verbindung(en) verworfen");
+        return bad;
+    }
+
+    public static int healthCheckAll() {
+        int bad = 0;
+        for (ConnectionPool p : POOLS.values()) bad += p.healthCheck();
+        return bad;
+    }
+
+    /** Schließt freie Verbindungen sofort, ausgeliehene bei ihrer Rückgabe. */
+    public synchronized void close() {
+        closed = true;
+        for (Idle i : idle) { open--; try { i.conn.close(); } catch (SQLException ignored) {} }
+        idle.clear();
+        notifyAll();
+    }
+
+    /** Alle Pools schließen (z. B. nach Änderung der Verbindungsdaten oder beim Beenden). */
+    public static void closeAll() {
+        for (ConnectionPool p : POOLS.values()) p.close();
+        POOLS.clear();
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.migrator;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Messwerte der Kopier-, Lösch- und Zählpfade je Operation und Tabelle: Zeit je Phase
+ * (Quelle lesen, Binden, executeBatch, Commit), Zeilen, geschätzte Bytes und Latenz-Histogramme
+ * je Batch. Jeder Batch wird zusätzlich als JFR-Event {@code com.example.migrator.Batch} gemeldet,
+ * die langsamsten Batches bleiben mit ihrer Phasenaufteilung im Snapshot.
+ *
+ * <pre>
+ * CopyMetrics.Batch mb = CopyMetrics.of("copy", table).batch();
+ * while (rs.next()) { mb.lap(Phase.FETCH); … mb.lap(Phase.BIND); mb.row(); }
+ * pin.executeBatch(); mb.lap(Phase.EXECUTE); dst.commit(); mb.lap(Phase.COMMIT); mb.flush();
+ * </pre>
+ */
+public final class CopyMetrics {
+
+    public enum Phase { FETCH, BIND, EXECUTE, COMMIT }
+
+    private static final int BUCKETS = 32;          // log2 der Batch-Dauer in µs
+    private static final int SLOWEST = 20;
+    private static final Map<String, CopyMetrics> ALL = new ConcurrentHashMap<>();
+    private static final List<SlowBatch> slowest = new ArrayList<>();   // aufsteigend nach Dauer
+
+    @Name("com.example.migrator.Batch")
+    @Label("Migrator Batch")
+    @Category("Migrator")
+    @Description("Ein Batch der Kopie, Löschung oder Zählung mit Aufteilung nach Phasen")
+    @StackTrace(false)
+    static final class BatchEvent extends jdk.jfr.Event {
+        @Label("Operation") String operation;
+        @Label("Table") String table;
+        @Label("Rows") long rows;
+        @Label("Bytes") @DataAmount long bytes;
+        @Label("Fetch") @Timespan long fetchTime;
+        @Label("Bind") @Timespan long bindTime;
+        @Label("Execute") @Timespan long executeTime;
+        @Label("Commit") @Timespan long commitTime;
+    }
+
+    /** Ein langsamer Batch (Nanosekunden je Phase). */
+    public record SlowBatch(String operation, String table, long rows, long bytes, long totalNanos, long[] phaseNanos,
+                            long atMillis) {}
+
+    public final String operation;
+    public final String table;
+    private final LongAdder batches = new LongAdder(), rows = new LongAdder(), bytes = new LongAdder();
+    private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+    private final AtomicLongArray[] phaseHist = new AtomicLongArray[Phase.values().length];
+    private final AtomicLongArray batchHist = new AtomicLongArray(BUCKETS);
+
+    private CopyMetrics(String operation, String table) {
+        this.operation = operation;
+        this.table = table;
+        for (int i = 0; i < phaseNanos.length; i++) { phaseNanos[i] = new LongAdder(); phaseHist[i] = new AtomicLongArray(BUCKETS); }
+    }
+
+    /** Messwerte für Operation ("copy", "delete", "count", …) und Tabelle, über Threads geteilt. */
+    public static CopyMetrics of(String operation, String table) {
+        String t = table == null ? "" : table.toUpperCase();
+        return ALL.computeIfAbsent(operation + ":" + t, k -> new CopyMetrics(operation, t));
+    }
+
+    /** Neuer Batch-Zähler für einen Thread; nach {@link Batch#flush()} wiederverwendbar. */
+    public Batch batch() { return new Batch(); }
+
+    /** Zeitmessung eines Batches, nicht threadsicher (ein Batch je Kopier-Thread). */
+    public final class Batch {
+        private final long[] nanos = new long[Phase.values().length];
+        private long clock = System.nanoTime();
+        private int batchRows;
+        private long batchBytes;
+        private long rowSeq, sampledRows, sampledBytes;
+        private BatchEvent event = newEvent();
+
+        /** Zeit seit dem letzten {@code lap}/{@code skip} der Phase zuschreiben. */
+        public void lap(Phase p) {
+            long now = System.nanoTime();
+            nanos[p.ordinal()] += now - clock;
+            clock = now;
+        }
+
+        /** Zeit seit dem letzten {@code lap} verwerfen (z. B. Listener/Logging). */
+        public void skip() { clock = System.nanoTime(); }
+
+        /** Eine Zeile im Batch; Bytes werden aus Stichproben hochgerechnet. */
+        public void row() { batchRows++; }
+
+        public void rows(int n) { batchRows += n; }
+
+        /** Bekannte Bytes (z. B. LOB-Lane) direkt addieren. */
+        public void bytes(long n) { batchBytes += n; }
+
+        /** Stichprobe der Zeilenbreite nehmen? Die ersten 16 Zeilen, danach jede 64. */
+        public boolean wantSample() {
+            long r = rowSeq++;
+            return r < 16 || (r & 63) == 0;
+        }
+
+        public void sample(long rowBytes) { sampledRows++; sampledBytes += rowBytes; }
+
+        /** Mittlere Zeilenbreite aus den Stichproben (0 = noch keine). */
+        public double avgRowBytes() { return sampledRows == 0 ? 0 : sampledBytes / (double) sampledRows; }
+
+        /** Geschätzte Bytes des laufenden Batches. */
+        public long pendingBytes() { return batchBytes + (long) (batchRows * avgRowBytes()); }
+
+        public int pendingRows() { return batchRows; }
+
+        /** Batch abschließen: Zähler, Histogramme, JFR-Event, ggf. Liste der langsamsten Batches. */
+        public void flush() {
+            long b = pendingBytes();
+            long total = 0;
+            for (int i = 0; i < nanos.length; i++) {
+                total += nanos[i];
+                phaseNanos[i].add(nanos[i]);
+                phaseHist[i].incrementAndGet(bucket(nanos[i]));
+            }
+            batches.increment();
+            rows.add(batchRows);
+            bytes.add(b);
+            batchHist.incrementAndGet(bucket(total));
+
+            BatchEvent e = event;
+            if (e.shouldCommit()) {
+                e.operation = operation; e.table = table; e.rows = batchRows; e.bytes = b;
+                e.fetchTime = nanos[0]; e.bindTime = nanos[1]; e.executeTime = nanos[2]; e.commitTime = nanos[3];
+                e.commit();
+            }
+            offerSlow(new SlowBatch(operation, table, batchRows, b, total, nanos.clone(), System.currentTimeMillis()));
+
+            Arrays.fill(nanos, 0);
+            batchRows = 0;
+            batchBytes = 0;
+            event = newEvent();
+            clock = System.nanoTime();
+        }
+    }
+
+    private static BatchEvent newEvent() {
+        BatchEvent e = new BatchEvent();
+        e.begin();
+        return e;
+    }
+
+    private static int bucket(long nanos) {
+        long us = Math.max(1, nanos / 1000);
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(us));
+    }
+
+    private static void offerSlow(SlowBatch s) {
+        synchronized (slowest) {
+            if (slowest.size() == SLOWEST && slowest.get(0).totalNanos() >= s.totalNanos()) return;
+            int i = 0;
+            while (i < slowest.size() && slowest.get(i).totalNanos() < s.totalNanos()) i++;
+            slowest.add(i, s);
+            if (slowest.size() > SLOWEST) slowest.remove(0);
+        }
+    }
+
+    public long batches() { return batches.sum(); }
+    public long rows() { return rows.sum(); }
+    public long bytes() { return bytes.sum(); }
+    public long phaseNanos(Phase p) { return phaseNanos[p.ordinal()].sum(); }
+
+    /** Alle Messwerte verwerfen (z. B. vor einem neuen Lauf). */
+    public static void resetAll() {
+        ALL.clear();
+        synchronized (slowest) { slowest.clear(); }
+    }
+
+    /** Kurzform für Logs, z. B. "copy EMP: 120 batches, 1.2M rows, 310 MB · fetch 40% bind 22% execute 31% commit 7%". */
+    @Override public String toString() {
+        long sum = 0;
+        for (Phase p : Phase.values()) sum += phaseNanos(p);
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%s %s: %d batches, %d rows, %.1f MB ·",
+                operation, table, batches(), rows(), bytes() / 1024.0 / 1024.0));
+        for (Phase p : Phase.values())
+            sb.append(' ').append(p.name().toLowerCase()).append(' ').append(sum > 0 ? Math.round(100.0 * phaseNanos(p) / sum) : 0).append('%');
+        return sb.toString();
+    }
+
+    // --- Snapshot ------------------------------------------------------------
+
+    /** Alle Messwerte als JSON (Phasen in ms, Histogramme als Obergrenze µs → Anzahl, langsamste Batches). */
+    public static String snapshotJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"updated\":").append(HeadlessRunner.json(java.time.Instant.now().toString())).append(",\"metrics\":[");
+        List<CopyMetrics> list = new ArrayList<>(ALL.values());
+        list.sort(Comparator.comparing((CopyMetrics m) -> m.operation).thenComparing(m -> m.table));
+        for (int i = 0; i < list.size(); i++) {
+            CopyMetrics m = list.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"operation\":").append(HeadlessRunner.json(m.operation))
+              .append(",\"table\":").append(HeadlessRunner.json(m.table))
+              .append(",\"batches\":").append(m.batches())
+              .append(",\"rows\":").append(m.rows())
+              .append(",\"bytes\":").append(m.bytes())
+              .append(",\"batchMicros\":").append(hist(m.batchHist))
+              .append(",\"phases\":{");
+            for (Phase p : Phase.values()) {
+                if (p.ordinal() > 0) sb.append(',');
+                sb.append('"').append(p.name().toLowerCase()).append("\":{\"ms\":").append(m.phaseNanos(p) / 1_000_000)
+                  .append(",\"micros\":").append(hist(m.phaseHist[p.ordinal()])).append('}');
+            }
+            sb.append("}}");
+        }
+        sb.append("],\"slowest\":[");
+        List<SlowBatch> slow;
+        synchronized (slowest) { slow = new ArrayList<>(slowest); }
+        Collections.reverse(slow);
+        for (int i = 0; i < slow.size(); i++) {
+            SlowBatch s = slow.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"operation\":").append(HeadlessRunner.json(s.operation()))
+              .append(",\"table\":").append(HeadlessRunner.json(s.table()))
+              .append(",\"at\":").append(HeadlessRunner.json(java.time.Instant.ofEpochMilli(s.atMillis()).toString()))
+              .append(",\"rows\":").append(s.rows())
+              .append(",\"bytes\":").append(s.bytes())
+              .append(",\"ms\":").append(s.totalNanos() / 1_000_000);
+            for (Phase p : Phase.values())
+                sb.append(",\"").append(p.name().toLowerCase()).append("Ms\":").append(s.phaseNanos()[p.ordinal()] / 1_000_000);
+            sb.append('}');
+        }
+        return sb.append("]}\n").toString();
+    }
+
+    private static String hist(AtomicLongArray h) {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = h.get(i);
+            if (n == 0) continue;
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("\"").append(1L << (i + 1)).append("\":").append(n);   // Obergrenze des Buckets in µs
+        }
+        return sb.append('}').toString();
+    }
+
+    /** Snapshot atomar in eine Datei schreiben. */
+    public static void writeSnapshot(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Files.writeString(tmp, snapshotJson(), StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Standardablage der GUI: {@code ~/.oracle-migrator/metrics.json}. */
+    public static Path defaultPath() {
+        return Paths.get(System.getProperty("user.home"), ".oracle-migrator", "metrics.json");
+    }
+
+    /**
+     * Lokaler HTTP-Endpunkt {@code http://127.0.0.1:port/metrics} mit dem aktuellen Snapshot (Headless-Läufe).
+     * Liefert den Server zum Stoppen.
+     */
+    public static com.sun.net.httpserver.HttpServer serve(int port) throws IOException {
+        com.sun.net.httpserver.HttpServer http = com.sun.net.httpserver.HttpServer.create(
+                new java.net.InetSocketAddress(java.net.InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", ex -> {
+            byte[] body = snapshotJson().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            ex.sendResponseHeaders(200, body.length);
+            try (var os = ex.getResponseBody()) { os.write(body); }
+        });
+        Thread t = new Thread(http::start, "metrics-http");   // Dispatcher erbt daemon=true
+        t.setDaemon(true);
+        t.start();
+        return http;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.migrator;
+
+/** Einstellungen für einen Kopierlauf (aus der UI bzw. Job-Datei). */
+public class CopyOptions implements Cloneable {
+
+    /** Wie eine Tabelle für die parallele Kopie zerlegt wird. */
+    public enum ChunkMode { AUTO, PK, ROWID }
+
+    private int commitBatch = 1000;
+    private CommitPolicy commitPolicy = CommitPolicy.BATCH;
+    private int chunks = 1;
+    private ChunkMode chunkMode = ChunkMode.AUTO;
+    private boolean pipelined = false;
+    private int pipelineDepth = 4;
+    private boolean adaptive = false;
+    private long targetBytesPerRoundTrip = 1024L * 1024;
+    private long heapBudgetBytes = 64L * 1024 * 1024;
+    private boolean directPath = false;
+    private boolean noLogging = false;
+    private boolean resumable = false;
+    private boolean rawDatums = false;
+    private boolean lobLane = false;
+    private int lobPrefetchBytes = 32 * 1024;
+    private long lobInlineThreshold = 32 * 1024;
+    private boolean serverSide = false;
+    private boolean delta = false;
+    private int deltaLagSeconds = 300;
+    private boolean verify = false;
+
+    public int getCommitBatch() { return commitBatch; }
+    public void setCommitBatch(int v) { this.commitBatch = Math.max(1, v); }
+
+    /** Wann committet wird (Zeilen/Bytes/Zeit, je Batch oder eine Transaktion); Batch-Größe bleibt {@link #getCommitBatch()}. */
+    public CommitPolicy getCommitPolicy() { return commitPolicy; }
+    public void setCommitPolicy(CommitPolicy p) { this.commitPolicy = p == null ? CommitPolicy.BATCH : p; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int v) { this.chunks = Math.max(1, v); }
+
+    public ChunkMode getChunkMode() { return chunkMode; }
+    public void setChunkMode(ChunkMode m) { this.chunkMode = m == null ? ChunkMode.AUTO : m; }
+
+    /** Leser- und Schreib-Thread entkoppelt über einen begrenzten Puffer von Batches. */
+    public boolean isPipelined() { return pipelined; }
+    public void setPipelined(boolean v) { this.pipelined = v; }
+
+    /** Maximale Anzahl gepufferter Batches (begrenzt den Speicher). */
+    public int getPipelineDepth() { return pipelineDepth; }
+    public void setPipelineDepth(int v) { this.pipelineDepth = Math.max(1, v); }
+
+    /** Fetch-Size und Batch-Größe während der Kopie automatisch anpassen. */
+    public boolean isAdaptive() { return adaptive; }
+    public void setAdaptive(boolean v) { this.adaptive = v; }
+
+    public long getTargetBytesPerRoundTrip() { return targetBytesPerRoundTrip; }
+    public void setTargetBytesPerRoundTrip(long v) { this.targetBytesPerRoundTrip = v; }
+
+    /** Obergrenze für gepufferte Zeilen (Fetch + Batch + Pipeline) in Bytes. */
+    public long getHeapBudgetBytes() { return heapBudgetBytes; }
+    public void setHeapBudgetBytes(long v) { this.heapBudgetBytes = v; }
+
+    /** Direct-Path-Insert (APPEND_VALUES): ein Commit pro Batch, Tabelle exklusiv gesperrt. */
+    public boolean isDirectPath() { return directPath; }
+    public void setDirectPath(boolean v) { this.directPath = v; }
+
+    /** Zieltabelle während des Direct-Path-Loads auf NOLOGGING setzen (danach wieder LOGGING). */
+    public boolean isNoLogging() { return noLogging; }
+    public void setNoLogging(boolean v) { this.noLogging = v; }
+
+    /** Seitenweise per PK-Keyset lesen, je Seite committen und Checkpoint schreiben (Neustart setzt fort). */
+    public boolean isResumable() { return resumable; }
+    public void setResumable(boolean v) { this.resumable = v; }
+
+    /** Werte als Oracle-Datum (oracle.sql.*) lesen/binden, wenn Quell- und Zieltyp identisch sind. */
+    public boolean isRawDatums() { return rawDatums; }
+    public void setRawDatums(boolean v) { this.rawDatums = v; }
+
+    /** Kleine LOBs inline binden, Zeilen mit großen LOBs sofort über eigene Insert-Anweisung streamen. */
+    public boolean isLobLane() { return lobLane; }
+    public void setLobLane(boolean v) { this.lobLane = v; }
+
+    /** LOB-Prefetch am Quell-Statement (Bytes/Zeichen je LOB, 0 = Treiberstandard). */
+    public int getLobPrefetchBytes() { return lobPrefetchBytes; }
+    public void setLobPrefetchBytes(int v) { this.lobPrefetchBytes = Math.max(0, v); }
+
+    /** LOBs bis zu dieser Länge werden als String/byte[] gelesen und gebatcht. */
+    public long getLobInlineThreshold() { return lobInlineThreshold; }
+    public void setLobInlineThreshold(long v) { this.lobInlineThreshold = Math.max(0, v); }
+
+    /** Kopie server-seitig über den DB-Link des Zielprofils (Fallback: Client-Streaming). */
+    public boolean isServerSide() { return serverSide; }
+    public void setServerSide(boolean v) { this.serverSide = v; }
+
+    /** Nur Zeilen nach der gespeicherten Watermark lesen und per PK im Ziel aktualisieren/einfügen. */
+    public boolean isDelta() { return delta; }
+    public void setDelta(boolean v) { this.delta = v; }
+
+    /**
+     * Überlappung des Delta-Fensters bei DATE/TIMESTAMP-Watermarks: gelesen wird ab Watermark minus so viele
+     * Sekunden, damit Zeilen aus Transaktionen, die erst nach dem Lesen der Obergrenze committet wurden, nicht fehlen.
+     */
+    public int getDeltaLagSeconds() { return deltaLagSeconds; }
+    public void setDeltaLagSeconds(int v) { this.deltaLagSeconds = Math.max(0, v); }
+
+    /** Nach der Kopie per Bereichs-Hash vergleichen und abweichende Zeilen nachkopieren. */
+    public boolean isVerify() { return verify; }
+    public void setVerify(boolean v) { this.verify = v; }
+
+    /** Kopie, z. B. um für eine Tabelle die Commit-Policy zu ändern, ohne die gemeinsamen Optionen anzufassen. */
+    public CopyOptions copy() {
+        try { return (CopyOptions) clone(); } catch (CloneNotSupportedException e) { throw new AssertionError(e); }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vorab berechneter Kopierplan einer Tabelle: Spalten, SELECT-/INSERT-SQL und
+ * pro Spalte ein typisierter Kopierer, damit die Zeilenschleife ohne
+ * Metadaten-Aufrufe und String-Vergleiche auskommt.
+ * Pläne werden pro (Quelle, Ziel, Tabelle) gecacht, SELECT-SQL zusätzlich pro WHERE.
+ */
+public class CopyPlan {
+
+    /** Überträgt einen Spaltenwert direkt oder über einen gepufferten Zwischenwert. */
+    public interface ColumnCopier {
+        void copy(ResultSet rs, PreparedStatement ps, int idx) throws SQLException;
+        Object read(ResultSet rs, int idx) throws SQLException;
+        void bind(PreparedStatement ps, int idx, Object v) throws SQLException;
+    }
+
+    /** Die Kopierer-Varianten, ausgewählt anhand Quell- und Zieltyp. */
+    public enum ColumnKind implements ColumnCopier {
+        CLOB {
+            public void copy(ResultSet rs, PreparedStatement ps, int idx) throws SQLException {
+                java.io.Reader r = rs.getCharacterStream(idx);
+                if (r == null) ps.setNull(idx, Types.CLOB); else ps.setCharacterStream(idx, r);
+            }
+            public Object read(ResultSet rs, int idx) throws SQLException { return rs.getString(idx); }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException {
+                if (v == null) ps.setNull(idx, Types.CLOB); else ps.setString(idx, (String) v);
+            }
+        },
+        BLOB {
+            public void copy(ResultSet rs, PreparedStatement ps, int idx) throws SQLException {
+                java.io.InputStream is = rs.getBinaryStream(idx);
+                if (is == null) ps.setNull(idx, Types.BLOB); else ps.setBinaryStream(idx, is);
+            }
+            public Object read(ResultSet rs, int idx) throws SQLException { return rs.getBytes(idx); }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException {
+                if (v == null) ps.setNull(idx, Types.BLOB); else ps.setBytes(idx, (byte[]) v);
+            }
+        },
+        DATE {
+            public Object read(ResultSet rs, int idx) throws SQLException { return rs.getDate(idx); }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException { ps.setDate(idx, (java.sql.Date) v); }
+        },
+        TIMESTAMP {
+            public Object read(ResultSet rs, int idx) throws SQLException { return rs.getTimestamp(idx); }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException { ps.setTimestamp(idx, (Timestamp) v); }
+        },
+        BINARY {
+            public Object read(ResultSet rs, int idx) throws SQLException { return rs.getBytes(idx); }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException {
+                if (v == null) ps.setNull(idx, Types.VARBINARY); else ps.setBytes(idx, (byte[]) v);
+            }
+        },
+        OBJECT {
+            public Object read(ResultSet rs, int idx) throws SQLException { return rs.getObject(idx); }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException {
+                if (v == null) ps.setNull(idx, Types.NULL); else ps.setObject(idx, v);
+            }
+        },
+        /** Oracle-Datum unverändert durchreichen (nur bei identischem Quell-/Zieltyp und Zeichensatz). */
+        RAW_DATUM {
+            public Object read(ResultSet rs, int idx) throws SQLException {
+                return rs.unwrap(oracle.jdbc.OracleResultSet.class).getOracleObject(idx);
+            }
+            public void bind(PreparedStatement ps, int idx, Object v) throws SQLException {
+                if (v == null) ps.setNull(idx, Types.NULL);
+                else ps.unwrap(oracle.jdbc.OraclePreparedStatement.class).setOracleObject(idx, (oracle.sql.Datum) v);
+            }
+        };
+
+        public void copy(ResultSet rs, PreparedStatement ps, int idx) throws SQLException {
+            bind(ps, idx, read(rs, idx));
+        }
+
+        static ColumnKind choose(String dstType, int srcJdbc) {
+            if (dstType.equals("CLOB") || dstType.equals("NCLOB")) return CLOB;
+            if (dstType.equals("BLOB")) return BLOB;
+            return switch (srcJdbc) {
+                case Types.DATE -> DATE;
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> TIMESTAMP;
+                case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> BINARY;
+                default -> OBJECT;
+            };
+        }
+
+        /** Typen, deren Oracle-Darstellung 1:1 gebunden werden kann. */
+        private static final Set<String> RAW_TYPES = Set.of("NUMBER", "FLOAT", "BINARY_FLOAT", "BINARY_DOUBLE",
+                "DATE", "TIMESTAMP", "RAW", "VARCHAR2", "CHAR", "NVARCHAR2", "NCHAR");
+        private static final Set<String> CHAR_TYPES = Set.of("VARCHAR2", "CHAR");
+        private static final Set<String> NCHAR_TYPES = Set.of("NVARCHAR2", "NCHAR");
+
+        static boolean rawEligible(String srcType, String dstType, boolean sameCharset, boolean sameNCharset) {
+            String s = baseType(srcType), d = baseType(dstType);
+            if (!s.equals(d) || !RAW_TYPES.contains(s)) return false;
+            if (CHAR_TYPES.contains(s)) return sameCharset;
+            if (NCHAR_TYPES.contains(s)) return sameNCharset;
+            return true;
+        }
+
+        /** "TIMESTAMP(6)" → "TIMESTAMP". */
+        static String baseType(String t) { return t == null ? "" : t.replaceAll("\\(.*?\\)", "").trim(); }
+    }
+
+    /** Grobe Größe eines gelesenen Werts auf der Leitung (für die Batch-/Fetch-Anpassung). */
+    public static long estimateBytes(Object v) {
+        if (v == null) return 1;
+        if (v instanceof String s) return s.length();
+        if (v instanceof byte[] b) return b.length;
+        if (v instanceof java.math.BigDecimal bd) return 2 + bd.precision() / 2;
+        if (v instanceof java.util.Date) return 11;
+        if (v instanceof oracle.sql.Datum d) return d.getLength();
+        return 8;
+    }
+
+    private static final Map<String, CopyPlan> CACHE = new ConcurrentHashMap<>();
+
+    public final String table;
+    public final List<String> columns;
+    public final String[] srcTypes;   // Oracle-Typname der Quelle (z. B. VARCHAR2, LONG)
+    public final String[] dstTypes;   // Oracle-Typname im Ziel, "" wenn unbekannt
+    public final ColumnKind[] copiers;
+    public final ColumnKind[] rawCopiers;   // wie copiers, aber RAW_DATUM wo Quell-/Zieltyp identisch
+    public final int[] selectJdbcTypes;     // JDBC-Typ der Select-Spalte (nach TO_LOB), java.sql.Types
+    public final String insertSql;
+    public final String insertDirectSql;   // mit APPEND_VALUES-Hint
+    private final String selectBase;
+    private final Map<String, String> selectByWhere = new ConcurrentHashMap<>();
+
+    private CopyPlan(String table, List<String> columns, String[] srcTypes, String[] dstTypes,
+                     ColumnKind[] copiers, ColumnKind[] rawCopiers, int[] selectJdbcTypes, String selectBase, String insertSql) {
+        this.table = table;
+        this.columns = List.copyOf(columns);
+        this.srcTypes = srcTypes;
+        this.dstTypes = dstTypes;
+        this.copiers = copiers;
+        this.rawCopiers = rawCopiers;
+        this.selectJdbcTypes = selectJdbcTypes;
+        this.selectBase = selectBase;
+        this.insertSql = insertSql;
+        this.insertDirectSql = insertSql.replaceFirst("^INSERT INTO ", "INSERT /*+ APPEND_VALUES */ INTO ");
+    }
+
+    public int columnCount() { return copiers.length; }
+
+    public String insertSql(boolean directPath) { return directPath ? insertDirectSql : insertSql; }
+
+    public ColumnKind[] copiers(boolean rawDatums) { return rawDatums ? rawCopiers : copiers; }
+
+    /** SELECT für die gegebene WHERE-Bedingung (gemerkt je Bedingung). */
+    public String selectSql(String whereClause) {
+        String w = whereClause == null ? "" : whereClause.trim();
+        return selectByWhere.computeIfAbsent(w, k -> k.isEmpty() ? selectBase : selectBase + " WHERE " + k);
+    }
+
+    /** Plan aus dem Cache oder neu aufgebaut (zwei Describe-Abfragen, Zieltypen aus dem MetadataCache). */
+    public static CopyPlan get(Connection src, String srcSchema, Connection dst, String dstSchema, String table) throws SQLException {
+        String key = key(src, srcSchema, dst, dstSchema, table);
+        CopyPlan plan = CACHE.get(key);
+        if (plan == null) {
+            plan = build(src, srcSchema, dst, dstSchema, table);
+            CACHE.put(key, plan);
+        }
+        return plan;
+    }
+
+    /** Verwirft alle Pläne dieser Tabelle (z. B. nach CREATE/ALTER im Ziel). */
+    public static void invalidate(String table) {
+        String suffix = "|" + (table == null ? "" : table.toUpperCase());
+        CACHE.keySet().removeIf(k -> k.endsWith(suffix));
+    }
+
+    public static void invalidateAll() { CACHE.clear(); }
+
+    private static String key(Connection src, String srcSchema, Connection dst, String dstSchema, String table) throws SQLException {
+        return src.getMetaData().getURL() + "|" + srcSchema.toUpperCase() + "|" +
+                dst.getMetaData().getURL() + "|" + dstSchema.toUpperCase() + "|" + table.toUpperCase();
+    }
+
+    private static CopyPlan build(Connection src, String srcSchema, Connection dst, String dstSchema, String table) throws SQLException {
+        String fqSrc = srcSchema + "." + table;
+        String fqDst = dstSchema + "." + table;
+
+        // 1) Spalten & Quelltypen bestimmen
+        List<String> cols = new ArrayList<>();
+        List<String> srcTypeNames = new ArrayList<>();
+        try (Statement st = src.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM " + fqSrc + " WHERE 1=0")) {
+            ResultSetMetaData md = rs.getMetaData();
+            for (int i = 1; i <= md.getColumnCount(); i++) {
+                cols.add(md.getColumnName(i));
+                srcTypeNames.add(md.getColumnTypeName(i).toUpperCase());  // Oracle-Name (z. B. LONG, CLOB, BLOB, VARCHAR2)
+            }
+        }
+
+        // 2) Zieltypen bestimmen (aus dem Metadaten-Cache des Zielschemas)
+        Map<String,String> dstTypeByCol = new HashMap<>();
+        for (MetadataCache.Column c : MetadataCache.table(dst, dstSchema, table).columns) {
+            dstTypeByCol.put(c.name.toUpperCase(), c.dataType.toUpperCase());
+        }
+
+        // 3) Select-Liste bauen – LONG als CLOB konvertieren (TO_LOB)
+        int n = cols.size();
+        String[] srcTypes = srcTypeNames.toArray(new String[0]);
+        String[] dstTypes = new String[n];
+        List<String> selExpr = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String c = cols.get(i);
+            dstTypes[i] = dstTypeByCol.getOrDefault(c.toUpperCase(), "");
+            if (srcTypes[i].equals("LONG") && (dstTypes[i].equals("CLOB") || dstTypes[i].equals("NCLOB"))) {
+                selExpr.add("TO_LOB(" + c + ") " + c);
+            } else {
+                // LONG RAW u. a.: ohne Umwandlung, wird als Stream/Bytes gelesen
+                selExpr.add(c);
+            }
+        }
+        String selectBase = "SELECT " + String.join(",", selExpr) + " FROM " + fqSrc;
+        String placeholders = String.join(",", Collections.nCopies(n, "?"));
+        String ins = "INSERT INTO " + fqDst + " (" + String.join(",", cols) + ") VALUES (" + placeholders + ")";
+
+        // 4) Kopierer anhand des tatsächlichen SELECT-Typs (nach TO_LOB evtl. CLOB) wählen
+        ColumnKind[] copiers = new ColumnKind[n];
+        int[] selTypes = new int[n];
+        try (Statement st = src.createStatement();
+             ResultSet rs = st.executeQuery(selectBase + " WHERE 1=0")) {
+            ResultSetMetaData md = rs.getMetaData();
+            for (int i = 0; i < n; i++) {
+                selTypes[i] = md.getColumnType(i + 1);
+                copiers[i] = ColumnKind.choose(dstTypes[i], selTypes[i]);
+            }
+        }
+
+        // 5) Rohdaten-Variante: nur Oracle↔Oracle und bei gleichem Zeichensatz für (N)CHAR-Typen
+        ColumnKind[] rawCopiers = copiers.clone();
+        if (src.isWrapperFor(oracle.jdbc.OracleConnection.class) && dst.isWrapperFor(oracle.jdbc.OracleConnection.class)) {
+            boolean sameCs = Objects.equals(nlsParameter(src, "NLS_CHARACTERSET"), nlsParameter(dst, "NLS_CHARACTERSET"));
+            boolean sameNcs = Objects.equals(nlsParameter(src, "NLS_NCHAR_CHARACTERSET"), nlsParameter(dst, "NLS_NCHAR_CHARACTERSET"));
+            for (int i = 0; i < n; i++) {
+                if (ColumnKind.rawEligible(srcTypes[i], dstTypes[i], sameCs, sameNcs)) rawCopiers[i] = ColumnKind.RAW_DATUM;
+            }
+        }
+
+        return new CopyPlan(table, cols, srcTypes, dstTypes, copiers, rawCopiers, selTypes, selectBase, ins);
+    }
+
+    private static String nlsParameter(Connection c, String name) {
+        try (PreparedStatement ps = c.prepareStatement("SELECT value FROM nls_database_parameters WHERE parameter = ?")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) { return rs.next() ? rs.getString(1) : null; }
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
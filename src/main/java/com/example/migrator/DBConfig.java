@@ -5,6 +5,7 @@ public class DBConfig {
     private String username = "user";
     private String password = "pass";
     private String schema = "USER";
+    private String dbLink = "";
 
     public String getJdbcUrl() { return url; }
     public String getUrl() { return url; }
@@ -20,4 +21,8 @@ public class DBConfig {
 
     public String getSchema() { return schema; }
     public void setSchema(String s) { this.schema = s; }
+
+    /** DB-Link vom Ziel zur Quelle (leer = kein Link, Kopie über den Client). */
+    public String getDbLink() { return dbLink; }
+    public void setDbLink(String l) { this.dbLink = l == null ? "" : l.trim(); }
 }
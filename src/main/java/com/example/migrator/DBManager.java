@@ -5,8 +5,9 @@ import java.util.*;
 
 public class DBManager {
 
+    /** Verbindung aus dem Pool des Profils; {@code close()} gibt sie zurück. */
     public static Connection open(DBConfig cfg) throws SQLException {
-        return DriverManager.getConnection(cfg.getJdbcUrl(), cfg.getUsername(), cfg.getPassword());
+        return ConnectionPool.of(cfg).borrow();
     }
 
     public static class StopSignal {
@@ -16,30 +17,19 @@ public class DBManager {
         public void reset() { stopped = false; }
     }
 
-    public interface ProgressListener { void onBatch(long totalTransferred, double rowsPerSec); }
+    public interface ProgressListener {
+        void onBatch(long totalTransferred, double rowsPerSec);
+        /** Zusatzinfos zum Lauf (z. B. Pipeline-Füllstand), optional. */
+        default void onInfo(String info) {}
+    }
     public interface DeleteListener { void onBatch(long deletedSoFar); }
 
     public static List<String> listTables(Connection conn, String schema) throws SQLException {
-        List<String> tables = new ArrayList<>();
-        String sql = "SELECT table_name FROM all_tables WHERE owner = ? ORDER BY table_name";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, schema.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) tables.add(rs.getString(1));
-            }
-        }
-        return tables;
+        return SqlDialect.of(conn).listTables(conn, schema);
     }
 
     public static boolean tableExists(Connection conn, String schema, String table) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM all_tables WHERE owner = ? AND table_name = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, schema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                rs.next(); return rs.getInt(1) > 0;
-            }
-        }
+        return SqlDialect.of(conn).tableExists(conn, schema, table);
     }
 
 
@@ -98,19 +88,42 @@ public class DBManager {
     public static long countRows(Connection conn, String schema, String table, String whereClause) throws SQLException {
         String fq = schema + "." + table;
         String sql = "SELECT COUNT(*) FROM " + fq + (whereClause != null && !whereClause.isBlank() ? " WHERE " + whereClause : "");
+        CopyMetrics.Batch mb = CopyMetrics.of("count", table).batch();
         try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
-            rs.next(); return rs.getLong(1);
+            rs.next();
+            long n = rs.getLong(1);
+            mb.lap(CopyMetrics.Phase.EXECUTE);
+            mb.rows((int) Math.min(Integer.MAX_VALUE, n));
+            mb.flush();
+            return n;
         }
     }
 
+    /**
+     * Optionen mit der Commit-Policy einer Tabelle: eigene Policy ({@code own}, sonst Vorgabe der Optionen),
+     * {@code single<=n} gegen die Zeilenzahl aufgelöst ({@code rows} negativ = unbekannt → hier gezählt).
+     * Gemeinsam für MigrationTask, ChunkedCopy und direkte Aufrufe von copyTable.
+     */
+    static CopyOptions resolveCommitPolicy(Connection src, String schema, String table, String whereClause,
+                                           CopyOptions opts, CommitPolicy own, long rows) throws SQLException {
+        CommitPolicy p = own != null ? own : opts.getCommitPolicy();
+        if (p.singleUpTo > 0 && rows < 0) rows = countRows(src, schema, table, whereClause);
+        p = p.resolve(rows);
+        if (p == opts.getCommitPolicy()) return opts;
+        CopyOptions o = opts.copy();
+        o.setCommitPolicy(p);
+        return o;
+    }
+
     private static void log(String s) { System.out.println("[copyTable] " + s); }
 
+    /** JDBC-URL der Verbindung (Schlüssel für lokale Checkpoints), {@code ""} wenn nicht ermittelbar. */
+    static String urlOf(Connection c) {
+        try { String u = c.getMetaData().getURL(); return u == null ? "" : u; } catch (SQLException e) { return ""; }
+    }
+
     private static String getConName(Connection c) {
-        try (var st = c.createStatement();
-             var rs = st.executeQuery("select sys_context('USERENV','CON_NAME') from dual")) {
-            rs.next();
-            return rs.getString(1);
-        } catch (SQLException e) { return "unknown"; }
+        try { return SqlDialect.of(c).containerName(c); } catch (SQLException e) { return "unknown"; }
     }
 
     private static boolean existsTableInPdb(Connection c, String owner, String table) {
@@ -129,6 +142,13 @@ public class DBManager {
 
     public static void copyTable(Connection src, String srcSchema, Connection dst, String dstSchema, String table,
                                  String whereClause, int commitBatch, ProgressListener listener, StopSignal stop) throws SQLException {
+        CopyOptions opts = new CopyOptions();
+        opts.setCommitBatch(commitBatch);
+        copyTable(src, srcSchema, dst, dstSchema, table, whereClause, opts, listener, stop);
+    }
+
+    public static void copyTable(Connection src, String srcSchema, Connection dst, String dstSchema, String table,
+                                 String whereClause, CopyOptions opts, ProgressListener listener, StopSignal stop) throws SQLException {
         String fqSrc = srcSchema + "." + table;
         String fqDst = dstSchema + "." + table;
 
@@ -138,142 +158,416 @@ public class DBManager {
         src.setAutoCommit(false);
         dst.setAutoCommit(false);
 
-        // 1) Spalten & Quelltypen bestimmen
-        List<String> cols = new ArrayList<>();
-        List<Integer> srcJdbcTypes = new ArrayList<>();
-        List<String> srcTypeNames  = new ArrayList<>();
-
-        try (Statement st = src.createStatement();
-             ResultSet rs = st.executeQuery("SELECT * FROM " + fqSrc + " WHERE 1=0")) {
-            ResultSetMetaData md = rs.getMetaData();
-            for (int i = 1; i <= md.getColumnCount(); i++) {
-                cols.add(md.getColumnName(i));
-                srcJdbcTypes.add(md.getColumnType(i));      // java.sql.Types
-                srcTypeNames.add(md.getColumnTypeName(i));  // Oracle-Name (z. B. LONG, CLOB, BLOB, VARCHAR2)
+        // Spalten, Typen, SQL und Kopierer einmal pro Tabelle (gecacht)
+        CopyPlan plan = CopyPlan.get(src, srcSchema, dst, dstSchema, table);
+        String sel = plan.selectSql(whereClause);
+        final boolean direct = opts.isDirectPath();
+        String ins = plan.insertSql(direct);
+
+        log("Select-SQL: " + sel);
+        log("Insert-SQL: " + ins);
+
+        // Direct Path committet zwangsläufig je Batch; sonst "single<=n" auflösen, falls der Aufrufer es nicht tat
+        CommitPolicy policy = direct ? opts.getCommitPolicy()
+                : resolveCommitPolicy(src, srcSchema, table, whereClause, opts, null, -1).getCommitPolicy();
+        if (direct && !policy.isBatch()) { log("Direct Path: Commit nach jedem Batch, Commit-Policy " + policy + " ignoriert"); policy = CommitPolicy.BATCH; }
+        else if (!policy.isBatch()) log("Commit-Policy: " + policy);
+
+        // Direct Path: nach jedem APPEND_VALUES-Insert muss committet werden (sonst ORA-12838),
+        // jeder Commit beginnt oberhalb der HWM neu → große Batches, ggf. NOLOGGING
+        boolean restoreLogging = false;
+        if (direct && opts.isNoLogging()) restoreLogging = setNoLogging(dst, dstSchema, table);
+        try {
+            List<String> pk = opts.isResumable() ? getPrimaryKeyColumns(src, srcSchema, table) : List.of();
+            if (opts.isResumable() && pk.isEmpty()) log("Kein PK auf " + fqSrc + " – fortsetzbare Kopie nicht möglich, kopiere normal");
+            if (!pk.isEmpty()) {
+                copyKeyset(src, srcSchema, dst, dstSchema, table, whereClause, pk, plan, ins, opts, policy, listener, stop);
+            } else {
+                copyRows(src, dst, table, plan, sel, ins, opts, policy, listener, stop);
             }
+        } finally {
+            if (restoreLogging) restoreLogging(dst, fqDst);
         }
+    }
 
-        // 2) Zieltypen bestimmen (anhand Ziel-Connection)
-        //    Hinweis: wir verwenden ALL_TAB_COLUMNS, weil es konsistent zu deinem restlichen Code passt
-        Map<String,String> dstTypeByCol = new HashMap<>();
-        String typeSql = "SELECT column_name, data_type FROM all_tab_columns WHERE owner=? AND table_name=?";
-        try (PreparedStatement ps = dst.prepareStatement(typeSql)) {
+    /** Setzt die Zieltabelle nach einem NOLOGGING-Load wieder auf LOGGING. */
+    static void restoreLogging(Connection dst, String fqDst) {
+        // DDL committet implizit – offene Reste eines abgebrochenen Batches vorher verwerfen
+        try { dst.rollback(); } catch (SQLException ignored) {}
+        try (Statement st = dst.createStatement()) {
+            st.executeUpdate("ALTER TABLE " + fqDst + " LOGGING");
+            log("LOGGING wiederhergestellt: " + fqDst + " (Backup nach NOLOGGING-Load empfohlen)");
+        } catch (SQLException ex) {
+            log("LOGGING konnte nicht wiederhergestellt werden: " + fqDst + ": " + ex.getMessage());
+        }
+    }
+
+    /** Mindest-Batchgröße im Direct-Path-Modus (jeder Commit verbraucht neue Blöcke über der HWM). */
+    static final int DIRECT_PATH_MIN_BATCH = 10_000;
+
+    /** Schaltet die Zieltabelle auf NOLOGGING, falls sie LOGGING war; true = später zurücksetzen. */
+    static boolean setNoLogging(Connection dst, String dstSchema, String table) throws SQLException {
+        if (!SqlDialect.of(dst).supportsNoLogging()) { log("NOLOGGING im Ziel nicht unterstützt – ignoriert"); return false; }
+        String sql = "SELECT logging FROM all_tables WHERE owner=? AND table_name=?";
+        try (PreparedStatement ps = dst.prepareStatement(sql)) {
             ps.setString(1, dstSchema.toUpperCase());
             ps.setString(2, table.toUpperCase());
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    dstTypeByCol.put(rs.getString(1).toUpperCase(), rs.getString(2).toUpperCase());
-                }
+                if (!rs.next() || "NO".equalsIgnoreCase(rs.getString(1))) return false;
             }
         }
-
-        // 3) Select-Liste bauen – LONG/LONG RAW als LOB konvertieren (TO_LOB)
-        List<String> selExpr = new ArrayList<>();
-        for (int i = 0; i < cols.size(); i++) {
-            String c = cols.get(i);
-            String srcType = srcTypeNames.get(i).toUpperCase();
-            String dstType = dstTypeByCol.getOrDefault(c.toUpperCase(), "");
-            if (srcType.contains("LONG")) {
-                // LONG → TO_LOB(...) als CLOB / LONG RAW → nicht möglich per TO_LOB, meist als RAW lesen + BLOB schreiben
-                if (srcType.equals("LONG") && (dstType.equals("CLOB") || dstType.equals("NCLOB"))) {
-                    selExpr.add("TO_LOB(" + c + ") " + c);
-                } else {
-                    // Fallback: ohne Umwandlung, wir lesen später als Stream
-                    selExpr.add(c);
-                }
-            } else {
-                selExpr.add(c);
-            }
+        try (Statement st = dst.createStatement()) {
+            st.executeUpdate("ALTER TABLE " + dstSchema + "." + table + " NOLOGGING");
         }
+        log("NOLOGGING gesetzt: " + dstSchema + "." + table);
+        return true;
+    }
 
-        String whereSql = (whereClause != null && !whereClause.isBlank()) ? " WHERE " + whereClause : "";
-        String sel = "SELECT " + String.join(",", selExpr) + " FROM " + fqSrc + whereSql;
-        String placeholders = String.join(",", java.util.Collections.nCopies(cols.size(), "?"));
-        String ins = "INSERT INTO " + fqDst + " (" + String.join(",", cols) + ") VALUES (" + placeholders + ")";
-
-        log("Select-SQL: " + sel);
-        log("Insert-SQL: " + ins);
+    private static void copyRows(Connection src, Connection dst, String table, CopyPlan plan, String sel, String ins,
+                                 CopyOptions opts, CommitPolicy policy, ProgressListener listener, StopSignal stop) throws SQLException {
+        final boolean direct = opts.isDirectPath();
+        final int commitBatch = direct ? Math.max(DIRECT_PATH_MIN_BATCH, opts.getCommitBatch()) : opts.getCommitBatch();
 
         long transferred = 0;
         long started = System.nanoTime();
 
+        // Adaptiv: Fetch-/Batch-Größe aus gemessener Zeilenbreite und Durchsatz
+        final AdaptiveTuner tuner = opts.isAdaptive() ? new AdaptiveTuner(opts) : null;
+
+        final CopyPlan.ColumnKind[] copiers = plan.copiers(opts.isRawDatums());
+        final CopyMetrics metrics = CopyMetrics.of("copy", table);
+
+        // die Pipeline materialisiert LOBs im Puffer → Lane (eigenes Statement, Prefetch-Puffer) nur ohne Pipeline
+        final boolean pipelined = opts.isPipelined();
+        if (pipelined && opts.isLobLane() && LobLane.hasLobs(copiers)) log("Pipeline-Modus: LOB-Lane nicht verwendet, LOBs werden im Puffer materialisiert");
+
         try (PreparedStatement pin = dst.prepareStatement(ins);
+             LobLane lane = pipelined ? null : openLobLane(dst, plan, copiers, opts);
              Statement sst = src.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
-            sst.setFetchSize(1000);
+            sst.setFetchSize(tuner != null ? tuner.fetchSize() : 1000);
+            if (LobLane.hasLobs(copiers)) LobLane.setPrefetch(sst, opts.getLobPrefetchBytes());
 
             try (ResultSet rs = sst.executeQuery(sel)) {
+                if (pipelined) {
+                    copyPipelined(rs, plan, pin, dst, opts, policy, tuner, listener, stop);
+                    return;
+                }
+
                 int batch = 0;
-                ResultSetMetaData md = rs.getMetaData();
+                int batchLimit = tuner != null ? batchSize(tuner, direct) : commitBatch;
+                long lastFlush = System.nanoTime();
+                CopyMetrics.Batch mb = metrics.batch();
+                CommitPolicy.Tx tx = policy.begin();
 
                 while (rs.next()) {
+                    mb.lap(CopyMetrics.Phase.FETCH);
                     if (stop != null && stop.isStopped()) { dst.rollback(); throw new SQLException("stopped"); }
 
-                    for (int i = 0; i < cols.size(); i++) {
-                        String col = cols.get(i);
-                        String dstType = dstTypeByCol.getOrDefault(col.toUpperCase(), "");
-                        int srcJdbc = md.getColumnType(i + 1);          // tatsächlicher Typ dieses SELECTs (nach TO_LOB evtl. CLOB)
-                        String srcTypeName = md.getColumnTypeName(i+1).toUpperCase();
-
-                        // LOB-Handling
-                        if (dstType.equals("CLOB") || dstType.equals("NCLOB")) {
-                            // Character LOB
-                            java.io.Reader r = rs.getCharacterStream(i + 1);
-                            if (r == null) {
-                                pin.setNull(i + 1, java.sql.Types.CLOB);
-                            } else {
-                                // Länge ist bei Streams optional (JDBC 4.0), Oracle-Treiber kann ohne Length umgehen
-                                pin.setCharacterStream(i + 1, r);
-                            }
-                        } else if (dstType.equals("BLOB")) {
-                            // Binary LOB
-                            java.io.InputStream is = rs.getBinaryStream(i + 1);
-                            if (is == null) {
-                                pin.setNull(i + 1, java.sql.Types.BLOB);
-                            } else {
-                                pin.setBinaryStream(i + 1, is);
-                            }
-                        } else {
-                            // Standardtypen
-                            // Tipp: DATE/TIMESTAMP explizit mappen, um Überraschungen zu vermeiden
-                            switch (srcJdbc) {
-                                case Types.DATE -> pin.setDate(i + 1, rs.getDate(i + 1));
-                                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> pin.setTimestamp(i + 1, rs.getTimestamp(i + 1));
-                                case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> {
-                                    byte[] b = rs.getBytes(i + 1);
-                                    if (b == null) pin.setNull(i + 1, Types.VARBINARY);
-                                    else pin.setBytes(i + 1, b);
-                                }
-                                default -> {
-                                    Object v = rs.getObject(i + 1);
-                                    if (v == null) pin.setNull(i + 1, Types.NULL);
-                                    else pin.setObject(i + 1, v);
-                                }
-                            }
-                        }
-                    }
-
-                    pin.addBatch();
+                    copyRow(rs, pin, copiers, lane, tuner, mb);
                     batch++; transferred++;
+                    mb.lap(CopyMetrics.Phase.BIND);
 
                     if (transferred % 10000 == 0) {
                         log("Zwischenstand: " + transferred + " Zeilen kopiert...");
                     }
 
-                    if (batch >= commitBatch) {
+                    if (batch >= batchLimit || tx.flushDue(batch, mb.pendingBytes())) {
                         pin.executeBatch();
-                        dst.commit();
-                        batch = 0;
+                        mb.lap(CopyMetrics.Phase.EXECUTE);
+                        if (tx.executed(batch, mb.pendingBytes())) {
+                            dst.commit();
+                            tx.committed();
+                            mb.lap(CopyMetrics.Phase.COMMIT);
+                        }
+                        mb.flush();
 
                         double sec = (System.nanoTime() - started) / 1_000_000_000.0;
                         double rate = Math.round(sec > 0 ? transferred / sec : 0);
                         if (listener != null) listener.onBatch(transferred, rate);
+
+                        if (tuner != null) {
+                            long now = System.nanoTime();
+                            tuner.onFlush(batch, now - lastFlush);
+                            lastFlush = now;
+                            batchLimit = batchSize(tuner, direct);
+                            if (tuner.fetchSize() != rs.getFetchSize()) rs.setFetchSize(tuner.fetchSize());
+                            if (listener != null) listener.onInfo(tuner.describe());
+                        }
+                        batch = 0;
+                        mb.skip();
                     }
                 }
+                mb.lap(CopyMetrics.Phase.FETCH);
                 if (batch > 0) {
                     pin.executeBatch();
+                    mb.lap(CopyMetrics.Phase.EXECUTE);
+                }
+                if (batch > 0 || tx.pendingRows() > 0) {   // eine Transaktion / offene Grenzen: Schluss-Commit
+                    dst.commit();
+                    mb.lap(CopyMetrics.Phase.COMMIT);
+                    mb.flush();
+
+                    double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+                    double rate = Math.round(sec > 0 ? transferred / sec : 0);
+                    if (listener != null) listener.onBatch(transferred, rate);
+                }
+                if (tuner != null) log("Adaptiv " + table + ": " + tuner.describe());
+                log(metrics.toString());
+                if (lane != null) {
+                    log("LOB " + table + ": " + lane.stats());
+                    if (listener != null) listener.onInfo(lane.stats());
+                }
+            }
+        }
+    }
+
+    /** LOB-Lane nur bei LOB-Spalten und aktivierter Option; nicht mit Direct Path (ORA-12838 bei gemischten Inserts). */
+    private static LobLane openLobLane(Connection dst, CopyPlan plan, CopyPlan.ColumnKind[] copiers, CopyOptions opts) throws SQLException {
+        if (!opts.isLobLane() || !LobLane.hasLobs(copiers)) return null;
+        if (opts.isDirectPath()) { log("LOB-Lane im Direct-Path-Modus nicht möglich – LOBs werden gestreamt gebatcht"); return null; }
+        return new LobLane(dst, plan, copiers, opts.getLobInlineThreshold());
+    }
+
+    /**
+     * Kopiert die aktuelle Zeile in den Batch; Zeilen mit großen LOBs schreibt die LOB-Lane sofort.
+     * Mit Tuner werden Stichproben über read/bind statt copy genommen, um die Zeilenbreite zu messen.
+     */
+    private static void copyRow(ResultSet rs, PreparedStatement pin, CopyPlan.ColumnCopier[] copiers,
+                                LobLane lane, AdaptiveTuner tuner, CopyMetrics.Batch mb) throws SQLException {
+        final int n = copiers.length;
+        boolean large = lane != null && lane.load(rs);
+        PreparedStatement ps = large ? lane.statement() : pin;
+        boolean tunerSample = !large && tuner != null && tuner.wantSample();
+        boolean metricsSample = !large && mb != null && mb.wantSample();
+        boolean sample = tunerSample || metricsSample;
+        long bytes = 0;
+        for (int i = 0; i < n; i++) {
+            if (lane != null && lane.isLob(i)) {
+                bytes += lane.bind(ps, i, large);
+            } else if (sample) {
+                Object v = copiers[i].read(rs, i + 1);
+                bytes += CopyPlan.estimateBytes(v);
+                copiers[i].bind(ps, i + 1, v);
+            } else {
+                copiers[i].copy(rs, ps, i + 1);
+            }
+        }
+        if (tunerSample) tuner.sample(bytes);
+        if (metricsSample) mb.sample(bytes);
+        if (large) {
+            lane.execute();
+            if (mb != null) mb.bytes(bytes);
+        } else {
+            pin.addBatch();
+            if (mb != null) mb.row();
+            if (lane != null) lane.countInline();
+        }
+    }
+
+    /**
+     * Fortsetzbare Variante: liest seitenweise per Keyset (ORDER BY PK … FETCH FIRST n ROWS ONLY),
+     * committet je Seite und merkt sich den letzten PK im CheckpointStore. Kurze Abfragen pro Seite
+     * vermeiden zudem ORA-01555 bei stundenlangen Scans.
+     */
+    private static void copyKeyset(Connection src, String srcSchema, Connection dst, String dstSchema, String table,
+                                   String whereClause, List<String> pk, CopyPlan plan, String ins,
+                                   CopyOptions opts, CommitPolicy policy, ProgressListener listener, StopSignal stop) throws SQLException {
+        final int pageSize = opts.isDirectPath() ? Math.max(DIRECT_PATH_MIN_BATCH, opts.getCommitBatch()) : opts.getCommitBatch();
+        final CopyPlan.ColumnKind[] copiers = plan.copiers(opts.isRawDatums());
+        final int n = copiers.length;
+        final int k = pk.size();
+
+        int[] pkIdx = new int[k];
+        for (int j = 0; j < k; j++) {
+            pkIdx[j] = -1;
+            for (int i = 0; i < n; i++) if (plan.columns.get(i).equalsIgnoreCase(pk.get(j))) pkIdx[j] = i + 1;
+            if (pkIdx[j] < 0) throw new SQLException("PK-Spalte " + pk.get(j) + " nicht in " + table);
+        }
+        // PK-Werte typgerecht lesen: sie werden gebunden und als Checkpoint-Literal gespeichert
+        String[] pkTypes = new String[k];
+        for (int j = 0; j < k; j++) pkTypes[j] = plan.srcTypes[pkIdx[j] - 1];
+        // Reihenfolge der Bindvariablen in (c1 > ?) OR (c1 = ? AND c2 > ?) …
+        List<Integer> bindOrder = new ArrayList<>();
+        for (int i = 0; i < k; i++) { for (int j = 0; j < i; j++) bindOrder.add(j); bindOrder.add(i); }
+
+        CheckpointStore.Checkpoint cp = CheckpointStore.load(urlOf(src), srcSchema, urlOf(dst), dstSchema, table, whereClause, pk);
+        long transferred = cp != null ? cp.rows : 0;
+        if (cp != null) log("Setze " + table + " fort nach " + transferred + " Zeilen, PK > " + cp.lastLiterals);
+
+        String order = " ORDER BY " + String.join(",", pk) + " FETCH FIRST ? ROWS ONLY";
+        String firstSql = plan.selectSql(cp == null ? whereClause
+                : KeyRanges.and(whereClause, KeyRanges.tupleCompare(pk, cp.lastLiterals, ">"))) + order;
+        String nextSql = plan.selectSql(KeyRanges.and(whereClause,
+                KeyRanges.tupleCompare(pk, Collections.nCopies(k, "?"), ">"))) + order;
+        log("Keyset-SQL: " + nextSql);
+        if (opts.isPipelined() || opts.isAdaptive()) log("Keyset-Modus: Pipeline/Adaptiv werden ignoriert (Seitengröße = Batch)");
+        // Commit je Seite (Checkpoint): Zeilen-/Byte-Grenzen verkleinern die Seite, eine Transaktion geht nicht
+        if (policy.single || policy.millis > 0) log("Keyset-Modus: Commit je Seite, " + (policy.single ? "eine Transaktion" : "Zeitgrenze") + " ignoriert");
+        final int maxPage = policy.rows > 0 ? Math.min(pageSize, policy.rows) : pageSize;
+
+        long started = System.nanoTime();
+        Object[] last = null;
+        Object[] pkVals = new Object[k];
+        final CopyMetrics metrics = CopyMetrics.of("copy", table);
+        final CopyMetrics.Batch mb = metrics.batch();
+
+        try (PreparedStatement pin = dst.prepareStatement(ins);
+             LobLane lane = openLobLane(dst, plan, copiers, opts);
+             PreparedStatement first = src.prepareStatement(firstSql);
+             PreparedStatement next = src.prepareStatement(nextSql)) {
+            if (LobLane.hasLobs(copiers)) {
+                LobLane.setPrefetch(first, opts.getLobPrefetchBytes());
+                LobLane.setPrefetch(next, opts.getLobPrefetchBytes());
+            }
+            while (true) {
+                int limit = maxPage;
+                if (policy.bytes > 0 && mb.avgRowBytes() > 0)
+                    limit = (int) Math.max(1, Math.min(maxPage, policy.bytes / mb.avgRowBytes()));
+                PreparedStatement page;
+                if (last == null) {
+                    page = first;
+                    page.setInt(1, limit);
+                } else {
+                    page = next;
+                    for (int b = 0; b < bindOrder.size(); b++) page.setObject(b + 1, last[bindOrder.get(b)]);
+                    page.setInt(bindOrder.size() + 1, limit);
+                }
+                page.setFetchSize(Math.min(limit, 1000));
+
+                int rows = 0;
+                mb.skip();
+                try (ResultSet rs = page.executeQuery()) {
+                    while (rs.next()) {
+                        mb.lap(CopyMetrics.Phase.FETCH);
+                        if (stop != null && stop.isStopped()) {
+                            dst.rollback();
+                            throw new SQLException("stopped (fortsetzbar ab " + transferred + " Zeilen)");
+                        }
+                        copyRow(rs, pin, copiers, lane, null, mb);
+                        for (int j = 0; j < k; j++) pkVals[j] = readKey(rs, pkIdx[j], pkTypes[j]);
+                        rows++;
+                        mb.lap(CopyMetrics.Phase.BIND);
+                    }
+                }
+                mb.lap(CopyMetrics.Phase.FETCH);
+                if (rows == 0) break;
+
+                pin.executeBatch();
+                mb.lap(CopyMetrics.Phase.EXECUTE);
+                dst.commit();
+                mb.lap(CopyMetrics.Phase.COMMIT);
+                mb.flush();
+                transferred += rows;
+                last = pkVals.clone();
+
+                // Hochwassermarke erst nach dem Commit festhalten
+                List<String> lits = new ArrayList<>(k);
+                for (int j = 0; j < k; j++) lits.add(toSqlLiteral(last[j], pkTypes[j]));
+                try {
+                    CheckpointStore.save(urlOf(src), srcSchema, urlOf(dst), dstSchema, table, whereClause,
+                            new CheckpointStore.Checkpoint(pk, lits, transferred));
+                } catch (java.io.IOException ex) {
+                    log("Checkpoint konnte nicht geschrieben werden: " + ex.getMessage());
+                }
+
+                double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+                double rate = Math.round(sec > 0 ? transferred / sec : 0);
+                if (listener != null) listener.onBatch(transferred, rate);
+
+                if (rows < limit) break;
+            }
+            if (lane != null) log("LOB " + table + ": " + lane.stats());
+        }
+        CheckpointStore.clear(urlOf(src), srcSchema, urlOf(dst), dstSchema, table, whereClause);
+        log("Keyset-Kopie " + table + " fertig: " + transferred + " Zeilen");
+        log(metrics.toString());
+    }
+
+    private static int batchSize(AdaptiveTuner tuner, boolean direct) {
+        return direct ? Math.max(DIRECT_PATH_MIN_BATCH, tuner.batchSize()) : tuner.batchSize();
+    }
+
+    /** Pipeline-Variante: Leser-Thread holt Batches aus der Quelle, dieser Thread schreibt ins Ziel. */
+    private static void copyPipelined(ResultSet rs, CopyPlan plan, PreparedStatement pin, Connection dst, CopyOptions opts,
+                                      CommitPolicy policy, AdaptiveTuner tuner, ProgressListener listener, StopSignal stop) throws SQLException {
+        final CopyPlan.ColumnCopier[] copiers = plan.copiers(opts.isRawDatums());
+        final int n = copiers.length;
+
+        long transferred = 0;
+        long nextLog = 10000;
+        long started = System.nanoTime();
+        long lastFlush = started;
+
+        try (RowPipeline pipe = new RowPipeline(opts.getPipelineDepth())) {
+            final boolean direct = opts.isDirectPath();
+            final int fixedBatch = direct ? Math.max(DIRECT_PATH_MIN_BATCH, opts.getCommitBatch()) : opts.getCommitBatch();
+            pipe.start(rs,
+                    tuner != null ? () -> batchSize(tuner, direct) : () -> fixedBatch,
+                    tuner != null ? tuner::fetchSize : null,
+                    r -> {
+                        Object[] row = new Object[n];
+                        for (int i = 0; i < n; i++) row[i] = copiers[i].read(r, i + 1);
+                        if (tuner != null && tuner.wantSample()) {
+                            long bytes = 0;
+                            for (Object v : row) bytes += CopyPlan.estimateBytes(v);
+                            tuner.sample(bytes);
+                        }
+                        return row;
+                    }, stop, plan.table);
+
+            // FETCH = Warten auf den Leser, die eigentliche Lesezeit liegt im Leser-Thread
+            final CopyMetrics metrics = CopyMetrics.of("copy", plan.table);
+            final CopyMetrics.Batch mb = metrics.batch();
+            final CommitPolicy.Tx tx = policy.begin();
+            List<Object[]> batch;
+            while ((batch = pipe.take()) != null) {
+                mb.lap(CopyMetrics.Phase.FETCH);
+                if (stop != null && stop.isStopped()) { dst.rollback(); throw new SQLException("stopped"); }
+                for (Object[] row : batch) {
+                    boolean sample = mb.wantSample();
+                    long bytes = 0;
+                    for (int i = 0; i < n; i++) {
+                        copiers[i].bind(pin, i + 1, row[i]);
+                        if (sample) bytes += CopyPlan.estimateBytes(row[i]);
+                    }
+                    if (sample) mb.sample(bytes);
+                    pin.addBatch();
+                }
+                mb.rows(batch.size());
+                mb.lap(CopyMetrics.Phase.BIND);
+                pin.executeBatch();
+                mb.lap(CopyMetrics.Phase.EXECUTE);
+                // Grenzen je Batch geprüft (Batches kommen fertig aus dem Leser-Thread)
+                if (tx.executed(batch.size(), mb.pendingBytes())) {
                     dst.commit();
+                    tx.committed();
+                    mb.lap(CopyMetrics.Phase.COMMIT);
+                }
+                mb.flush();
+                transferred += batch.size();
+
+                if (transferred >= nextLog) {
+                    log("Zwischenstand: " + transferred + " Zeilen kopiert... " + pipe.stats());
+                    nextLog += 10000;
                 }
+                if (tuner != null) {
+                    long now = System.nanoTime();
+                    tuner.onFlush(batch.size(), now - lastFlush);
+                    lastFlush = now;
+                }
+                double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+                double rate = Math.round(sec > 0 ? transferred / sec : 0);
+                if (listener != null) {
+                    listener.onBatch(transferred, rate);
+                    listener.onInfo(tuner != null ? pipe.stats() + " · " + tuner.describe() : pipe.stats());
+                }
+                mb.skip();
             }
+            if (stop != null && stop.isStopped()) { dst.rollback(); throw new SQLException("stopped"); }
+            if (tx.pendingRows() > 0) dst.commit();
+            log("Pipeline " + plan.table + " fertig: " + transferred + " Zeilen, " + pipe.stats()
+                    + (tuner != null ? " · " + tuner.describe() : ""));
+            log(metrics.toString());
         }
     }
 
@@ -356,18 +650,22 @@ public class DBManager {
    // public static int deleteRowsInBatches(Connection conn, String schema, String table, String whereClause, int batchSize, DeleteListener listener) throws SQLException {
    public static int deleteRowsInBatches(Connection conn, String schema, String table, String whereClause, int batchSize, DeleteListener listener, StopSignal stop) throws SQLException {
         final String base = schema + "." + table;
-        final String sql = (whereClause != null && !whereClause.isBlank())
-                ? "DELETE FROM " + base + " WHERE (" + whereClause + ") AND ROWNUM <= ?"
-                : "DELETE FROM " + base + " WHERE ROWNUM <= ?";
+        final String sql = SqlDialect.of(conn).deleteBatchSql(base, whereClause);
 
         int total = 0;
         conn.setAutoCommit(false);
+        CopyMetrics.Batch mb = CopyMetrics.of("delete", table).batch();
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             while (true) {
                 if (stop != null && stop.isStopped()) { conn.rollback(); throw new SQLException("stopped"); }
                 ps.setInt(1, batchSize);
+                mb.skip();
                 int aff = ps.executeUpdate();
+                mb.lap(CopyMetrics.Phase.EXECUTE);
                 conn.commit();
+                mb.lap(CopyMetrics.Phase.COMMIT);
+                mb.rows(aff);
+                mb.flush();
                 total += aff;
                 if (listener != null) listener.onBatch(total);
                 if (aff < batchSize) break;
@@ -377,58 +675,49 @@ public class DBManager {
     }
 
     // --- DDL generation: table + PK + indexes + FKs
-    public static void createTableLikeSource(Connection src, String srcSchema, Connection dst, String dstSchema, String table) throws SQLException {
-        if (tableExists(dst, dstSchema, table)) return;
+    /**
+     * Legt die Tabelle wie in der Quelle an, danach PK, Indizes und FKs. Nur ein fehlgeschlagenes CREATE TABLE
+     * wirft; fehlgeschlagene Folge-DDL (z. B. FK auf eine noch fehlende Elterntabelle) kommt als Liste
+     * "DDL: Fehler" zurück, die Tabelle ist dann trotzdem nutzbar. Leer = alles angelegt oder schon vorhanden.
+     */
+    public static List<String> createTableLikeSource(Connection src, String srcSchema, Connection dst, String dstSchema, String table) throws SQLException {
+        if (tableExists(dst, dstSchema, table)) return List.of();
+        CopyPlan.invalidate(table);
         String ddl = buildCreateTableDDL(src, srcSchema, dstSchema, table);
         try (Statement st = dst.createStatement()) {
             st.executeUpdate(ddl);
-            //    dst.commit();
         }
-        // Add PK
+        MetadataCache.invalidate(dst, dstSchema, table);
+        List<String> ddls = new ArrayList<>();
         String pkDdl = buildAddPkDDL(src, srcSchema, dstSchema, table);
-        if (pkDdl != null) {
-            log("Executing DDL: " + pkDdl);
-            try (Statement st = dst.createStatement()) { st.executeUpdate(pkDdl); dst.commit(); } catch (SQLException ex) { /* ignore */ }
-        }
-        // Indexes
-        for (String idxDdl : buildCreateIndexesDDL(src, srcSchema, dstSchema, table)) {
-            log("Executing DDL: " + idxDdl);
-            try (Statement st = dst.createStatement()) { st.executeUpdate(idxDdl); dst.commit(); } catch (SQLException ex) { /* ignore */ }
-        }
-        // FKs
-        for (String fkDdl : buildAddFksDDL(src, srcSchema, dstSchema, table)) {
-            log("Executing DDL: " + fkDdl);
-            try (Statement st = dst.createStatement()) { st.executeUpdate(fkDdl); dst.commit(); } catch (SQLException ex) { /* ignore */ }
-        }
+        if (pkDdl != null) ddls.add(pkDdl);
+        ddls.addAll(buildCreateIndexesDDL(src, srcSchema, dstSchema, table));
+        ddls.addAll(buildAddFksDDL(src, srcSchema, dstSchema, table));
+        List<String> failed = new ArrayList<>();
+        for (String d : ddls) {
+            SchemaBuilder.exec(dst, table, d, (t, x, ms, error) -> { if (error != null) failed.add(x + ": " + error); });
+        }
+        MetadataCache.invalidate(dst, dstSchema, table);
+        if (!failed.isEmpty()) log("Tabelle " + table + " angelegt, " + failed.size() + " DDL fehlgeschlagen: " + String.join(" | ", failed));
+        return failed;
     }
 
-    private static String buildCreateTableDDL(Connection src, String srcSchema, String dstSchema, String table) throws SQLException {
-        String sql = "SELECT column_name, data_type, data_length, char_used, data_precision, data_scale, nullable, data_default " +
-                "FROM all_tab_columns WHERE owner = ? AND table_name = ? ORDER BY column_id";
+    /** Status nach {@link #createTableLikeSource}: "target created" bzw. mit Anzahl fehlgeschlagener DDL. */
+    public static String createdStatus(List<String> failedDdl) {
+        return failedDdl.isEmpty() ? "target created" : "target created, " + failedDdl.size() + " DDL failed: " + failedDdl.get(0);
+    }
+
+    static String buildCreateTableDDL(Connection src, String srcSchema, String dstSchema, String table) throws SQLException {
         StringBuilder sb = new StringBuilder();
         sb.append("CREATE TABLE ").append(dstSchema).append(".").append(table).append(" (");
-        try (PreparedStatement ps = src.prepareStatement(sql)) {
-            ps.setString(1, srcSchema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                boolean first = true;
-                while (rs.next()) {
-                    if (!first) sb.append(", ");
-                    first = false;
-                    String col = rs.getString(1);
-                    String dt  = rs.getString(2);
-                    int len    = rs.getInt(3);
-                    String charUsed = rs.getString(4);
-                    int prec   = rs.getInt(5); boolean precNull = rs.wasNull();
-                    int scale  = rs.getInt(6); boolean scaleNull = rs.wasNull();
-                    String nullable = rs.getString(7);
-                    String def = rs.getString(8);
-
-                    sb.append(col).append(" ").append(mapType(dt, len, charUsed, precNull?null:prec, scaleNull?null:scale));
-                    if (def != null && !def.isBlank()) sb.append(" DEFAULT ").append(def.trim());
-                    if ("N".equalsIgnoreCase(nullable)) sb.append(" NOT NULL");
-                }
-            }
+        boolean first = true;
+        for (MetadataCache.Column c : MetadataCache.table(src, srcSchema, table).columns) {
+            if (!first) sb.append(", ");
+            first = false;
+            sb.append(c.name).append(" ").append(mapType(c.dataType, c.length, c.charUsed, c.precision, c.scale));
+            String def = c.getDataDefault();
+            if (def != null && !def.isBlank()) sb.append(" DEFAULT ").append(def.trim());
+            if ("N".equalsIgnoreCase(c.nullable)) sb.append(" NOT NULL");
         }
         sb.append(")");
         return sb.toString();
@@ -456,128 +745,45 @@ public class DBManager {
     }
 
     private static String buildAddPkDDL(Connection src, String srcSchema, String dstSchema, String table) throws SQLException {
-        String sql = "SELECT ac.constraint_name FROM all_constraints ac WHERE ac.owner=? AND ac.table_name=? AND ac.constraint_type='P'";
-        String pkName = null;
-        try (PreparedStatement ps = src.prepareStatement(sql)) {
-            ps.setString(1, srcSchema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) pkName = rs.getString(1);
-            }
-        }
-        if (pkName == null) return null;
-        String colsSql = "SELECT column_name FROM all_cons_columns WHERE owner=? AND table_name=? AND constraint_name=? ORDER BY position";
-        List<String> cols = new ArrayList<>();
-        try (PreparedStatement ps = src.prepareStatement(colsSql)) {
-            ps.setString(1, srcSchema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            ps.setString(3, pkName);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) cols.add(rs.getString(1));
-            }
-        }
-        if (cols.isEmpty()) return null;
-        String newPkName = pkName;
-        return "ALTER TABLE " + dstSchema + "." + table + " ADD CONSTRAINT " + newPkName +
-                " PRIMARY KEY (" + String.join(",", cols) + ")";
+        MetadataCache.Key pk = MetadataCache.table(src, srcSchema, table).primaryKey;
+        if (pk == null || pk.columns.isEmpty()) return null;
+        return "ALTER TABLE " + dstSchema + "." + table + " ADD CONSTRAINT " + pk.name +
+                " PRIMARY KEY (" + String.join(",", pk.columns) + ")";
     }
 
     private static List<String> buildCreateIndexesDDL(Connection src, String srcSchema, String dstSchema, String table) throws SQLException {
-        String idxSql = "SELECT idx.index_name, idx.uniqueness FROM all_indexes idx WHERE idx.owner=? AND idx.table_name=? AND idx.generated = 'N'";
         List<String> ddls = new ArrayList<>();
-        try (PreparedStatement ps = src.prepareStatement(idxSql)) {
-            ps.setString(1, srcSchema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String name = rs.getString(1);
-                    String uniq = rs.getString(2);
-                    String colSql = "SELECT column_name FROM all_ind_columns WHERE index_owner=? AND index_name=? AND table_name=? ORDER BY column_position";
-                    List<String> cols = new ArrayList<>();
-                    try (PreparedStatement pcs = src.prepareStatement(colSql)) {
-                        pcs.setString(1, srcSchema.toUpperCase());
-                        pcs.setString(2, name);
-                        pcs.setString(3, table.toUpperCase());
-                        try (ResultSet crs = pcs.executeQuery()) {
-                            while (crs.next()) cols.add(crs.getString(1));
-                        }
-                    }
-                    if (!cols.isEmpty()) {
-                        String uniqStr = "UNIQUE".equalsIgnoreCase(uniq) ? "UNIQUE " : "";
-                        String ddl = "CREATE " + uniqStr + "INDEX " + name + " ON " + dstSchema + "." + table +
-                                " (" + String.join(",", cols) + ")";
-                        ddls.add(ddl);
-                    }
-                }
-            }
+        MetadataCache.TableMeta tm = MetadataCache.table(src, srcSchema, table);
+        for (MetadataCache.Key idx : tm.indexes) {
+            if (idx.columns.isEmpty()) continue;
+            // PK-Index entsteht bereits mit dem Constraint
+            if (tm.primaryKey != null && idx.unique && idx.columns.equals(tm.primaryKey.columns)) continue;
+            String uniqStr = idx.unique ? "UNIQUE " : "";
+            ddls.add("CREATE " + uniqStr + "INDEX " + idx.name + " ON " + dstSchema + "." + table +
+                    " (" + String.join(",", idx.columns) + ")");
         }
         return ddls;
     }
 
     private static List<String> buildAddFksDDL(Connection src, String srcSchema, String dstSchema, String table) throws SQLException {
-        String fkSql = "SELECT ac.constraint_name, acc.position, acc.column_name, r.owner, r.table_name, r.constraint_name " +
-                "FROM all_constraints ac " +
-                "JOIN all_cons_columns acc ON ac.owner=acc.owner AND ac.constraint_name=acc.constraint_name AND ac.table_name=acc.table_name " +
-                "JOIN all_constraints r ON r.owner=ac.r_owner AND r.constraint_name=ac.r_constraint_name " +
-                "WHERE ac.owner=? AND ac.table_name=? AND ac.constraint_type='R' " +
-                "ORDER BY ac.constraint_name, acc.position";
-        Map<String, List<String>> childCols = new LinkedHashMap<>();
-        Map<String, String[]> refInfo = new HashMap<>();
-        try (PreparedStatement ps = src.prepareStatement(fkSql)) {
-            ps.setString(1, srcSchema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String fkName = rs.getString(1);
-                    String col = rs.getString(3);
-                    String refOwner = rs.getString(4);
-                    String refTable = rs.getString(5);
-                    String refConstraint = rs.getString(6);
-                    childCols.computeIfAbsent(fkName, k -> new ArrayList<>()).add(col);
-                    refInfo.put(fkName, new String[]{refOwner, refTable, refConstraint});
-                }
-            }
-        }
         List<String> ddls = new ArrayList<>();
-        for (String fk : childCols.keySet()) {
-            String[] info = refInfo.get(fk);
-            String refOwner = info[0];
-            String refTable = info[1];
-            String refCons = info[2];
-            String pColSql = "SELECT column_name FROM all_cons_columns WHERE owner=? AND table_name=? AND constraint_name=? ORDER BY position";
-            List<String> parentCols = new ArrayList<>();
-            try (PreparedStatement ps = src.prepareStatement(pColSql)) {
-                ps.setString(1, refOwner);
-                ps.setString(2, refTable);
-                ps.setString(3, refCons);
-                try (ResultSet rs = ps.executeQuery()) {
-                    while (rs.next()) parentCols.add(rs.getString(1));
-                }
-            }
-            if (parentCols.isEmpty()) continue;
-            String ddl = "ALTER TABLE " + dstSchema + "." + table + " ADD CONSTRAINT " + fk +
-                    " FOREIGN KEY (" + String.join(",", childCols.get(fk)) + ") " +
-                    "REFERENCES " + dstSchema + "." + refTable + " (" + String.join(",", parentCols) + ")";
-            ddls.add(ddl);
+        for (MetadataCache.ForeignKey fk : MetadataCache.table(src, srcSchema, table).foreignKeys) {
+            if (fk.refColumns.isEmpty() || fk.refColumns.contains(null)) continue;
+            ddls.add("ALTER TABLE " + dstSchema + "." + table + " ADD CONSTRAINT " + fk.name +
+                    " FOREIGN KEY (" + String.join(",", fk.columns) + ") " +
+                    "REFERENCES " + dstSchema + "." + fk.refTable + " (" + String.join(",", fk.refColumns) + ")");
         }
         return ddls;
     }
 
+    /** FK-Abhängigkeiten eines Schemas (aus dem MetadataCache): Kindtabelle → referenzierte Elterntabellen (ohne Selbstbezug). */
+    public static Map<String, Set<String>> getFkParents(Connection conn, String schema) throws SQLException {
+        return MetadataCache.get(conn, schema).fkParents();
+    }
+
     public static java.util.List<String> getPrimaryKeyColumns(Connection conn, String schema, String table) throws SQLException {
-        java.util.List<String> cols = new java.util.ArrayList<>();
-        String sql = "SELECT acc.column_name " +
-                "FROM all_constraints ac JOIN all_cons_columns acc " +
-                "  ON ac.owner=acc.owner AND ac.table_name=acc.table_name AND ac.constraint_name=acc.constraint_name " +
-                "WHERE ac.owner=? AND ac.table_name=? AND ac.constraint_type='P' " +
-                "ORDER BY acc.position";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, schema.toUpperCase());
-            ps.setString(2, table.toUpperCase());
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) cols.add(rs.getString(1));
-            }
-        }
-        return cols;
+        MetadataCache.Key pk = MetadataCache.table(conn, schema, table).primaryKey;
+        return pk == null ? new java.util.ArrayList<>() : new java.util.ArrayList<>(pk.columns);
     }
 
     public static class MinMax {
@@ -594,21 +800,56 @@ public class DBManager {
             String sql = "SELECT MIN(" + col + "), MAX(" + col + ") FROM " + fq + (whereClause != null && !whereClause.isBlank() ? " WHERE " + whereClause : "");
             try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
                 if (rs.next()) {
-                    Object min = rs.getObject(1);
-                    Object max = rs.getObject(2);
-                    map.put(col, new MinMax(toSqlLiteral(min), toSqlLiteral(max)));
+                    map.put(col, new MinMax(literalAt(rs, 1), literalAt(rs, 2)));
                 }
             }
         }
         return map;
     }
 
-    private static String toSqlLiteral(Object v) {
+    private static final java.time.format.DateTimeFormatter TS_LITERAL =
+            java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS");
+    private static final java.time.format.DateTimeFormatter DATE_LITERAL =
+            java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final java.time.format.DateTimeFormatter TSTZ_LITERAL =
+            java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS xxx");
+
+    /**
+     * Spaltenwert für ein SQL-Literal, gelesen nach dem Oracle-Typnamen statt per getObject
+     * (oracle.sql.TIMESTAMP* kennt nur ein NLS-abhängiges toString): DATE/TIMESTAMP als Timestamp,
+     * TIMESTAMP WITH TIME ZONE als OffsetDateTime. Der Wert lässt sich auch wieder binden.
+     */
+    static Object readKey(ResultSet rs, int idx, String typeName) throws SQLException {
+        String t = typeName == null ? "" : typeName.toUpperCase(java.util.Locale.ROOT);
+        if (t.startsWith("TIMESTAMP") && t.endsWith("WITH TIME ZONE") && !t.contains("LOCAL")) {
+            return rs.getObject(idx, java.time.OffsetDateTime.class);
+        }
+        if (t.equals("DATE") || t.startsWith("TIMESTAMP")) return rs.getTimestamp(idx);
+        return rs.getObject(idx);
+    }
+
+    /** Literal für einen mit {@link #readKey} gelesenen Wert; DATE-Spalten bekommen TO_DATE (Index bleibt nutzbar). */
+    static String toSqlLiteral(Object v, String typeName) {
+        if (v instanceof java.sql.Timestamp ts && "DATE".equalsIgnoreCase(typeName)) {
+            return "TO_DATE('" + ts.toLocalDateTime().format(DATE_LITERAL) + "','YYYY-MM-DD HH24:MI:SS')";
+        }
+        return toSqlLiteral(v);
+    }
+
+    /** {@link #readKey} und {@link #toSqlLiteral(Object, String)} in einem; Typname aus den Metadaten. */
+    static String literalAt(ResultSet rs, int idx) throws SQLException {
+        String type = rs.getMetaData().getColumnTypeName(idx);
+        return toSqlLiteral(readKey(rs, idx, type), type);
+    }
+
+    /**
+     * SQL-Literal unabhängig von NLS-Einstellungen. Nicht darstellbare Typen (z. B. oracle.sql.*)
+     * werden abgelehnt statt per toString() gequotet – solche Spalten über {@link #readKey} lesen.
+     */
+    static String toSqlLiteral(Object v) {
         if (v == null) return "NULL";
         if (v instanceof java.sql.Timestamp ts) {
-            java.time.LocalDateTime ldt = ts.toLocalDateTime();
-            String s = ldt.toString(); // ISO-8601
-            return "TO_TIMESTAMP('" + s.replace('T',' ') + "','YYYY-MM-DD HH24:MI:SS.FF')";
+            return "TO_TIMESTAMP('" + ts.toLocalDateTime().format(TS_LITERAL) + "','YYYY-MM-DD HH24:MI:SS.FF')";
         }
         if (v instanceof java.sql.Date d) {
             java.time.LocalDate ld = d.toLocalDate();
@@ -616,16 +857,28 @@ public class DBManager {
             return "TO_DATE('" + s + "','YYYY-MM-DD')";
         }
         if (v instanceof java.util.Date dt) {
-            java.time.Instant inst = dt.toInstant();
-            java.time.LocalDateTime ldt = java.time.LocalDateTime.ofInstant(inst, java.time.ZoneOffset.UTC);
-            String s = ldt.toString();
-            return "TO_TIMESTAMP('" + s.replace('T',' ') + "','YYYY-MM-DD HH24:MI:SS.FF')";
+            java.time.LocalDateTime ldt = java.time.LocalDateTime.ofInstant(dt.toInstant(), java.time.ZoneOffset.UTC);
+            return "TO_TIMESTAMP('" + ldt.format(TS_LITERAL) + "','YYYY-MM-DD HH24:MI:SS.FF')";
+        }
+        if (v instanceof java.time.LocalDateTime ldt) {
+            return "TO_TIMESTAMP('" + ldt.format(TS_LITERAL) + "','YYYY-MM-DD HH24:MI:SS.FF')";
+        }
+        if (v instanceof java.time.OffsetDateTime odt) {
+            return "TO_TIMESTAMP_TZ('" + odt.format(TSTZ_LITERAL) + "','YYYY-MM-DD HH24:MI:SS.FF TZH:TZM')";
+        }
+        if (v instanceof java.math.BigDecimal bd) {
+            return bd.toPlainString(); // keine Exponentenschreibweise (1E+10)
         }
         if (v instanceof Number) {
             return v.toString();
         }
-        String s = v.toString().replace("'", "''");
-        return "'" + s + "'";
+        if (v instanceof byte[] b) {
+            return "HEXTORAW('" + java.util.HexFormat.of().formatHex(b) + "')";
+        }
+        if (v instanceof String || v instanceof Character) {
+            return "'" + v.toString().replace("'", "''") + "'";
+        }
+        throw new IllegalArgumentException("Kein SQL-Literal für " + v.getClass().getName());
     }
 
     public static long getTableSizeBytes(Connection conn, String table) throws SQLException {
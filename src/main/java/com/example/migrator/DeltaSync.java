@@ -0,0 +1,186 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Inkrementeller Abgleich über eine Watermark-Spalte: gelesen werden nur Zeilen mit
+ * {@code spalte > letzter Watermark} (bis zum Maximum beim Start), im Ziel per PK übernommen.
+ * Je Batch erst ein gebatchtes UPDATE über den PK, dann ein gebatchtes INSERT für die Zeilen,
+ * die das UPDATE nicht getroffen hat – so sind eingefügte und geänderte Zeilen getrennt zählbar.
+ * Die neue Watermark wird erst nach vollständigem Lauf gespeichert; ein abgebrochener Lauf
+ * wiederholt beim nächsten Mal dieselben Zeilen (idempotent). Zeilen mit NULL in der
+ * Watermark-Spalte werden nie erfasst; gelöschte Quellzeilen bleiben im Ziel stehen.
+ * <p>
+ * Spaltenwerte werden vor dem Commit gesetzt: eine Transaktion, die beim Lesen der Obergrenze noch offen
+ * war, kann danach Zeilen unterhalb der Watermark sichtbar machen. Bei DATE/TIMESTAMP-Spalten überlappt das
+ * Fenster deshalb um {@link CopyOptions#getDeltaLagSeconds()} (die Übernahme ist idempotent); länger offene
+ * Transaktionen und numerische Watermarks (z. B. Sequenz-PK) haben diese Absicherung nicht.
+ */
+public class DeltaSync {
+
+    /** Ergebnis eines Laufs. */
+    public static final class Result {
+        public final long inserted, updated;
+        public final String watermark;
+        Result(long inserted, long updated, String watermark) { this.inserted = inserted; this.updated = updated; this.watermark = watermark; }
+        @Override public String toString() { return inserted + " inserted, " + updated + " updated"; }
+    }
+
+    private static void log(String s) { System.out.println("[delta] " + s); }
+
+    public static Result sync(Connection src, DBConfig srcCfg, Connection dst, DBConfig dstCfg, String table,
+                              String whereClause, CopyOptions opts, DBManager.ProgressListener listener,
+                              DBManager.StopSignal stop) throws SQLException {
+        String srcSchema = srcCfg.getSchema(), dstSchema = dstCfg.getSchema();
+        List<String> pk = DBManager.getPrimaryKeyColumns(src, srcSchema, table);
+        if (pk.isEmpty()) throw new SQLException("Delta-Sync braucht einen Primärschlüssel: " + srcSchema + "." + table);
+
+        WatermarkStore.Watermark wm = WatermarkStore.load(srcCfg.getUrl(), srcSchema, dstCfg.getUrl(), dstSchema, table);
+        String column = wm != null && wm.column != null ? wm.column : pk.size() == 1 ? pk.get(0) : null;
+        if (column == null) throw new SQLException("Keine Watermark-Spalte festgelegt (zusammengesetzter PK): " + table);
+        String last = wm != null && column.equalsIgnoreCase(wm.column) ? wm.lastLiteral : null;
+
+        src.setAutoCommit(false);
+        dst.setAutoCommit(false);
+        CopyPlan plan = CopyPlan.get(src, srcSchema, dst, dstSchema, table);
+        final CopyPlan.ColumnKind[] copiers = plan.copiers(opts.isRawDatums());
+        int wmIdx = -1;
+        for (int i = 0; i < plan.columns.size(); i++) if (plan.columns.get(i).equalsIgnoreCase(column)) wmIdx = i;
+        CopyPlan.ColumnKind wmKind = wmIdx < 0 ? CopyPlan.ColumnKind.OBJECT : plan.copiers(false)[wmIdx];
+        boolean temporal = wmKind == CopyPlan.ColumnKind.DATE || wmKind == CopyPlan.ColumnKind.TIMESTAMP;
+        // DATE-Spalten nur mit DATE-Werten vergleichen: ein TIMESTAMP-Wert ließe Oracle die Spalte
+        // konvertieren (INTERNAL_FUNCTION), der Watermark-Index wäre nicht mehr nutzbar
+        String wmType = wmIdx < 0 ? "" : plan.srcTypes[wmIdx];
+        boolean dateCol = "DATE".equals(wmType);
+
+        // Obergrenze beim Start festhalten: danach geänderte Zeilen holt der nächste Lauf
+        String high;
+        String maxSql = "SELECT MAX(" + column + ") FROM " + srcSchema + "." + table +
+                (whereClause != null && !whereClause.isBlank() ? " WHERE " + whereClause : "");
+        try (Statement st = src.createStatement(); ResultSet rs = st.executeQuery(maxSql)) {
+            rs.next();
+            // DATE/TIMESTAMP typgerecht lesen, nicht als oracle.sql.*
+            Object v = temporal ? DBManager.readKey(rs, 1, wmType) : rs.getObject(1);
+            if (v == null) { log(table + ": keine Zeilen mit " + column); return new Result(0, 0, last); }
+            if (!(v instanceof Number || v instanceof String || v instanceof Timestamp || v instanceof java.time.OffsetDateTime)) {
+                throw new SQLException("Watermark-Spalte " + column + ": Typ " + v.getClass().getName() + " nicht unterstützt");
+            }
+            high = DBManager.toSqlLiteral(v, wmType);
+        }
+        // ältere Watermarks einer DATE-Spalte sind noch TO_TIMESTAMP-Literale → CAST hält die Spalte unverändert
+        String lower = last != null && dateCol && !last.startsWith("TO_DATE(") ? "CAST(" + last + " AS DATE)" : last;
+        long lag = opts.getDeltaLagSeconds();
+        String from = lower == null ? null
+                : dateCol && lag > 0 ? "(" + lower + " - " + lag + "/86400)"
+                : temporal && lag > 0 ? "(" + lower + " - NUMTODSINTERVAL(" + lag + ", 'SECOND'))"
+                : lower;
+        String range = (from != null ? column + " > " + from + " AND " : "") + column + " <= " + high;
+        String sel = plan.selectSql(KeyRanges.and(whereClause, range));
+        log(table + ": " + (last == null ? "erster Lauf (voll)" : "ab " + column + " > " + from) + " bis " + high);
+
+        // Spaltenpositionen: PK und übrige Spalten
+        List<Integer> pkIdx = new ArrayList<>(), valIdx = new ArrayList<>();
+        for (int i = 0; i < plan.columns.size(); i++) {
+            if (pk.contains(plan.columns.get(i).toUpperCase())) pkIdx.add(i); else valIdx.add(i);
+        }
+        String fqDst = dstSchema + "." + table;
+        StringBuilder set = new StringBuilder(), on = new StringBuilder();
+        for (int i : valIdx) { if (set.length() > 0) set.append(", "); set.append(plan.columns.get(i)).append(" = ?"); }
+        for (int i : pkIdx) { if (on.length() > 0) on.append(" AND "); on.append(plan.columns.get(i)).append(" = ?"); }
+        if (set.length() == 0) set.append(plan.columns.get(pkIdx.get(0))).append(" = ").append(plan.columns.get(pkIdx.get(0)));
+        String upd = "UPDATE " + fqDst + " SET " + set + " WHERE " + on;
+
+        final int n = copiers.length;
+        final int commitBatch = opts.getCommitBatch();
+        long inserted = 0, updated = 0;
+        long started = System.nanoTime();
+
+        try (PreparedStatement pu = dst.prepareStatement(upd);
+             PreparedStatement pi = dst.prepareStatement(plan.insertSql);
+             Statement sst = src.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            sst.setFetchSize(1000);
+            if (LobLane.hasLobs(copiers)) LobLane.setPrefetch(sst, opts.getLobPrefetchBytes());
+            List<Object[]> rows = new ArrayList<>(commitBatch);
+            try (ResultSet rs = sst.executeQuery(sel)) {
+                boolean more = true;
+                while (more) {
+                    more = rs.next();
+                    if (more) {
+                        if (stop != null && stop.isStopped()) { dst.rollback(); throw new SQLException("stopped"); }
+                        Object[] row = new Object[n];
+                        for (int i = 0; i < n; i++) row[i] = copiers[i].read(rs, i + 1);
+                        rows.add(row);
+                        if (rows.size() < commitBatch) continue;
+                    }
+                    if (rows.isEmpty()) break;
+
+                    int hit = applyUpdates(pu, rows, copiers, valIdx, pkIdx);
+                    int miss = 0;
+                    for (Object[] row : rows) {
+                        if (row == null) continue;   // vom UPDATE getroffen
+                        for (int i = 0; i < n; i++) copiers[i].bind(pi, i + 1, row[i]);
+                        pi.addBatch();
+                        miss++;
+                    }
+                    if (miss > 0) pi.executeBatch();
+                    dst.commit();
+                    updated += hit;
+                    inserted += miss;
+                    rows.clear();
+
+                    if (listener != null) {
+                        double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+                        long done = inserted + updated;
+                        listener.onBatch(done, Math.round(sec > 0 ? done / sec : 0));
+                        listener.onInfo("+" + inserted + " / ~" + updated);
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            try { dst.rollback(); } catch (SQLException ignored) {}
+            throw ex;
+        }
+
+        try {
+            WatermarkStore.save(srcCfg.getUrl(), srcSchema, dstCfg.getUrl(), dstSchema, table, new WatermarkStore.Watermark(column, high));
+        } catch (java.io.IOException e) {
+            log("Watermark konnte nicht gespeichert werden: " + e.getMessage());
+        }
+        log(table + ": " + inserted + " eingefügt, " + updated + " geändert, Watermark " + column + " = " + high);
+        return new Result(inserted, updated, high);
+    }
+
+    /**
+     * Gebatchtes UPDATE über den PK; getroffene Zeilen werden in {@code rows} auf null gesetzt.
+     * Liefert der Treiber keine Einzelzählung (SUCCESS_NO_INFO), wird der Batch zeilenweise wiederholt.
+     */
+    private static int applyUpdates(PreparedStatement pu, List<Object[]> rows, CopyPlan.ColumnKind[] copiers,
+                                    List<Integer> valIdx, List<Integer> pkIdx) throws SQLException {
+        for (Object[] row : rows) {
+            bindUpdate(pu, row, copiers, valIdx, pkIdx);
+            pu.addBatch();
+        }
+        int[] counts = pu.executeBatch();
+        boolean noInfo = false;
+        for (int c : counts) if (c == Statement.SUCCESS_NO_INFO) { noInfo = true; break; }
+        int hit = 0;
+        for (int r = 0; r < rows.size(); r++) {
+            int c = counts[r];
+            if (noInfo) {
+                // UPDATE ist idempotent, die Wiederholung ändert nur die Zählung
+                bindUpdate(pu, rows.get(r), copiers, valIdx, pkIdx);
+                c = pu.executeUpdate();
+            }
+            if (c > 0) { rows.set(r, null); hit++; }
+        }
+        return hit;
+    }
+
+    private static void bindUpdate(PreparedStatement pu, Object[] row, CopyPlan.ColumnKind[] copiers,
+                                   List<Integer> valIdx, List<Integer> pkIdx) throws SQLException {
+        int p = 1;
+        for (int i : valIdx) copiers[i].bind(pu, p++, row[i]);
+        for (int i : pkIdx) copiers[i].bind(pu, p++, row[i]);
+    }
+}
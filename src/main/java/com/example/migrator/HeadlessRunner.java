@@ -0,0 +1,474 @@
+package com.example.migrator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.Connection;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kommandozeilen-Einstieg ohne JavaFX-Oberfläche, z. B. direkt auf einem Host im Netz der Datenbanken:
+ * <pre>java -cp … com.example.migrator.HeadlessRunner job1.properties [job2.properties …]</pre>
+ * Je Job-Datei: Verbindungen, Tabellen, Aktionen (create, delete, copy, verify), WHERE-Bedingungen
+ * (Standard: {@link WhereStore}) und Kopier-Optionen. Fortschritt auf stdout und/oder als JSON-Datei.
+ * Exit-Code je Job (Prozess: der höchste): 0 ok, 1 Tabelle(n) fehlgeschlagen, 2 Job-/Verbindungsfehler, 3 abgebrochen.
+ *
+ * <pre>
+ * src.url=jdbc:oracle:thin:@//quelle:1521/PDB1   (fehlt src.url: Profil aus ~/.oracle-migrator/db.properties)
+ * src.user=SCOTT
+ * src.pass=env:SRC_PASS                          (Klartext, env:VAR oder src.pass.b64=…)
+ * src.schema=SCOTT
+ * dst.url=… / dst.user / dst.pass / dst.schema / dst.dblink
+ * tables=EMP,DEPT                                 (* = alle Tabellen der Quelle)
+ * actions=create,copy,verify                      (Standard für alle Tabellen)
+ * actions.EMP=delete,copy                         (je Tabelle)
+ * where.EMP=DEPTNO = 10                           (überschreibt WhereStore)
+ * workers=4                                       (Sessions je Seite)
+ * batch=1000
+ * commit=single&lt;=20000,bytes=64m,time=30s     (CommitPolicy, Standard batch)
+ * commit.EMP=single                               (je Tabelle, überschreibt CommitPolicyStore)
+ * chunks=1
+ * chunkMode=AUTO
+ * options=directPath,noLogging,lobLane,…          (Namen wie in CopyOptions)
+ * deltaLag=300                                    (Sekunden Überlappung bei delta mit DATE/TIMESTAMP-Watermark)
+ * cleanup=AUTO                                    (CleanupEngine.Strategy)
+ * progress=stdout,json:/tmp/job1.json
+ * progress.interval=5                             (Sekunden)
+ * metrics=json:/tmp/job1-metrics.json,http:9091   (CopyMetrics: Datei und/oder http://127.0.0.1:9091/metrics)
+ * </pre>
+ */
+public class HeadlessRunner {
+
+    static final int EXIT_OK = 0, EXIT_FAILED = 1, EXIT_JOB_ERROR = 2, EXIT_STOPPED = 3;
+
+    private static final List<String> ACTION_ORDER = List.of("create", "delete", "copy", "verify");
+
+    private static void log(String s) { System.out.println("[headless] " + s); }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Aufruf: HeadlessRunner <job.properties> [weitere Jobs …]");
+            System.exit(EXIT_JOB_ERROR);
+        }
+        int worst = EXIT_OK;
+        try {
+            for (String a : args) {
+                HeadlessRunner job = new HeadlessRunner();
+                int code = job.run(Paths.get(a));
+                System.out.println("job " + a + ": exit " + code);
+                worst = Math.max(worst, code);
+                if (code == EXIT_STOPPED) break;
+            }
+        } finally {
+            ConnectionPool.closeAll();
+        }
+        System.exit(worst);
+    }
+
+    // --- Job ---------------------------------------------------------------
+
+    /** Zustand einer Tabelle im Job. */
+    static final class TableJob {
+        final TableItem item;
+        final List<String> actions;
+        final String where;
+        String action = "";
+        boolean failed;
+        TableJob(String table, List<String> actions, String where) {
+            this.item = new TableItem(table);
+            this.actions = actions;
+            this.where = where;
+            item.setStatus("pending");
+        }
+        String table() { return item.getTableName(); }
+    }
+
+    private final DBConfig srcCfg = new DBConfig(), dstCfg = new DBConfig();
+    private final CopyOptions opts = new CopyOptions();
+    private final List<TableJob> tables = new ArrayList<>();
+    /** {@code commit.TABLE=…} aus der Job-Datei, Schlüssel in Großbuchstaben. */
+    private final Map<String, CommitPolicy> commitByTable = new HashMap<>();
+    private int workers = 4;
+    private CleanupEngine.Strategy cleanup = CleanupEngine.Strategy.AUTO;
+    private boolean toStdout = true;
+    private Path jsonFile;
+    private int intervalSec = 5;
+    private Path metricsFile;
+    private int metricsPort = -1;
+    private String name;
+    private volatile boolean stopped;
+    private volatile MigrationScheduler scheduler;
+    private volatile String state = "starting";
+
+    /** Führt einen Job aus und liefert seinen Exit-Code. */
+    int run(Path jobFile) {
+        name = jobFile.getFileName().toString();
+        Properties p = new Properties();
+        try (InputStream is = Files.newInputStream(jobFile)) {
+            p.load(is);
+            configure(p);
+        } catch (Exception ex) {
+            log(name + ": Job-Datei fehlerhaft: " + ex.getMessage());
+            return EXIT_JOB_ERROR;
+        }
+
+        CountDownLatch finished = new CountDownLatch(1);
+        Thread hook = new Thread(() -> {
+            // Strg+C: laufende Aktionen abbrechen und kurz auf sauberes Ende warten. Die JVM fährt bereits
+            // herunter, System.exit in main greift nicht mehr – den Exit-Code setzt daher halt().
+            stopped = true;
+            MigrationScheduler s = scheduler;
+            if (s != null) s.stop();
+            for (TableJob t : tables) t.item.getStopSignal().stop();
+            try { finished.await(30, TimeUnit.SECONDS); } catch (InterruptedException ignored) {}
+            ConnectionPool.closeAll();
+            System.out.flush();
+            Runtime.getRuntime().halt(EXIT_STOPPED);
+        }, "headless-shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+
+        CopyMetrics.resetAll();   // Messwerte je Job
+        com.sun.net.httpserver.HttpServer http = null;
+        if (metricsPort >= 0) {
+            try {
+                http = CopyMetrics.serve(metricsPort);
+                log(name + ": Metriken unter http://127.0.0.1:" + http.getAddress().getPort() + "/metrics");
+            } catch (IOException ex) {
+                log(name + ": Metrik-Endpunkt nicht verfügbar: " + ex.getMessage());
+            }
+        }
+        Thread reporter = new Thread(this::reportLoop, "headless-progress");
+        reporter.setDaemon(true);
+        reporter.start();
+        int code;
+        try {
+            code = execute();
+        } catch (Exception ex) {
+            log(name + ": " + ex.getMessage());
+            code = EXIT_JOB_ERROR;
+        } finally {
+            reporter.interrupt();
+        }
+        state = code == EXIT_OK ? "ok" : code == EXIT_FAILED ? "failed" : code == EXIT_STOPPED ? "stopped" : "error";
+        report(true);
+        if (http != null) http.stop(0);
+        finished.countDown();
+        try { Runtime.getRuntime().removeShutdownHook(hook); } catch (IllegalStateException ignored) {}
+        return code;
+    }
+
+    private void configure(Properties p) throws IOException {
+        if (p.getProperty("src.url") == null || p.getProperty("dst.url") == null) ConfigStore.loadInto(srcCfg, dstCfg);
+        profile(p, "src", srcCfg);
+        profile(p, "dst", dstCfg);
+        if (p.getProperty("dst.dblink") != null) dstCfg.setDbLink(p.getProperty("dst.dblink"));
+
+        workers = Math.max(1, Integer.parseInt(p.getProperty("workers", "4").trim()));
+        opts.setCommitBatch(Integer.parseInt(p.getProperty("batch", "1000").trim()));
+        opts.setChunks(Integer.parseInt(p.getProperty("chunks", "1").trim()));
+        opts.setChunkMode(CopyOptions.ChunkMode.valueOf(p.getProperty("chunkMode", "AUTO").trim().toUpperCase()));
+        for (String o : list(p.getProperty("options", ""))) setOption(opts, o);
+        opts.setCommitPolicy(CommitPolicy.parse(p.getProperty("commit")));
+        opts.setDeltaLagSeconds(Integer.parseInt(p.getProperty("deltaLag", "300").trim()));
+        for (String k : p.stringPropertyNames()) {
+            if (k.startsWith("commit.")) commitByTable.put(k.substring(7).toUpperCase(), CommitPolicy.parse(p.getProperty(k)));
+        }
+        cleanup = CleanupEngine.Strategy.valueOf(p.getProperty("cleanup", "AUTO").trim().toUpperCase());
+
+        toStdout = false;
+        for (String t : list(p.getProperty("progress", "stdout"))) {
+            if (t.equalsIgnoreCase("stdout")) toStdout = true;
+            else if (t.toLowerCase().startsWith("json:")) jsonFile = Paths.get(t.substring(5).trim());
+            else throw new IllegalArgumentException("progress: unbekanntes Ziel " + t);
+        }
+        intervalSec = Math.max(1, Integer.parseInt(p.getProperty("progress.interval", "5").trim()));
+        for (String t : list(p.getProperty("metrics", ""))) {
+            if (t.toLowerCase().startsWith("json:")) metricsFile = Paths.get(t.substring(5).trim());
+            else if (t.toLowerCase().startsWith("http:")) metricsPort = Integer.parseInt(t.substring(5).trim());
+            else throw new IllegalArgumentException("metrics: unbekanntes Ziel " + t);
+        }
+
+        List<String> defaults = actions(p.getProperty("actions", "copy"));
+        for (String t : list(p.getProperty("tables", ""))) {
+            if (t.equals("*")) { tables.add(new TableJob("*", defaults, null)); continue; }
+            String tu = t.toUpperCase();
+            String acts = p.getProperty("actions." + tu, p.getProperty("actions." + t));
+            String where = p.getProperty("where." + tu, p.getProperty("where." + t));
+            tables.add(new TableJob(tu, acts != null ? actions(acts) : defaults, where));
+        }
+        if (tables.isEmpty()) throw new IllegalArgumentException("tables: keine Tabellen angegeben");
+    }
+
+    private static void profile(Properties p, String prefix, DBConfig cfg) {
+        String v;
+        if ((v = p.getProperty(prefix + ".url")) != null) cfg.setUrl(v.trim());
+        if ((v = p.getProperty(prefix + ".user")) != null) cfg.setUser(v.trim());
+        if ((v = p.getProperty(prefix + ".schema")) != null) cfg.setSchema(v.trim());
+        if ((v = p.getProperty(prefix + ".pass.b64")) != null)
+            cfg.setPassword(new String(Base64.getDecoder().decode(v.trim()), StandardCharsets.UTF_8));
+        if ((v = p.getProperty(prefix + ".pass")) != null) {
+            if (v.startsWith("env:")) {
+                String env = System.getenv(v.substring(4).trim());
+                if (env == null) throw new IllegalArgumentException(prefix + ".pass: Umgebungsvariable " + v.substring(4) + " fehlt");
+                cfg.setPassword(env);
+            } else cfg.setPassword(v);
+        }
+    }
+
+    /** Setzt eine Option aus {@code options=…} (Namen wie in CopyOptions, ohne Groß-/Kleinschreibung). */
+    static void setOption(CopyOptions opts, String o) {
+        switch (o.toLowerCase()) {
+            case "pipelined" -> opts.setPipelined(true);
+            case "adaptive" -> opts.setAdaptive(true);
+            case "directpath" -> opts.setDirectPath(true);
+            case "nologging" -> opts.setNoLogging(true);
+            case "resumable" -> opts.setResumable(true);
+            case "rawdatums" -> opts.setRawDatums(true);
+            case "loblane" -> opts.setLobLane(true);
+            case "serverside" -> opts.setServerSide(true);
+            case "delta" -> opts.setDelta(true);
+            case "verify" -> opts.setVerify(true);
+            default -> throw new IllegalArgumentException("options: unbekannte Option " + o);
+        }
+    }
+
+    static List<String> list(String s) {
+        List<String> out = new ArrayList<>();
+        for (String x : s.split(",")) if (!x.isBlank()) out.add(x.trim());
+        return out;
+    }
+
+    private static List<String> actions(String s) {
+        List<String> a = new ArrayList<>();
+        for (String x : list(s)) {
+            String v = x.toLowerCase();
+            if (!ACTION_ORDER.contains(v)) throw new IllegalArgumentException("actions: unbekannte Aktion " + x);
+            if (!a.contains(v)) a.add(v);
+        }
+        a.sort(Comparator.comparingInt(ACTION_ORDER::indexOf));   // feste Reihenfolge der Phasen
+        return a;
+    }
+
+    // --- Ausführung ---------------------------------------------------------
+
+    /**
+     * Phasen über alle Tabellen: create (Eltern zuerst), delete (Kinder zuerst),
+     * copy (Scheduler mit FK-Reihenfolge und Session-Limits), verify.
+     * Eine fehlgeschlagene Aktion überspringt die weiteren Aktionen derselben Tabelle.
+     */
+    private int execute() throws Exception {
+        List<String> order;
+        try (Connection src = DBManager.open(srcCfg)) {
+            DBManager.open(dstCfg).close();   // Ziel erreichbar, sonst Job-Fehler statt Fehler je Tabelle
+            log(name + ": Quelle " + srcCfg.getUsername() + "@" + srcCfg.getJdbcUrl() + ", Ziel " + dstCfg.getUsername() + "@" + dstCfg.getJdbcUrl());
+            expandWildcard(src);
+            List<String> names = new ArrayList<>();
+            for (TableJob t : tables) names.add(t.table());
+            order = SchemaBuilder.dependencyOrder(names, DBManager.getFkParents(src, srcCfg.getSchema()));
+        } catch (Exception ex) {
+            log(name + ": Verbindung fehlgeschlagen: " + ex.getMessage());
+            return EXIT_JOB_ERROR;
+        }
+        Map<String, TableJob> byName = new HashMap<>();
+        for (TableJob t : tables) byName.put(t.table(), t);
+        state = "running";
+
+        // 1) create, Eltern vor Kindern (FKs brauchen die Elterntabelle)
+        for (String tn : order) {
+            TableJob t = byName.get(tn);
+            if (!t.actions.contains("create") || skip(t)) continue;
+            step(t, "create", () -> {
+                try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+                    if (DBManager.tableExists(dst, dstCfg.getSchema(), tn)) { t.item.setStatus("target exists"); return; }
+                    t.item.setStatus(DBManager.createdStatus(
+                            DBManager.createTableLikeSource(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), tn)));
+                }
+            });
+        }
+
+        // 2) delete, Kinder vor Eltern
+        List<String> reverse = new ArrayList<>(order);
+        Collections.reverse(reverse);
+        for (String tn : reverse) {
+            TableJob t = byName.get(tn);
+            if (!t.actions.contains("delete") || skip(t)) continue;
+            step(t, "delete", () -> {
+                String where = where(t);
+                long toDelete;
+                try (Connection dst = DBManager.open(dstCfg)) { toDelete = DBManager.countRows(dst, dstCfg.getSchema(), tn, where); }
+                CleanupEngine.Result r = new CleanupEngine(dstCfg, workers, opts.getCommitBatch(), opts.isNoLogging()).delete(tn, where, toDelete, cleanup,
+                        n -> {
+                            t.item.setTransferred((int) n);
+                            t.item.setStatus("deleting " + n + "/" + toDelete);
+                        }, t.item.getStopSignal());
+                t.item.setStatus("deleted " + r.deleted + " (" + r.strategy + ")");
+            });
+        }
+
+        // 3) copy über den Scheduler (FK-Reihenfolge, größte zuerst, Session-Limits)
+        List<TableItem> copies = new ArrayList<>();
+        for (TableJob t : tables) if (t.actions.contains("copy") && !skip(t)) { copies.add(t.item); t.action = "copy"; }
+        applyCommitPolicies();
+        if (!copies.isEmpty() && !stopped) {
+            MigrationScheduler s = new MigrationScheduler(srcCfg, dstCfg, opts, workers, workers);
+            s.setWhereSource(tn -> where(byName.get(tn.toUpperCase())));
+            scheduler = s;
+            s.run(copies, item -> {
+                TableJob t = byName.get(item.getTableName().toUpperCase());
+                String st = item.getStatus();
+                if (st == null || !st.startsWith("done")) t.failed = true;
+                if (toStdout) System.out.println(line(t));
+            });
+            scheduler = null;
+        }
+
+        // 4) verify (mit Reparatur)
+        for (TableJob t : tables) {
+            if (!t.actions.contains("verify") || skip(t)) continue;
+            step(t, "verify", () -> {
+                VerifyEngine.Result r = new VerifyEngine(srcCfg, dstCfg, workers).verify(t.table(), where(t), true, opts,
+                        (done, all, checked, diff, repaired) -> t.item.setStatus("verifying " + done + "/" + all +
+                                (diff > 0 ? " · " + diff + " differing" : "")),
+                        t.item.getStopSignal());
+                t.item.setStatus(r.toString());
+            });
+        }
+
+        if (stopped) return EXIT_STOPPED;
+        for (TableJob t : tables) if (t.failed) return EXIT_FAILED;
+        return EXIT_OK;
+    }
+
+    private interface Step { void run() throws Exception; }
+
+    private void step(TableJob t, String action, Step s) {
+        t.action = action;
+        t.item.getStopSignal().reset();
+        try {
+            s.run();
+        } catch (Exception ex) {
+            t.failed = true;
+            t.item.setStatus(action + " failed: " + ex.getMessage());
+        }
+        if (stopped) t.item.getStopSignal().stop();
+        if (toStdout) System.out.println(line(t));
+    }
+
+    private boolean skip(TableJob t) {
+        if (stopped && !t.failed) { t.failed = true; t.item.setStatus("skipped (stopped)"); }
+        return t.failed;
+    }
+
+    private String where(TableJob t) {
+        if (t == null) return null;
+        return t.where != null ? t.where : WhereStore.loadWhere(srcCfg.getSchema(), t.table());
+    }
+
+    /** Commit-Policy je Tabelle: {@code commit.TABLE} aus der Job-Datei, sonst {@link CommitPolicyStore}, sonst {@code commit}. */
+    private void applyCommitPolicies() {
+        Map<String, CommitPolicy> stored = CommitPolicyStore.loadAll(srcCfg.getSchema());
+        for (TableJob t : tables) {
+            CommitPolicy p = commitByTable.getOrDefault(t.table(), stored.get(t.table()));
+            if (p != null) t.item.setCommitPolicy(p);
+        }
+    }
+
+    /** {@code tables=*}: alle Tabellen der Quelle mit den Standard-Aktionen. */
+    private void expandWildcard(Connection src) throws Exception {
+        Optional<TableJob> star = tables.stream().filter(t -> t.table().equals("*")).findFirst();
+        if (star.isEmpty()) return;
+        tables.remove(star.get());
+        Set<String> have = new HashSet<>();
+        for (TableJob t : tables) have.add(t.table());
+        for (String t : DBManager.listTables(src, srcCfg.getSchema())) {
+            if (have.add(t.toUpperCase())) tables.add(new TableJob(t.toUpperCase(), star.get().actions, null));
+        }
+    }
+
+    // --- Fortschritt ----------------------------------------------------------
+
+    private final Map<String, String> lastPrinted = new HashMap<>();
+
+    private void reportLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(intervalSec * 1000L);
+                report(false);
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private synchronized void report(boolean fin) {
+        if (toStdout) {
+            for (TableJob t : tables) {
+                String l = line(t);
+                if (fin || !l.equals(lastPrinted.get(t.table()))) {
+                    if (!fin) System.out.println(l);
+                    lastPrinted.put(t.table(), l);
+                }
+            }
+            if (fin) System.out.println("[" + name + "] " + state);
+        }
+        if (jsonFile != null) {
+            try {
+                writeJson();
+            } catch (IOException ex) {
+                log("Fortschrittsdatei nicht schreibbar: " + ex.getMessage());
+            }
+        }
+        if (metricsFile != null) {
+            try {
+                CopyMetrics.writeSnapshot(metricsFile);
+            } catch (IOException ex) {
+                log("Metrikdatei nicht schreibbar: " + ex.getMessage());
+            }
+        }
+    }
+
+    private String line(TableJob t) {
+        return "[" + name + "] " + t.table() + " " + (t.action.isEmpty() ? "-" : t.action) + ": " + t.item.getStatus();
+    }
+
+    private void writeJson() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"job\":").append(json(name)).append(",\"state\":").append(json(state))
+          .append(",\"updated\":").append(json(java.time.Instant.now().toString())).append(",\"tables\":[");
+        for (int i = 0; i < tables.size(); i++) {
+            TableJob t = tables.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"table\":").append(json(t.table()))
+              .append(",\"actions\":").append(json(String.join(",", t.actions)))
+              .append(",\"action\":").append(json(t.action))
+              .append(",\"status\":").append(json(t.item.getStatus()))
+              .append(",\"rows\":").append(t.item.getTransferred())
+              .append(",\"rate\":").append(Math.round(t.item.getRate()))
+              .append(",\"failed\":").append(t.failed)
+              .append('}');
+        }
+        sb.append("]}\n");
+        Path tmp = jsonFile.resolveSibling(jsonFile.getFileName() + ".tmp");
+        if (jsonFile.getParent() != null) Files.createDirectories(jsonFile.getParent());
+        Files.writeString(tmp, sb.toString(), StandardCharsets.UTF_8);
+        Files.move(tmp, jsonFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static String json(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> { if (c < 0x20) sb.append(String.format("\\u%04x", (int) c)); else sb.append(c); }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Zerlegt eine Tabelle in Bereiche (als zusätzliche WHERE-Prädikate),
+ * entweder über den Primärschlüssel (NTILE) oder über ROWID-Extents.
+ */
+public class KeyRanges {
+
+    /** PK-Bereiche per NTILE über den (ggf. zusammengesetzten) Schlüssel. Leer, wenn keine Zeilen. */
+    public static List<String> byPrimaryKey(Connection conn, String schema, String table, List<String> pkCols,
+                                            String whereClause, int n) throws SQLException {
+        List<String> ranges = new ArrayList<>();
+        if (pkCols == null || pkCols.isEmpty()) return ranges;
+        String order = String.join(",", pkCols);
+        StringBuilder mins = new StringBuilder();
+        for (String c : pkCols) {
+            if (mins.length() > 0) mins.append(", ");
+            mins.append("MIN(").append(c).append(") KEEP (DENSE_RANK FIRST ORDER BY ").append(order).append(")");
+        }
+        String whereSql = (whereClause != null && !whereClause.isBlank()) ? " WHERE " + whereClause : "";
+        String sql = "SELECT " + mins + " FROM (SELECT " + order + ", NTILE(" + Math.max(1, n) + ") OVER (ORDER BY " + order + ") nt " +
+                "FROM " + schema + "." + table + whereSql + ") GROUP BY nt ORDER BY nt";
+
+        List<List<String>> bounds = new ArrayList<>();
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                List<String> lits = new ArrayList<>();
+                // typgerecht lesen: oracle.sql.TIMESTAMP hätte nur ein NLS-abhängiges toString
+                for (int i = 1; i <= pkCols.size(); i++) lits.add(DBManager.literalAt(rs, i));
+                bounds.add(lits);
+            }
+        }
+        // Bereich i = [bound(i), bound(i+1)); erster Bereich nach unten, letzter nach oben offen
+        for (int i = 0; i < bounds.size(); i++) {
+            String lower = i == 0 ? null : tupleCompare(pkCols, bounds.get(i), ">=");
+            String upper = i + 1 < bounds.size() ? tupleCompare(pkCols, bounds.get(i + 1), "<") : null;
+            if (lower == null && upper == null) ranges.add("1=1");
+            else if (lower == null) ranges.add(upper);
+            else if (upper == null) ranges.add(lower);
+            else ranges.add(lower + " AND " + upper);
+        }
+        return ranges;
+    }
+
+    /**
+     * ROWID-Bereiche aus USER_EXTENTS (nur möglich, wenn die Tabelle dem angemeldeten User gehört).
+     * Liefert ggf. mehr als n Bereiche (je Partition/Datenobjekt mindestens einen).
+     */
+    public static List<String> byRowidExtents(Connection conn, String schema, String table, int n) throws SQLException {
+        List<String> ranges = new ArrayList<>();
+        if (!isSessionUser(conn, schema)) return ranges;
+        String sql =
+                "SELECT DBMS_ROWID.ROWID_CREATE(1, data_object_id, lo_fno, lo_block, 0), " +
+                "       DBMS_ROWID.ROWID_CREATE(1, data_object_id, hi_fno, hi_block, 32767) " +
+                "FROM ( " +
+                "  SELECT grp, data_object_id, " +
+                "         MIN(relative_fno) KEEP (DENSE_RANK FIRST ORDER BY relative_fno, block_id) lo_fno, " +
+                "         MIN(block_id)     KEEP (DENSE_RANK FIRST ORDER BY relative_fno, block_id) lo_block, " +
+                "         MAX(relative_fno) KEEP (DENSE_RANK LAST  ORDER BY relative_fno, block_id) hi_fno, " +
+                "         MAX(block_id + blocks - 1) KEEP (DENSE_RANK LAST ORDER BY relative_fno, block_id) hi_block " +
+                "  FROM ( " +
+                "    SELECT o.data_object_id, e.relative_fno, e.block_id, e.blocks, " +
+                "           TRUNC((SUM(e.blocks) OVER (ORDER BY o.data_object_id, e.relative_fno, e.block_id) - 1) " +
+                "                 / CEIL(SUM(e.blocks) OVER () / ?)) grp " +
+                "    FROM user_extents e " +
+                "    JOIN user_objects o ON o.object_name = e.segment_name " +
+                "                       AND NVL(o.subobject_name, '-') = NVL(e.partition_name, '-') " +
+                "    WHERE e.segment_name = ? AND e.segment_type IN ('TABLE','TABLE PARTITION','TABLE SUBPARTITION') " +
+                "  ) GROUP BY grp, data_object_id " +
+                ") ORDER BY grp, data_object_id";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, Math.max(1, n));
+            ps.setString(2, table.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ranges.add("ROWID BETWEEN CHARTOROWID('" + rs.getString(1) + "') AND CHARTOROWID('" + rs.getString(2) + "')");
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Tupelvergleich (c1, c2, …) op (v1, v2, …) für op in {">", ">=", "<", "<="},
+     * ausgeschrieben, da Oracle keine Zeilenwert-Vergleiche kennt.
+     */
+    public static String tupleCompare(List<String> cols, List<String> literals, String op) {
+        String strict = op.substring(0, 1);
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < cols.size(); i++) {
+            if (i > 0) sb.append(" OR ");
+            sb.append("(");
+            for (int j = 0; j < i; j++) sb.append(cols.get(j)).append(" = ").append(literals.get(j)).append(" AND ");
+            boolean last = i == cols.size() - 1;
+            sb.append(cols.get(i)).append(' ').append(last ? op : strict).append(' ').append(literals.get(i));
+            sb.append(")");
+        }
+        return sb.append(")").toString();
+    }
+
+    /** Verknüpft eine optionale WHERE-Bedingung mit einem Bereichs-Prädikat. */
+    public static String and(String whereClause, String rangePredicate) {
+        if (whereClause == null || whereClause.isBlank()) return rangePredicate;
+        if (rangePredicate == null || rangePredicate.isBlank()) return whereClause;
+        return "(" + whereClause + ") AND " + rangePredicate;
+    }
+
+    private static boolean isSessionUser(Connection conn, String schema) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT USER FROM dual")) {
+            return rs.next() && schema != null && schema.equalsIgnoreCase(rs.getString(1));
+        }
+    }
+}
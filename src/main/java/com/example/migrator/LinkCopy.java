@@ -0,0 +1,158 @@
+package com.example.migrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-seitige Kopie über einen DB-Link vom Ziel zur Quelle:
+ * INSERT mit APPEND-Hint INTO ziel SELECT … FROM quelle@link, je Bereich ein Statement mit Commit.
+ * Die Zeilen laufen nicht durch den Client.
+ */
+public class LinkCopy {
+
+    /** Mindestanzahl Bereiche, damit der Fortschritt sichtbar bleibt. */
+    private static final int MIN_RANGES = 8;
+    /** Bis zu so vielen Zeilen (Statistik) ein einziger Bereich – NTILE müsste sonst die ganze Tabelle sortieren. */
+    private static final long SINGLE_RANGE_ROWS = 200_000;
+    /** Dasselbe für die Segmentgröße, falls num_rows fehlt (nur eigene Tabellen). */
+    private static final long SINGLE_RANGE_BYTES = 64L * 1024 * 1024;
+
+    private static void log(String s) { System.out.println("[linkCopy] " + s); }
+
+    /** Prüft, ob der Link vom Ziel aus erreichbar ist. */
+    public static boolean reachable(Connection dst, String link) {
+        if (link == null || link.isBlank()) return false;
+        try (Statement st = dst.createStatement()) {
+            st.setQueryTimeout(30);
+            st.executeQuery("SELECT 1 FROM dual@" + link).close();
+            return true;
+        } catch (SQLException ex) {
+            log("DB-Link " + link + " nicht erreichbar: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Kopiert die Tabelle über den DB-Link des Zielprofils.
+     * @return {@code false}, wenn kein Link konfiguriert/erreichbar ist oder die Tabelle nicht über
+     *         einen Link kopiert werden kann – der Aufrufer kopiert dann wie bisher über den Client.
+     */
+    public static boolean copyTable(DBConfig srcCfg, DBConfig dstCfg, String table, String whereClause,
+                                    CopyOptions opts, DBManager.ProgressListener listener,
+                                    DBManager.StopSignal stop) throws SQLException {
+        String link = dstCfg.getDbLink();
+        if (link == null || link.isBlank()) return false;
+
+        try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+            if (!reachable(dst, link)) return false;
+
+            CopyPlan plan = CopyPlan.get(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), table);
+            for (String t : plan.srcTypes) {
+                if (t.startsWith("LONG")) {
+                    // LONG/LONG RAW lassen sich nicht per INSERT … SELECT über einen Link übertragen (ORA-00997)
+                    log(table + ": LONG-Spalte – Kopie über den Client");
+                    return false;
+                }
+            }
+
+            List<String> ranges;
+            if (isSmall(src, srcCfg.getSchema(), table)) {
+                ranges = new ArrayList<>(List.of(""));
+            } else {
+                int n = Math.max(MIN_RANGES, opts.getChunks());
+                ranges = ChunkedCopy.computeRanges(src, srcCfg.getSchema(), table, whereClause, n, opts.getChunkMode());
+                if (ranges.isEmpty()) ranges = new ArrayList<>(List.of(""));
+            }
+
+            String cols = String.join(",", plan.columns);
+            String fqDst = dstCfg.getSchema() + "." + table;
+            String base = "INSERT /*+ APPEND */ INTO " + fqDst + " (" + cols + ") SELECT " + cols
+                    + " FROM " + srcCfg.getSchema() + "." + table + "@" + link;
+            log(table + ": " + ranges.size() + " Bereiche über " + link + ": " + base);
+
+            dst.setAutoCommit(false);
+            boolean restoreLogging = opts.isNoLogging() && DBManager.setNoLogging(dst, dstCfg.getSchema(), table);
+            long transferred = 0;
+            long started = System.nanoTime();
+            try {
+                for (String range : ranges) {
+                    if (stop != null && stop.isStopped()) throw new SQLException("stopped");
+                    String w = KeyRanges.and(whereClause, range);
+                    String sql = w == null || w.isBlank() ? base : base + " WHERE " + w;
+
+                    transferred += executeCancellable(dst, sql, stop);
+                    dst.commit();   // nach APPEND Pflicht (ORA-12838), zugleich Fortschrittspunkt
+
+                    double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+                    double rate = Math.round(sec > 0 ? transferred / sec : 0);
+                    if (listener != null) {
+                        listener.onBatch(transferred, rate);
+                        listener.onInfo("db-link " + link);
+                    }
+                }
+            } catch (SQLException ex) {
+                try { dst.rollback(); } catch (SQLException ignored) {}
+                throw ex;
+            } finally {
+                if (restoreLogging) DBManager.restoreLogging(dst, fqDst);
+            }
+            log(table + " fertig: " + transferred + " Zeilen über " + link);
+            return true;
+        }
+    }
+
+    /** Laut Statistik (num_rows, sonst Segmentgröße) klein genug für einen Bereich; unbekannt = {@code false}. */
+    static boolean isSmall(Connection src, String schema, String table) {
+        String sql = "SELECT t.num_rows, (SELECT SUM(s.bytes) FROM user_segments s WHERE s.segment_name = t.table_name " +
+                "AND s.segment_type LIKE 'TABLE%' AND t.owner = USER) FROM all_tables t WHERE t.owner = ? AND t.table_name = ?";
+        try (PreparedStatement ps = src.prepareStatement(sql)) {
+            ps.setString(1, schema.toUpperCase());
+            ps.setString(2, table.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return false;
+                long rows = rs.getLong(1);
+                if (!rs.wasNull()) return rows <= SINGLE_RANGE_ROWS;
+                long bytes = rs.getLong(2);
+                return !rs.wasNull() && bytes <= SINGLE_RANGE_BYTES;
+            }
+        } catch (SQLException ex) {
+            log(table + ": Statistik nicht lesbar (" + ex.getMessage() + ") – teile in Bereiche");
+            return false;
+        }
+    }
+
+    /** Führt das Statement aus; ein Stop-Wunsch bricht es per {@link Statement#cancel()} ab. */
+    static int executeCancellable(Connection dst, String sql, DBManager.StopSignal stop) throws SQLException {
+        try (Statement st = dst.createStatement()) {
+            Thread watcher = null;
+            if (stop != null) {
+                watcher = new Thread(() -> {
+                    try {
+                        while (!Thread.currentThread().isInterrupted()) {
+                            if (stop.isStopped()) { st.cancel(); return; }
+                            Thread.sleep(200);
+                        }
+                    } catch (InterruptedException ignored) {
+                    } catch (SQLException ex) {
+                        log("cancel fehlgeschlagen: " + ex.getMessage());
+                    }
+                }, "link-cancel");
+                watcher.setDaemon(true);
+                watcher.start();
+            }
+            try {
+                return st.executeUpdate(sql);
+            } catch (SQLException ex) {
+                if (stop != null && stop.isStopped()) throw new SQLException("stopped", ex);
+                throw ex;
+            } finally {
+                if (watcher != null) watcher.interrupt();
+            }
+        }
+    }
+}
@@ -14,5 +14,9 @@ public class MainApp extends Application {
         stage.setScene(scene);
         stage.show();
     }
+    @Override
+    public void stop() {
+        ConnectionPool.closeAll();
+    }
     public static void main(String[] args) { launch(args); }
 }
@@ -1,5 +1,8 @@
 package com.example.migrator;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
@@ -19,12 +22,18 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -33,14 +42,18 @@ public class MainController {
     @FXML private ListView<String> availableTablesList;
     @FXML private Button addButton, removeButton, addAllButton, removeAllButton;
     @FXML private Button configButton, loadTablesButton, startButton;
-    @FXML private TextField batchSizeField;
+    @FXML private TextField batchSizeField, chunksField, srcSessionsField, dstSessionsField, commitPolicyField;
+    @FXML private Button migrateAllButton, stopAllButton;
+    @FXML private TextField ddlParallelField;
+    @FXML private Button ddlTablesButton, ddlIndexesButton, ddlFksButton;
+    @FXML private CheckBox pipelineCheck, adaptiveCheck, directPathCheck, noLoggingCheck, resumableCheck, rawDatumCheck, lobLaneCheck, serverSideCheck, deltaCheck, verifyCheck;
 
     @FXML private StackPane tablesContainer;
     @FXML private ProgressIndicator loadingIndicatorTables;
 
     // Tabelle
     @FXML private TableView<TableItem> overviewTable;
-    @FXML private TableColumn<TableItem, String> colTable, colSrcCount, colDstCount, colStatus;
+    @FXML private TableColumn<TableItem, String> colTable, colSrcCount, colDstCount, colStatus, colCommit;
     @FXML private TableColumn<TableItem, Number> colTransferred, colRate;
     @FXML private TableColumn<TableItem, Double> colProgress;
     @FXML private TableColumn<TableItem, Number> colSize;
@@ -48,10 +61,12 @@ public class MainController {
 
     // Summenlabel (in FXML unterhalb der Tabelle hinzufügen)
     @FXML private Label sumLabel;
+    @FXML private Label poolLabel;
 
     // Datenmodelle
     private final ObservableList<String> availableTables = FXCollections.observableArrayList();
-    private final ObservableList<TableItem> tableModels = FXCollections.observableArrayList();
+    private final OverviewModel overview = new OverviewModel();
+    private final ObservableList<TableItem> tableModels = overview.getItems();
 
     // Threadpool: max. 5 parallel
     private final ExecutorService executor = Executors.newFixedThreadPool(5, r -> {
@@ -59,10 +74,21 @@ public class MainController {
         t.setDaemon(true);
         return t;
     });
+    // Health-Check und Metrik-Snapshot: eigener Thread, sonst warten sie hinter laufenden Kopien im executor
+    private final ExecutorService housekeeping = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "pool-housekeeping");
+        t.setDaemon(true);
+        return t;
+    });
 
     private final DBConfig sourceCfg = new DBConfig();
     private final DBConfig targetCfg = new DBConfig();
 
+    private volatile MigrationScheduler scheduler;
+
+    // Fortschritt aus Worker-Threads gebündelt, 10 Frames/s
+    private UiUpdateBuffer uiBuffer;
+
     @FXML
     public void initialize() {
         try { ConfigStore.loadInto(sourceCfg, targetCfg); } catch (IOException e) { e.printStackTrace(); }
@@ -91,6 +117,7 @@ public class MainController {
         addButton.disableProperty().bind(Bindings.isEmpty(availableTablesList.getSelectionModel().getSelectedItems()));
         removeButton.disableProperty().bind(Bindings.isEmpty(overviewTable.getSelectionModel().getSelectedItems()));
         addAllButton.disableProperty().bind(Bindings.isEmpty(availableTables)); // Add All nur, wenn etwas geladen ist
+        noLoggingCheck.disableProperty().bind(directPathCheck.selectedProperty().not()); // NOLOGGING nur mit Direct Path
 
         // Spalten-Bindings
         colTable.setCellValueFactory(c -> c.getValue().tableNameProperty());
@@ -101,11 +128,16 @@ public class MainController {
         colProgress.setCellValueFactory(c -> c.getValue().progressProperty().asObject());
         colStatus.setCellValueFactory(c -> c.getValue().statusProperty());
         colSize.setCellValueFactory(c -> c.getValue().sizeMBProperty());
+        colCommit.setCellValueFactory(c -> c.getValue().commitPolicyProperty());
 
         // "CNT Quelle" & "CNT Ziel" numerisch sortieren (Sonderwerte ans Ende)
         colSrcCount.setComparator(MainController::compareCountStringsAsLong);
         colDstCount.setComparator(MainController::compareCountStringsAsLong);
 
+        // geschätzte Werte mit "≈" kennzeichnen (der Zellwert selbst bleibt numerisch sortierbar)
+        colSrcCount.setCellFactory(tc -> countCell(TableItem::isSrcEstimated));
+        colDstCount.setCellFactory(tc -> countCell(TableItem::isDstEstimated));
+
         // Progress als ProgressBar rendern
         colProgress.setCellFactory(tc -> new TableCell<>() {
             private final ProgressBar bar = new ProgressBar(0);
@@ -132,6 +164,17 @@ public class MainController {
             }
         });
 
+        // Commit-Policy der Zeile, leer = Vorgabe aus dem Feld links
+        colCommit.setCellFactory(tc -> new TableCell<>() {
+            @Override protected void updateItem(String v, boolean empty) {
+                super.updateItem(v, empty);
+                if (empty) { setText(null); setStyle(""); return; }
+                boolean own = v != null && !v.isEmpty();
+                setText(own ? v : "Vorgabe");
+                setStyle(own ? "" : "-fx-text-fill: gray;");
+            }
+        });
+
         overviewTable.setItems(tableModels);
 
         // Button-Handler
@@ -142,6 +185,11 @@ public class MainController {
         addAllButton.setOnAction(e -> addAllToOverview());
         removeButton.setOnAction(e -> removeSelectedFromOverview());
         removeAllButton.setOnAction(e -> clearOverview());
+        migrateAllButton.setOnAction(e -> migrateAll());
+        stopAllButton.setOnAction(e -> { MigrationScheduler s = scheduler; if (s != null) s.stop(); });
+        ddlTablesButton.setOnAction(e -> runSchemaPhase(1));
+        ddlIndexesButton.setOnAction(e -> runSchemaPhase(2));
+        ddlFksButton.setOnAction(e -> runSchemaPhase(3));
 
         // Spalte mit den Aktionen
         setupActionColumn();
@@ -149,10 +197,33 @@ public class MainController {
         // Kontextmenü für WHERE
         addWhereContextMenuOnOverview();
 
-        // Summe automatisch aktualisieren
+        // Pool-Statistik jede Sekunde, Health-Check und Metrik-Snapshot alle 30 s (im Hintergrund)
+        final int[] ticks = {0};
+        Timeline poolTimer = new Timeline(new KeyFrame(Duration.seconds(1), ev -> {
+            poolLabel.setText(ConnectionPool.allStats());
+            if (++ticks[0] % 30 == 0) {
+                housekeeping.submit(ConnectionPool::healthCheckAll);
+                housekeeping.submit(() -> {
+                    try { CopyMetrics.writeSnapshot(CopyMetrics.defaultPath()); }
+                    catch (IOException ex) { System.out.println("Metrik-Snapshot: " + ex.getMessage()); }
+                });
+            }
+        }));
+        poolTimer.setCycleCount(Animation.INDEFINITE);
+        poolTimer.play();
+
+        // Summe führt das Modell laufend mit, hier nur die Anzeige
         tableModels.addListener((ListChangeListener<TableItem>) c -> updateSumLabel());
         updateSumLabel(); // initial
 
+        // gespeicherte WHERE-Bedingung ändert den "Show Condition"-Button der Zeile
+        WhereStore.addListener((schema, table) -> Platform.runLater(overviewTable::refresh));
+
+        // Property-Änderungen der Zeilen laufen ab hier über den Puffer (auch aus Worker-Threads erlaubt)
+        uiBuffer = new UiUpdateBuffer(overviewTable, 10, this::updateSumLabel);
+        TableItem.setUpdateSink(uiBuffer);
+        uiBuffer.start();
+
         loadTables(null);
 
         // Placeholder, solange keine Items vorhanden sind
@@ -161,6 +232,19 @@ public class MainController {
         tablesContainer.setPickOnBounds(false);
     }
 
+    private static TableCell<TableItem, String> countCell(java.util.function.Predicate<TableItem> estimated) {
+        return new TableCell<>() {
+            @Override protected void updateItem(String v, boolean empty) {
+                super.updateItem(v, empty);
+                if (empty || v == null) { setText(null); setTooltip(null); return; }
+                TableItem item = getTableRow() == null ? null : getTableRow().getItem();
+                boolean est = item != null && estimated.test(item);
+                setText(est ? "≈" + v : v);
+                setTooltip(est ? new Tooltip("geschätzt (Statistik/Stichprobe) – exakt über Kontextmenü") : null);
+            }
+        };
+    }
+
     /** Eine Aktionsspalte mit mehreren Buttons (Copy/Stop/Show/Delete/Create). */
     private void setupActionColumn() {
         colAction.setSortable(false);
@@ -301,11 +385,74 @@ public class MainController {
                 String res = dlg.showAndWait().orElse(null);
                 if (res != null) {
                     try { WhereStore.saveWhere(sourceCfg.getSchema(), table, res); } catch (Exception ex) { ex.printStackTrace(); }
-                    overviewTable.refresh();
                     runCountsForItems(List.of(ti));
                 }
             });
-            cm.getItems().add(edit);
+            MenuItem resetCp = new MenuItem("Checkpoint verwerfen");
+            resetCp.setOnAction(ev -> {
+                TableItem ti = row.getItem(); if (ti==null) return;
+                int n = CheckpointStore.clearAll(sourceCfg.getUrl(), sourceCfg.getSchema(), targetCfg.getUrl(), targetCfg.getSchema(), ti.getTableName());
+                ti.setStatus(n > 0 ? "checkpoint removed" : "no checkpoint");
+            });
+            MenuItem verify = new MenuItem("Verifizieren (Hash je Bereich)");
+            verify.setOnAction(ev -> { TableItem ti = row.getItem(); if (ti != null) onVerify(ti, false); });
+            MenuItem repair = new MenuItem("Verifizieren und reparieren");
+            repair.setOnAction(ev -> { TableItem ti = row.getItem(); if (ti != null) onVerify(ti, true); });
+            MenuItem wmCol = new MenuItem("Watermark-Spalte festlegen…");
+            wmCol.setOnAction(ev -> {
+                TableItem ti = row.getItem(); if (ti==null) return;
+                WatermarkStore.Watermark wm = WatermarkStore.load(sourceCfg.getUrl(), sourceCfg.getSchema(), targetCfg.getUrl(), targetCfg.getSchema(), ti.getTableName());
+                TextInputDialog dlg = new TextInputDialog(wm == null || wm.column == null ? "" : wm.column);
+                dlg.setTitle("Delta-Sync");
+                dlg.setHeaderText("Tabelle: " + ti.getTableName() + (wm != null && wm.lastLiteral != null ? "\nLetzte Watermark: " + wm.lastLiteral : ""));
+                dlg.setContentText("Spalte (leer = PK):");
+                dlg.showAndWait().ifPresent(col -> {
+                    try { WatermarkStore.setColumn(sourceCfg.getUrl(), sourceCfg.getSchema(), targetCfg.getUrl(), targetCfg.getSchema(), ti.getTableName(), col); }
+                    catch (Exception ex) { showError("Watermark", ex); }
+                });
+            });
+            MenuItem wmReset = new MenuItem("Watermark zurücksetzen");
+            wmReset.setOnAction(ev -> {
+                TableItem ti = row.getItem(); if (ti==null) return;
+                WatermarkStore.Watermark wm = WatermarkStore.load(sourceCfg.getUrl(), sourceCfg.getSchema(), targetCfg.getUrl(), targetCfg.getSchema(), ti.getTableName());
+                try {
+                    if (wm != null) WatermarkStore.save(sourceCfg.getUrl(), sourceCfg.getSchema(), targetCfg.getUrl(), targetCfg.getSchema(), ti.getTableName(),
+                            new WatermarkStore.Watermark(wm.column, null));
+                    ti.setStatus(wm != null && wm.lastLiteral != null ? "watermark reset" : "no watermark");
+                } catch (Exception ex) { showError("Watermark", ex); }
+            });
+            MenuItem exact = new MenuItem("Exakt zählen (COUNT)");
+            exact.setOnAction(ev -> {
+                List<TableItem> sel = new ArrayList<>(overviewTable.getSelectionModel().getSelectedItems());
+                if (sel.isEmpty() && row.getItem() != null) sel.add(row.getItem());
+                runExactCounts(sel);
+            });
+            MenuItem commit = new MenuItem("Commit-Policy festlegen…");
+            commit.setOnAction(ev -> {
+                List<TableItem> sel = new ArrayList<>(overviewTable.getSelectionModel().getSelectedItems());
+                if (sel.isEmpty() && row.getItem() != null) sel.add(row.getItem());
+                if (sel.isEmpty()) return;
+                CommitPolicy cur = sel.get(0).getCommitPolicy();
+                TextInputDialog dlg = new TextInputDialog(cur == null ? "" : cur.toString());
+                dlg.setTitle("Commit-Policy");
+                dlg.setHeaderText((sel.size() == 1 ? "Tabelle: " + sel.get(0).getTableName() : sel.size() + " Tabellen") +
+                        "\nbatch | single | single<=20000 | rows=50000,bytes=64m,time=30s");
+                dlg.setContentText("Policy (leer = Vorgabe):");
+                dlg.showAndWait().ifPresent(text -> {
+                    try {
+                        CommitPolicy p = text.isBlank() ? null : CommitPolicy.parse(text);
+                        for (TableItem ti : sel) {
+                            ti.setCommitPolicy(p);
+                            CommitPolicyStore.save(sourceCfg.getSchema(), ti.getTableName(), p);
+                        }
+                    } catch (Exception ex) { showError("Commit-Policy", ex); }
+                });
+            });
+            MenuItem spoolOut = new MenuItem("In Spool-Datei exportieren");
+            spoolOut.setOnAction(ev -> { TableItem ti = row.getItem(); if (ti != null) onSpoolExport(ti); });
+            MenuItem spoolIn = new MenuItem("Aus Spool-Datei importieren");
+            spoolIn.setOnAction(ev -> { TableItem ti = row.getItem(); if (ti != null) onSpoolImport(ti); });
+            cm.getItems().addAll(edit, exact, resetCp, new SeparatorMenuItem(), verify, repair, new SeparatorMenuItem(), wmCol, wmReset, commit, new SeparatorMenuItem(), spoolOut, spoolIn);
             row.setOnContextMenuRequested((ContextMenuEvent e) -> { if (!row.isEmpty()) cm.show(row, e.getScreenX(), e.getScreenY()); });
             row.setOnMousePressed(e -> cm.hide());
             return row;
@@ -331,12 +478,18 @@ public class MainController {
             dialog.setHeight(500);
 
             dialog.showAndWait();
+            CopyPlan.invalidateAll(); // Verbindungen evtl. geändert
+            MetadataCache.invalidateAll();
+            ConnectionPool.closeAll();
         } catch (Exception ex) {
             showError("Konfiguration konnte nicht geöffnet werden", ex);
         }
     }
 
     private void loadTables(ActionEvent e) {
+        CopyPlan.invalidateAll(); // explizites Neuladen verwirft auch gecachte Kopierpläne
+        MetadataCache.invalidateAll(); // und die Dictionary-Metadaten
+        WhereStore.invalidate(); // WHERE-Dateien neu einlesen
         Task<List<String>> task = new Task<>() {
             @Override protected List<String> call() throws Exception {
                 try (Connection src = DBManager.open(sourceCfg)) {
@@ -397,28 +550,208 @@ public class MainController {
 
     // --- Aktionen in der Tabelle --------------------------------------------
 
-    private void startMigration(TableItem item) {
-        item.getStopSignal().reset();
+    private int readBatchSize() {
         int batch = 1000;
         try {
             if (batchSizeField.getText()!=null && !batchSizeField.getText().isBlank())
                 batch = Integer.parseInt(batchSizeField.getText().trim());
         } catch (NumberFormatException ex) { batch = 1000; }
+        return batch;
+    }
 
-        MigrationTask task = new MigrationTask(sourceCfg, targetCfg, item.getTableName(), item, batch);
+    private void startMigration(TableItem item) {
+        item.getStopSignal().reset();
+        CopyOptions opts = buildCopyOptions();
+
+        MigrationTask task = new MigrationTask(sourceCfg, targetCfg, item.getTableName(), item, opts);
         task.setOnFailed(ev -> {
             Throwable ex = task.getException();
             item.setStatus("error: " + (ex!=null?ex.getMessage():"unknown"));
-            updateSumLabel();
-            overviewTable.sort(); // falls nach CNT/Size sortiert ist
-        });
-        task.setOnSucceeded(ev -> {
-            updateSumLabel();
-            overviewTable.sort();
         });
         executor.submit(task);
     }
 
+    /** Optionen aus den Feldern/Checkboxen links. */
+    private CopyOptions buildCopyOptions() {
+        int batch = readBatchSize();
+
+        int chunks = 1;
+        try {
+            if (chunksField.getText()!=null && !chunksField.getText().isBlank())
+                chunks = Integer.parseInt(chunksField.getText().trim());
+        } catch (NumberFormatException ex) { chunks = 1; }
+
+        CopyOptions opts = new CopyOptions();
+        opts.setCommitBatch(batch);
+        opts.setCommitPolicy(readCommitPolicy());
+        opts.setChunks(chunks);
+        opts.setPipelined(pipelineCheck.isSelected());
+        opts.setAdaptive(adaptiveCheck.isSelected());
+        opts.setDirectPath(directPathCheck.isSelected());
+        opts.setNoLogging(directPathCheck.isSelected() && noLoggingCheck.isSelected());
+        opts.setResumable(resumableCheck.isSelected());
+        opts.setRawDatums(rawDatumCheck.isSelected());
+        opts.setLobLane(lobLaneCheck.isSelected());
+        opts.setServerSide(serverSideCheck.isSelected());
+        opts.setDelta(deltaCheck.isSelected());
+        opts.setVerify(verifyCheck.isSelected());
+        return opts;
+    }
+
+    /** Vorgabe-Policy aus dem Feld links; ungültige Eingabe → Fehlermeldung und Commit je Batch. */
+    private CommitPolicy readCommitPolicy() {
+        try {
+            return CommitPolicy.parse(commitPolicyField.getText());
+        } catch (IllegalArgumentException ex) {
+            showError("Commit-Policy", ex);
+            return CommitPolicy.BATCH;
+        }
+    }
+
+    private static int parseInt(TextField f, int def) {
+        try {
+            if (f.getText()!=null && !f.getText().isBlank()) return Integer.parseInt(f.getText().trim());
+        } catch (NumberFormatException ex) { /* Standardwert */ }
+        return def;
+    }
+
+    /** Alle Tabellen der Übersicht über den Scheduler migrieren (FK-Reihenfolge, größte zuerst, Session-Limits). */
+    private void migrateAll() {
+        if (tableModels.isEmpty() || scheduler != null) return;
+        MigrationScheduler s = new MigrationScheduler(sourceCfg, targetCfg, buildCopyOptions(),
+                parseInt(srcSessionsField, 4), parseInt(dstSessionsField, 4));
+        scheduler = s;
+        migrateAllButton.setDisable(true);
+        List<TableItem> items = new ArrayList<>(tableModels);
+        Thread t = new Thread(() -> {
+            try {
+                s.run(items, it -> { }); // Zeilen melden sich selbst über den Puffer
+            } catch (Exception ex) {
+                Platform.runLater(() -> showError("Scheduler", ex));
+            } finally {
+                Platform.runLater(() -> { scheduler = null; migrateAllButton.setDisable(false); });
+            }
+        }, "migration-scheduler");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Schema-DDL für alle Tabellen der Übersicht: 1) nackte Tabellen vor dem Laden,
+     * 2) PK/Indizes mit Parallelgrad nach dem Laden, 3) FKs. Jede DDL erscheint mit Dauer im Status.
+     */
+    private void runSchemaPhase(int phase) {
+        if (tableModels.isEmpty()) return;
+        List<String> tables = new ArrayList<>();
+        for (TableItem it : tableModels) tables.add(it.getTableName());
+        int degree = parseInt(ddlParallelField, 4);
+        int sessions = parseInt(dstSessionsField, 4);
+        SchemaBuilder b = new SchemaBuilder(sourceCfg, targetCfg, (table, ddl, ms, error) -> {
+            TableItem it = overview.get(table);
+            if (it == null) return;
+            String verb = ddl.length() > 40 ? ddl.substring(0, 40) + "…" : ddl;
+            String s = error == null ? "ddl ok " + ms + " ms: " + verb : "ddl failed: " + verb + " → " + error;
+            it.setStatus(s);
+        });
+        ddlTablesButton.setDisable(true); ddlIndexesButton.setDisable(true); ddlFksButton.setDisable(true);
+        Task<Integer> t = new Task<>() {
+            @Override protected Integer call() throws Exception {
+                return switch (phase) {
+                    case 1 -> b.createTables(tables);
+                    case 2 -> b.buildKeysAndIndexes(tables, degree, sessions);
+                    default -> b.addForeignKeys(tables);
+                };
+            }
+        };
+        Runnable done = () -> { ddlTablesButton.setDisable(false); ddlIndexesButton.setDisable(false); ddlFksButton.setDisable(false); };
+        t.setOnSucceeded(ev -> {
+            done.run();
+            if (t.getValue() > 0) showError("Schema-DDL", new SQLException(t.getValue() + " DDL-Anweisung(en) fehlgeschlagen, siehe Status"));
+            if (phase == 1) runCountsForItems(new ArrayList<>(tableModels));
+        });
+        t.setOnFailed(ev -> { done.run(); showError("Schema-DDL", t.getException()); });
+        executor.submit(t);
+    }
+
+    /** Quelle und Ziel bereichsweise per Hash vergleichen, optional abweichende Zeilen nachkopieren. */
+    private void onVerify(TableItem item, boolean repair) {
+        String table = item.getTableName();
+        item.getStopSignal().reset();
+        CopyOptions opts = buildCopyOptions();
+        int sessions = Math.max(1, Math.min(parseInt(srcSessionsField, 4), parseInt(dstSessionsField, 4)));
+        Task<VerifyEngine.Result> t = new Task<>() {
+            @Override protected VerifyEngine.Result call() throws Exception {
+                item.setStatus(repair ? "repairing …" : "verifying …");
+                String where = WhereStore.loadWhere(sourceCfg.getSchema(), table);
+                return new VerifyEngine(sourceCfg, targetCfg, sessions).verify(table, where, repair, opts,
+                        (done, all, checked, diff, repaired) -> {
+                            item.setProgress(all > 0 ? done / (double) all : 0);
+                            item.setStatus((repair ? "repairing " : "verifying ") + done + "/" + all +
+                                    (diff > 0 ? " · " + diff + " differing" : ""));
+                        }, item.getStopSignal());
+            }
+        };
+        t.setOnSucceeded(ev -> {
+            item.setProgress(0);
+            item.setStatus(t.getValue().toString());
+            if (repair && t.getValue().repaired > 0) runCountsForItems(List.of(item));
+        });
+        t.setOnFailed(ev -> { item.setProgress(0); item.setStatus("verify failed: " + t.getException().getMessage()); });
+        executor.submit(t);
+    }
+
+    /** Quelle (mit gespeichertem WHERE) in die Spool-Datei schreiben – Ziel wird nicht benötigt. */
+    private void onSpoolExport(TableItem item) {
+        String table = item.getTableName();
+        item.getStopSignal().reset();
+        Path file = SpoolFile.defaultPath(sourceCfg.getSchema(), table);
+        Task<Long> t = new Task<>() {
+            @Override protected Long call() throws Exception {
+                item.setStatus("spooling …");
+                try (Connection src = DBManager.open(sourceCfg)) {
+                    String where = WhereStore.loadWhere(sourceCfg.getSchema(), table);
+                    return SpoolFile.export(src, sourceCfg.getSchema(), table, where, file,
+                            (copied, rate) -> {
+                                item.setTransferred((int) copied);
+                                item.setRate(rate);
+                                item.setStatus("spooling " + copied);
+                            }, item.getStopSignal());
+                }
+            }
+        };
+        t.setOnSucceeded(ev -> item.setStatus("spooled " + t.getValue() + " → " + file.getFileName()));
+        t.setOnFailed(ev -> item.setStatus("spool failed: " + t.getException().getMessage()));
+        executor.submit(t);
+    }
+
+    /** Spool-Datei per Batch-Insert ins Ziel laden – Quelle wird nicht benötigt. */
+    private void onSpoolImport(TableItem item) {
+        String table = item.getTableName();
+        item.getStopSignal().reset();
+        Path file = SpoolFile.defaultPath(sourceCfg.getSchema(), table);
+        if (!Files.exists(file)) { item.setStatus("no spool file"); return; }
+        int batch = readBatchSize();
+        Task<Long> t = new Task<>() {
+            @Override protected Long call() throws Exception {
+                item.setStatus("importing …");
+                try (Connection dst = DBManager.open(targetCfg)) {
+                    return SpoolFile.importInto(dst, targetCfg.getSchema(), file, batch,
+                            (copied, rate) -> {
+                                item.setTransferred((int) copied);
+                                item.setRate(rate);
+                                item.setStatus("importing " + copied);
+                            }, item.getStopSignal());
+                }
+            }
+        };
+        t.setOnSucceeded(ev -> {
+            item.setStatus("imported " + t.getValue());
+            runCountsForItems(List.of(item));
+        });
+        t.setOnFailed(ev -> item.setStatus("import failed: " + t.getException().getMessage()));
+        executor.submit(t);
+    }
+
     private void onCreateTarget(TableItem item) {
         String table = item.getTableName();
         Task<Void> t = new Task<>() {
@@ -426,16 +759,15 @@ public class MainController {
                 try (Connection src = DBManager.open(sourceCfg); Connection dst = DBManager.open(targetCfg)) {
                     boolean exists = DBManager.tableExists(dst, targetCfg.getSchema(), table);
                     if (!exists) {
-                        DBManager.createTableLikeSource(src, sourceCfg.getSchema(), dst, targetCfg.getSchema(), table);
-                        Platform.runLater(() -> item.setStatus("target created"));
-                    } else Platform.runLater(() -> item.setStatus("target exists"));
+                        item.setStatus(DBManager.createdStatus(
+                                DBManager.createTableLikeSource(src, sourceCfg.getSchema(), dst, targetCfg.getSchema(), table)));
+                    } else item.setStatus("target exists");
+                    Platform.runLater(() -> runCountsForItems(List.of(item)));
+                } catch (Exception ex) {
                     Platform.runLater(() -> {
+                        item.setStatus("create failed: " + ex.getMessage());
                         runCountsForItems(List.of(item));
-                        updateSumLabel();
-                        overviewTable.sort();
                     });
-                } catch (Exception ex) {
-                    Platform.runLater(() -> item.setStatus("create failed: " + ex.getMessage()));
                 }
                 return null;
             }
@@ -467,6 +799,7 @@ public class MainController {
 
         final TableItem itemRef = item;
         final int commitBatchRef = batchSize;
+        final boolean noLoggingRef = directPathCheck.isSelected() && noLoggingCheck.isSelected();
         final long startedRef = System.nanoTime();
         final long toDeleteRef = toDelete;
         final String whereRef = where;
@@ -478,31 +811,24 @@ public class MainController {
                         final double frac = toDeleteRef > 0 ? (double)deletedSoFar/(double)toDeleteRef : 0.0;
                         final double sec = (System.nanoTime()-startedRef)/1_000_000_000.0;
                         final double rate = Math.round(sec>0 ? deletedSoFar/sec : 0);
-                        Platform.runLater(() -> {
-                            itemRef.setTransferred((int)deletedSoFar);
-                            itemRef.setProgress(Math.min(1.0, frac));
-                            itemRef.setRate(rate);
-                            itemRef.setStatus("deleting " + deletedSoFar + "/" + toDeleteRef + " (batch " + commitBatchRef + ")");
-                        });
+                        itemRef.setTransferred((int)deletedSoFar);
+                        itemRef.setProgress(Math.min(1.0, frac));
+                        itemRef.setRate(rate);
+                        itemRef.setStatus("deleting " + deletedSoFar + "/" + toDeleteRef);
                     };
-                    final int affected = DBManager.deleteRowsInBatches(dst, targetCfg.getSchema(), table, whereRef, commitBatchRef, listener, item.getStopSignal());
+                    CleanupEngine engine = new CleanupEngine(targetCfg, parseInt(dstSessionsField, 4), commitBatchRef, noLoggingRef);
+                    CleanupEngine.Result res = engine.delete(table, whereRef, toDeleteRef, CleanupEngine.Strategy.AUTO,
+                            listener, item.getStopSignal());
+                    final long affected = res.deleted;
                     long remaining; try { remaining = DBManager.countRows(dst, targetCfg.getSchema(), table, whereRef); } catch (Exception ex) { remaining = -1; }
                     final long remainingRef = remaining;
-                    Platform.runLater(() -> {
-                        itemRef.setDeleting(false);
-                        itemRef.setStatus("deleted " + affected + " (target)");
-                        if (remainingRef >= 0) itemRef.setDstCount(Long.toString(remainingRef));
-                        itemRef.setProgress(0);
-                        updateSumLabel();
-                        overviewTable.sort();
-                    });
+                    itemRef.setDeleting(false);
+                    itemRef.setStatus("deleted " + affected + " (target, " + res.strategy + ")");
+                    if (remainingRef >= 0) itemRef.setDstCount(Long.toString(remainingRef));
+                    itemRef.setProgress(0);
                 } catch (Exception ex) {
-                    Platform.runLater(() -> {
-                        itemRef.setDeleting(false);
-                        itemRef.setStatus("delete failed: " + ex.getMessage());
-                        updateSumLabel();
-                        overviewTable.sort();
-                    });
+                    itemRef.setDeleting(false);
+                    itemRef.setStatus("delete failed: " + ex.getMessage());
                 }
                 return null;
             }
@@ -510,8 +836,6 @@ public class MainController {
         delTask.setOnFailed(ev -> {
             itemRef.setDeleting(false);
             itemRef.setStatus("delete failed: " + delTask.getException().getMessage());
-            updateSumLabel();
-            overviewTable.sort();
         });
         executor.submit(delTask);
     }
@@ -524,25 +848,15 @@ public class MainController {
             showAlert(Alert.AlertType.INFORMATION, "Keine Auswahl", "Bitte zuerst eine oder mehrere Tabellen links auswählen.");
             return;
         }
-        int before = tableModels.size();
-        List<TableItem> newly = new ArrayList<>();
-        for (String t : sel) {
-            if (tableModels.stream().noneMatch(m -> m.getTableName().equalsIgnoreCase(t))) {
-                TableItem itm = new TableItem(t);
-                tableModels.add(itm);
-                newly.add(itm);
-            }
-        }
-        overviewTable.refresh();
-        int added = tableModels.size() - before;
-        if (added == 0) {
+        List<TableItem> newly = overview.addAll(sel);
+        applyStoredCommitPolicies(newly);
+        if (newly.isEmpty()) {
             showAlert(Alert.AlertType.INFORMATION, "Schon vorhanden", "Alle ausgewählten Tabellen sind bereits in der Übersicht.");
             return;
         }
-        overviewTable.scrollTo(tableModels.size() - 1);
-        if (!newly.isEmpty()) runCountsForItems(newly);
-        updateSumLabel();
-        overviewTable.sort();
+        overviewTable.scrollTo(newly.get(newly.size() - 1));
+        runCountsForItems(newly);
+        uiBuffer.requestSort();
     }
 
     private void addAllToOverview() {
@@ -550,45 +864,104 @@ public class MainController {
             showAlert(Alert.AlertType.INFORMATION, "Keine Tabellen geladen", "Bitte zuerst auf \"Tabellen laden\" klicken.");
             return;
         }
-        int before = tableModels.size();
-        List<TableItem> newly = new ArrayList<>();
-        for (String t : availableTables) {
-            if (tableModels.stream().noneMatch(m -> m.getTableName().equalsIgnoreCase(t))) {
-                TableItem itm = new TableItem(t);
-                tableModels.add(itm);
-                newly.add(itm);
-            }
-        }
-        overviewTable.refresh();
-        int added = tableModels.size() - before;
-        if (added == 0) {
+        List<TableItem> newly = overview.addAll(availableTables);
+        applyStoredCommitPolicies(newly);
+        if (newly.isEmpty()) {
             showAlert(Alert.AlertType.INFORMATION, "Schon vollständig", "Alle geladenen Tabellen sind bereits in der Übersicht.");
             return;
         }
-        overviewTable.scrollTo(tableModels.size() - 1);
-        if (!newly.isEmpty()) runCountsForItems(newly);
-        updateSumLabel();
-        overviewTable.sort();
+        overviewTable.scrollTo(newly.get(newly.size() - 1));
+        runCountsForItems(newly);
+        uiBuffer.requestSort();
+    }
+
+    /** Gespeicherte Commit-Policies (je Quellschema) auf neu angelegte Zeilen übertragen. */
+    private void applyStoredCommitPolicies(List<TableItem> items) {
+        if (items.isEmpty()) return;
+        Map<String, CommitPolicy> stored = CommitPolicyStore.loadAll(sourceCfg.getSchema());
+        if (stored.isEmpty()) return;
+        for (TableItem it : items) {
+            CommitPolicy p = stored.get(it.getTableName().toUpperCase());
+            if (p != null) it.setCommitPolicy(p);
+        }
     }
 
     private void removeSelectedFromOverview() {
         var selItems = new ArrayList<>(overviewTable.getSelectionModel().getSelectedItems());
-        tableModels.removeAll(selItems);
-        overviewTable.refresh();
-        updateSumLabel();
-        overviewTable.sort();
+        overview.removeAll(selItems);
     }
 
     private void clearOverview() {
-        tableModels.clear();
-        overviewTable.refresh();
-        updateSumLabel();
-        overviewTable.sort();
+        overview.clear();
     }
 
     // --- Zähl-/Größen-Tasks --------------------------------------------------
 
+    /**
+     * Übersicht im Block: Segmentgrößen und Statistik-Zeilenzahlen beider Seiten mit je einer Abfrage,
+     * danach pro Tabelle parallel COUNT (klein), Statistik oder Stichprobe – Schätzungen mit "≈" markiert.
+     */
     private void runCountsForItems(Collection<TableItem> items) {
+        List<TableItem> list = new ArrayList<>();
+        for (TableItem it : items) if (it != null && it.getTableName() != null) list.add(it);
+        if (list.isEmpty()) return;
+        Task<Void> bulk = new Task<>() {
+            @Override protected Void call() throws Exception {
+                Map<String, Long> srcBytes, srcStats, dstBytes, dstStats;
+                Set<String> dstTables;
+                boolean srcOwn, dstOwn;
+                try (Connection src = DBManager.open(sourceCfg)) {
+                    srcOwn = sourceCfg.getSchema().equalsIgnoreCase(src.getMetaData().getUserName());
+                    srcBytes = OverviewEstimator.segmentBytes(src);
+                    srcStats = OverviewEstimator.statsRows(src, sourceCfg.getSchema());
+                }
+                try (Connection dst = DBManager.open(targetCfg)) {
+                    dstOwn = targetCfg.getSchema().equalsIgnoreCase(dst.getMetaData().getUserName());
+                    dstBytes = OverviewEstimator.segmentBytes(dst);
+                    dstStats = OverviewEstimator.statsRows(dst, targetCfg.getSchema());
+                    dstTables = OverviewEstimator.existingTables(dst, targetCfg.getSchema());
+                }
+                for (TableItem item : list) {
+                    Long b = srcBytes.get(item.getTableName().toUpperCase());
+                    item.setSizeMB(b == null ? 0.0 : b / (1024.0 * 1024.0));
+                    if (!dstTables.contains(item.getTableName().toUpperCase())) item.setDstCount("table not exists");
+                }
+                for (TableItem item : list) {
+                    String t = item.getTableName().toUpperCase();
+                    long sb = srcOwn ? srcBytes.getOrDefault(t, 0L) : srcBytes.getOrDefault(t, -1L);
+                    long db = dstOwn ? dstBytes.getOrDefault(t, 0L) : dstBytes.getOrDefault(t, -1L);
+                    boolean onDst = dstTables.contains(t);
+                    executor.submit(() -> {
+                        String where = WhereStore.loadWhere(sourceCfg.getSchema(), item.getTableName());
+                        try (Connection src = DBManager.open(sourceCfg)) {
+                            OverviewEstimator.Estimate e = OverviewEstimator.estimate(src, sourceCfg.getSchema(),
+                                    item.getTableName(), where, srcStats.get(t), sb);
+                            if (e.exact) item.setSrcCount(Long.toString(e.rows)); else item.setSrcEstimate(e.rows);
+                        } catch (Exception ex) {
+                            item.setSrcCount("error");
+                            System.out.println("Fehler: " + ex.getMessage());
+                        }
+                        if (!onDst) return null;
+                        try (Connection dst = DBManager.open(targetCfg)) {
+                            OverviewEstimator.Estimate e = OverviewEstimator.estimate(dst, targetCfg.getSchema(),
+                                    item.getTableName(), where, dstStats.get(t), db);
+                            if (e.exact) item.setDstCount(Long.toString(e.rows)); else item.setDstEstimate(e.rows);
+                        } catch (Exception ex) {
+                            item.setDstCount("error");
+                            System.out.println("Fehler: " + ex.getMessage());
+                        }
+                        return null;
+                    });
+                }
+                return null;
+            }
+        };
+        bulk.setOnFailed(ev -> showError("Übersicht fehlgeschlagen", bulk.getException()));
+        executor.submit(bulk);
+    }
+
+    /** Exakte COUNT(*) auf Anforderung, parallel je Tabelle (Vollscan auf großen Tabellen). */
+    private void runExactCounts(Collection<TableItem> items) {
         for (TableItem it : items) {
             if (it == null || it.getTableName() == null) continue;
             final TableItem item = it; final String tbl = it.getTableName();
@@ -601,41 +974,26 @@ public class MainController {
                         DBManager.CountAndSize cs =
                                 DBManager.getCountAndSizeFromSource(src, sourceCfg.getSchema(), tbl, where);
 
-                        Platform.runLater(() -> {
-                            item.setSrcCount(Long.toString(cs.rowCount));
-                            double mb = cs.totalBytes / (1024.0 * 1024.0);
-                            item.setSizeMB(mb);
-                            updateSumLabel();
-                            overviewTable.sort(); // falls nach CNT/Size sortiert ist
-                        });
+                        item.setSrcCount(Long.toString(cs.rowCount));
+                        item.setSizeMB(cs.totalBytes / (1024.0 * 1024.0));
 
                     } catch (Exception ex) {
-                        Platform.runLater(() -> item.setSrcCount("error"));
-                        Platform.runLater(() -> item.setSize("n/a"));
+                        item.setSrcCount("error");
+                        item.setSize("n/a");
                         System.out.println("Fehler: " + ex.getMessage());
-                        Platform.runLater(() -> {
-                            updateSumLabel();
-                            overviewTable.sort();
-                        });
                     }
                     // Ziel zählen
                     try (Connection dst = DBManager.open(targetCfg)) {
                         final String where2 = WhereStore.loadWhere(sourceCfg.getSchema(), tbl);
                         final boolean exists = DBManager.tableExists(dst, targetCfg.getSchema(), tbl);
                         if (!exists) {
-                            Platform.runLater(() -> item.setDstCount("table not exists"));
+                            item.setDstCount("table not exists");
                         } else {
                             final long c2 = DBManager.countRows(dst, targetCfg.getSchema(), tbl, where2);
-                            Platform.runLater(() -> {
-                                item.setDstCount(Long.toString(c2));
-                                overviewTable.sort(); // numerische Sortierung anwenden
-                            });
+                            item.setDstCount(Long.toString(c2));
                         }
                     } catch (Exception ex) {
-                        Platform.runLater(() -> {
-                            item.setDstCount("error");
-                            overviewTable.sort();
-                        });
+                        item.setDstCount("error");
                         System.out.println("Fehler: " + ex.getMessage());
                     }
                     return null;
@@ -649,13 +1007,7 @@ public class MainController {
 
     private void updateSumLabel() {
         if (sumLabel == null) return; // falls FXML noch nicht ergänzt
-        double sum = overviewTable.getItems().stream()
-                .mapToDouble(item -> {
-                    Number n = item.sizeMBProperty().get();
-                    return n == null ? 0.0 : n.doubleValue();
-                })
-                .sum();
-        sumLabel.setText(String.format("Summe Größe: %.2f MB", sum));
+        sumLabel.setText(String.format("Summe Größe: %.2f MB", overview.getSizeSum()));
     }
 
     // --- Hilfsfunktionen: numerische Sortierung für String-Spalten ----------
@@ -669,7 +1021,7 @@ public class MainController {
     }
 
     /** Zahlen zuerst (numerisch), Nicht-Zahlen zuletzt (alphabetisch, Nulls ganz zuletzt). */
-    private static int compareCountStringsAsLong(String a, String b) {
+    static int compareCountStringsAsLong(String a, String b) {
         Long la = tryParseLong(a);
         Long lb = tryParseLong(b);
         if (la != null && lb != null) return Long.compare(la, lb);
@@ -0,0 +1,335 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary-Metadaten eines ganzen Schemas (Spalten, PK, Indizes, FKs), geladen mit wenigen
+ * mengenbasierten Abfragen statt einzelner ALL_*-Zugriffe je Tabelle/Index/FK.
+ * Einzelne Tabellen können verworfen werden und werden dann bei Bedarf einzeln nachgeladen.
+ */
+public class MetadataCache {
+
+    public static final class Column {
+        public final String name, dataType, charUsed, nullable;
+        public final int length;
+        public final Integer precision, scale;
+        String dataDefault;
+        Column(String name, String dataType, int length, String charUsed, Integer precision, Integer scale, String nullable) {
+            this.name = name; this.dataType = dataType; this.length = length; this.charUsed = charUsed;
+            this.precision = precision; this.scale = scale; this.nullable = nullable;
+        }
+        public String getDataDefault() { return dataDefault; }
+    }
+
+    /** PK oder Index: Name + Spalten in Reihenfolge. */
+    public static final class Key {
+        public final String name;
+        public final boolean unique;
+        public final List<String> columns = new ArrayList<>();
+        Key(String name, boolean unique) { this.name = name; this.unique = unique; }
+    }
+
+    public static final class ForeignKey {
+        public final String name, refOwner, refTable;
+        public final List<String> columns = new ArrayList<>();
+        public final List<String> refColumns = new ArrayList<>();
+        ForeignKey(String name, String refOwner, String refTable) { this.name = name; this.refOwner = refOwner; this.refTable = refTable; }
+    }
+
+    public static final class TableMeta {
+        public final List<Column> columns = new ArrayList<>();
+        public Key primaryKey;
+        public final List<Key> indexes = new ArrayList<>();
+        public final List<ForeignKey> foreignKeys = new ArrayList<>();
+    }
+
+    private static final TableMeta EMPTY = new TableMeta();
+
+    /** Metadaten eines Schemas auf einer Datenbank. */
+    public static final class SchemaMeta {
+        private final String schema;
+        private final Map<String, TableMeta> tables = new ConcurrentHashMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+
+        SchemaMeta(String schema) { this.schema = schema; }
+
+        /** Metadaten der Tabelle; verworfene oder später angelegte Tabellen werden einzeln gelesen. */
+        public TableMeta table(Connection conn, String table) throws SQLException {
+            String t = table.toUpperCase();
+            TableMeta tm = tables.get(t);
+            if (tm != null) return tm;
+            tm = SqlDialect.of(conn).loadMetadata(conn, schema, t).getOrDefault(t, EMPTY);
+            if (tm != EMPTY) tables.put(t, tm);
+            return tm;
+        }
+
+        void forget(String table) { tables.remove(table.toUpperCase()); }
+
+        /** Kind → Elterntabellen (gleiches Schema, ohne Selbstbezug). */
+        public Map<String, Set<String>> fkParents() {
+            Map<String, Set<String>> parents = new HashMap<>();
+            for (Map.Entry<String, TableMeta> e : tables.entrySet()) {
+                for (ForeignKey fk : e.getValue().foreignKeys) {
+                    if (schema.equalsIgnoreCase(fk.refOwner) && !fk.refTable.equals(e.getKey()))
+                        parents.computeIfAbsent(e.getKey(), k -> new HashSet<>()).add(fk.refTable);
+                }
+            }
+            return parents;
+        }
+
+        public int tableCount() { return tables.size(); }
+        public long loadedAt() { return loadedAt; }
+    }
+
+    private static final Map<String, SchemaMeta> CACHE = new ConcurrentHashMap<>();
+
+    private static void log(String s) { System.out.println("[metadata] " + s); }
+
+    private static String key(Connection conn, String schema) throws SQLException {
+        DatabaseMetaData md = conn.getMetaData();
+        return md.getURL() + "|" + md.getUserName() + "|" + schema.toUpperCase();
+    }
+
+    /** Schema-Metadaten aus dem Cache oder neu geladen. */
+    public static SchemaMeta get(Connection conn, String schema) throws SQLException {
+        String k = key(conn, schema);
+        SchemaMeta sm = CACHE.get(k);
+        if (sm == null) {
+            sm = refresh(conn, schema);
+        }
+        return sm;
+    }
+
+    /** Kurzform für {@code get(conn, schema).table(conn, table)}. */
+    public static TableMeta table(Connection conn, String schema, String table) throws SQLException {
+        return get(conn, schema).table(conn, table);
+    }
+
+    /** Lädt das ganze Schema neu. */
+    public static SchemaMeta refresh(Connection conn, String schema) throws SQLException {
+        long t0 = System.nanoTime();
+        SchemaMeta sm = new SchemaMeta(schema.toUpperCase());
+        sm.tables.putAll(SqlDialect.of(conn).loadMetadata(conn, sm.schema, null));
+        CACHE.put(key(conn, schema), sm);
+        log(schema.toUpperCase() + ": " + sm.tables.size() + " Tabellen in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        return sm;
+    }
+
+    /** Verwirft eine Tabelle (z. B. nach CREATE/ALTER); sie wird beim nächsten Zugriff einzeln gelesen. */
+    public static void invalidate(Connection conn, String schema, String table) throws SQLException {
+        SchemaMeta sm = CACHE.get(key(conn, schema));
+        if (sm != null) sm.forget(table);
+    }
+
+    public static void invalidateAll() { CACHE.clear(); }
+
+    // --- Laden ---------------------------------------------------------------
+
+    /** Lädt alle Tabellen des Schemas ({@code table == null}) oder nur eine aus dem Oracle-Dictionary. */
+    static Map<String, TableMeta> loadDictionary(Connection conn, String schema, String table) throws SQLException {
+        Map<String, TableMeta> tables = new HashMap<>();
+        String filter = table == null ? "" : " AND %s.table_name = ?";
+
+        // 1) Spalten (ohne LONG-Spalte data_default, damit der Treiber normal vorausliest)
+        Map<String, Map<String, Column>> byName = new HashMap<>();
+        String colSql = "SELECT c.table_name, c.column_name, c.data_type, c.data_length, c.char_used, c.data_precision, " +
+                "c.data_scale, c.nullable, c.default_length FROM all_tab_columns c " +
+                "JOIN all_tables t ON t.owner = c.owner AND t.table_name = c.table_name " +
+                "WHERE c.owner = ?" + filter.replace("%s", "c") + " ORDER BY c.table_name, c.column_id";
+        boolean anyDefault = false;
+        try (PreparedStatement ps = prepare(conn, colSql, schema, table); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String tn = rs.getString(1);
+                int prec = rs.getInt(6); boolean precNull = rs.wasNull();
+                int scale = rs.getInt(7); boolean scaleNull = rs.wasNull();
+                Column c = new Column(rs.getString(2), rs.getString(3), rs.getInt(4), rs.getString(5),
+                        precNull ? null : prec, scaleNull ? null : scale, rs.getString(8));
+                tables.computeIfAbsent(tn, k -> new TableMeta()).columns.add(c);
+                byName.computeIfAbsent(tn, k -> new HashMap<>()).put(c.name, c);
+                if (rs.getInt(9) > 0) anyDefault = true;
+            }
+        }
+
+        // 2) Defaults nur für Spalten, die eines haben
+        if (anyDefault) {
+            String defSql = "SELECT c.table_name, c.column_name, c.data_default FROM all_tab_columns c " +
+                    "WHERE c.owner = ? AND c.default_length > 0" + filter.replace("%s", "c");
+            try (PreparedStatement ps = prepare(conn, defSql, schema, table); ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tn = rs.getString(1), cn = rs.getString(2), def = rs.getString(3);
+                    Column c = byName.getOrDefault(tn, Map.of()).get(cn);
+                    if (c != null) c.dataDefault = def;
+                }
+            }
+        }
+
+        // 3) PK und FKs samt Spalten (FK-Spalten paarweise mit den referenzierten Spalten)
+        String consSql = "SELECT ac.table_name, ac.constraint_name, ac.constraint_type, acc.column_name, " +
+                "r.owner, r.table_name, rcc.column_name " +
+                "FROM all_constraints ac " +
+                "JOIN all_cons_columns acc ON acc.owner = ac.owner AND acc.constraint_name = ac.constraint_name AND acc.table_name = ac.table_name " +
+                "LEFT JOIN all_constraints r ON r.owner = ac.r_owner AND r.constraint_name = ac.r_constraint_name " +
+                "LEFT JOIN all_cons_columns rcc ON rcc.owner = r.owner AND rcc.constraint_name = r.constraint_name AND rcc.position = acc.position " +
+                "WHERE ac.owner = ? AND ac.constraint_type IN ('P','R')" + filter.replace("%s", "ac") +
+                " ORDER BY ac.table_name, ac.constraint_name, acc.position";
+        try (PreparedStatement ps = prepare(conn, consSql, schema, table); ResultSet rs = ps.executeQuery()) {
+            String lastName = null;
+            Key pk = null; ForeignKey fk = null;
+            while (rs.next()) {
+                TableMeta tm = tables.get(rs.getString(1));
+                if (tm == null) continue;
+                String name = rs.getString(2);
+                boolean isPk = "P".equals(rs.getString(3));
+                if (!name.equals(lastName)) {
+                    lastName = name;
+                    if (isPk) { pk = new Key(name, true); tm.primaryKey = pk; fk = null; }
+                    else { fk = new ForeignKey(name, rs.getString(5), rs.getString(6)); tm.foreignKeys.add(fk); pk = null; }
+                }
+                if (pk != null) pk.columns.add(rs.getString(4));
+                if (fk != null) { fk.columns.add(rs.getString(4)); fk.refColumns.add(rs.getString(7)); }
+            }
+        }
+
+        // 4) Indizes mit Spalten in einer Abfrage
+        String idxSql = "SELECT i.table_name, i.index_name, i.uniqueness, ic.column_name " +
+                "FROM all_indexes i JOIN all_ind_columns ic ON ic.index_owner = i.owner AND ic.index_name = i.index_name " +
+                "WHERE i.owner = ? AND i.generated = 'N'" + filter.replace("%s", "i") +
+                " ORDER BY i.table_name, i.index_name, ic.column_position";
+        try (PreparedStatement ps = prepare(conn, idxSql, schema, table); ResultSet rs = ps.executeQuery()) {
+            String lastName = null;
+            Key idx = null;
+            while (rs.next()) {
+                TableMeta tm = tables.get(rs.getString(1));
+                if (tm == null) continue;
+                String name = rs.getString(2);
+                if (!name.equals(lastName)) {
+                    lastName = name;
+                    idx = new Key(name, "UNIQUE".equalsIgnoreCase(rs.getString(3)));
+                    tm.indexes.add(idx);
+                }
+                idx.columns.add(rs.getString(4));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Wie {@link #loadDictionary}, aber über {@link DatabaseMetaData} (je Tabelle drei Aufrufe). JDBC-Typen
+     * werden auf Oracle-Typnamen abgebildet, damit DDL und Kopierer wie bei Oracle-Quellen entstehen.
+     */
+    static Map<String, TableMeta> loadJdbc(Connection conn, String schema, String table) throws SQLException {
+        Map<String, TableMeta> tables = new LinkedHashMap<>();
+        DatabaseMetaData md = conn.getMetaData();
+        String pattern = table == null ? "%" : table;
+        // Muster: '_' ist Platzhalter, daher Schema/Tabelle exakt nachprüfen
+        try (ResultSet rs = md.getTables(null, schema, pattern, new String[] {"TABLE"})) {
+            while (rs.next()) {
+                String tn = rs.getString("TABLE_NAME");
+                if (schema.equals(rs.getString("TABLE_SCHEM")) && (table == null || table.equals(tn))) tables.put(tn, new TableMeta());
+            }
+        }
+        try (ResultSet rs = md.getColumns(null, schema, pattern, "%")) {
+            while (rs.next()) {
+                TableMeta tm = schema.equals(rs.getString("TABLE_SCHEM")) ? tables.get(rs.getString("TABLE_NAME")) : null;
+                if (tm == null) continue;
+                int jdbc = rs.getInt("DATA_TYPE");
+                int size = rs.getInt("COLUMN_SIZE");
+                int digits = rs.getInt("DECIMAL_DIGITS"); boolean digitsNull = rs.wasNull();
+                String type = oracleType(jdbc, rs.getString("TYPE_NAME"));
+                Integer prec = null, scale = null;
+                switch (jdbc) {
+                    case Types.TINYINT -> { prec = 3; scale = 0; }
+                    case Types.SMALLINT -> { prec = 5; scale = 0; }
+                    case Types.INTEGER -> { prec = 10; scale = 0; }
+                    case Types.BIGINT -> { prec = 19; scale = 0; }
+                    case Types.NUMERIC, Types.DECIMAL -> {
+                        // ohne Genauigkeit (bzw. über Oracle-Maximum) als NUMBER
+                        if (size > 0 && size <= 38) { prec = size; scale = digitsNull ? null : digits; }
+                    }
+                    default -> { }
+                }
+                Column c = new Column(rs.getString("COLUMN_NAME"), type, size, null, prec, scale,
+                        rs.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls ? "N" : "Y");
+                c.dataDefault = rs.getString("COLUMN_DEF");
+                tm.columns.add(c);
+            }
+        }
+        for (Map.Entry<String, TableMeta> e : tables.entrySet()) {
+            String tn = e.getKey();
+            TableMeta tm = e.getValue();
+
+            TreeMap<Integer, String> pkCols = new TreeMap<>();
+            String pkName = null;
+            try (ResultSet rs = md.getPrimaryKeys(null, schema, tn)) {
+                while (rs.next()) { pkName = rs.getString("PK_NAME"); pkCols.put(rs.getInt("KEY_SEQ"), rs.getString("COLUMN_NAME")); }
+            }
+            if (!pkCols.isEmpty()) {
+                tm.primaryKey = new Key(pkName != null ? pkName : "PK_" + tn, true);
+                tm.primaryKey.columns.addAll(pkCols.values());
+            }
+
+            Map<String, TreeMap<Integer, String>> idxCols = new LinkedHashMap<>();
+            Map<String, Boolean> idxUnique = new HashMap<>();
+            try (ResultSet rs = md.getIndexInfo(null, schema, tn, false, false)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic || name == null) continue;
+                    idxUnique.put(name, !rs.getBoolean("NON_UNIQUE"));
+                    idxCols.computeIfAbsent(name, k -> new TreeMap<>()).put((int) rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME"));
+                }
+            }
+            for (Map.Entry<String, TreeMap<Integer, String>> i : idxCols.entrySet()) {
+                Key idx = new Key(i.getKey(), idxUnique.get(i.getKey()));
+                idx.columns.addAll(i.getValue().values());
+                tm.indexes.add(idx);
+            }
+
+            Map<String, ForeignKey> fks = new LinkedHashMap<>();
+            try (ResultSet rs = md.getImportedKeys(null, schema, tn)) {
+                while (rs.next()) {
+                    String name = rs.getString("FK_NAME");
+                    if (name == null) name = "FK_" + tn + "_" + rs.getString("PKTABLE_NAME");
+                    ForeignKey fk = fks.get(name);
+                    if (fk == null) {
+                        fk = new ForeignKey(name, rs.getString("PKTABLE_SCHEM"), rs.getString("PKTABLE_NAME"));
+                        fks.put(name, fk);
+                    }
+                    fk.columns.add(rs.getString("FKCOLUMN_NAME"));
+                    fk.refColumns.add(rs.getString("PKCOLUMN_NAME"));
+                }
+            }
+            tm.foreignKeys.addAll(fks.values());
+        }
+        return tables;
+    }
+
+    /** JDBC-Typ → Oracle-Typname (wie in ALL_TAB_COLUMNS). */
+    static String oracleType(int jdbcType, String typeName) {
+        return switch (jdbcType) {
+            case Types.CHAR -> "CHAR";
+            case Types.VARCHAR, Types.LONGVARCHAR -> "VARCHAR2";
+            case Types.NCHAR -> "NCHAR";
+            case Types.NVARCHAR, Types.LONGNVARCHAR -> "NVARCHAR2";
+            case Types.CLOB -> "CLOB";
+            case Types.NCLOB -> "NCLOB";
+            case Types.BLOB, Types.LONGVARBINARY -> "BLOB";
+            case Types.BINARY, Types.VARBINARY -> "RAW";
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.NUMERIC, Types.DECIMAL -> "NUMBER";
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> "FLOAT";
+            case Types.DATE -> "DATE";
+            case Types.TIMESTAMP -> "TIMESTAMP";
+            case Types.TIMESTAMP_WITH_TIMEZONE -> "TIMESTAMP WITH TIME ZONE";
+            default -> typeName == null ? "" : typeName.toUpperCase();
+        };
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql, String schema, String table) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql);
+        ps.setFetchSize(1000);
+        ps.setString(1, schema.toUpperCase());
+        if (table != null) ps.setString(2, table.toUpperCase());
+        return ps;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.migrator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Migriert eine Menge von Tabellen in FK-Reihenfolge: eine Tabelle startet erst, wenn alle ihre
+ * Elterntabellen fertig sind; unter den startbereiten Tabellen die größte zuerst.
+ * Getrennte Session-Limits für Quelle und Ziel begrenzen die Last auf beiden Datenbanken.
+ */
+public class MigrationScheduler {
+
+    private final DBConfig srcCfg, dstCfg;
+    private final CopyOptions opts;
+    private final int maxSrc, maxDst;
+    private final Semaphore srcSessions, dstSessions;
+    private final Set<TableItem> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+    private Function<String, String> whereSource;
+
+    public MigrationScheduler(DBConfig srcCfg, DBConfig dstCfg, CopyOptions opts, int maxSrcSessions, int maxDstSessions) {
+        this.srcCfg = srcCfg;
+        this.dstCfg = dstCfg;
+        this.opts = opts;
+        this.maxSrc = Math.max(1, maxSrcSessions);
+        this.maxDst = Math.max(1, maxDstSessions);
+        this.srcSessions = new Semaphore(maxSrc, true);
+        this.dstSessions = new Semaphore(maxDst, true);
+        this.whereSource = t -> WhereStore.loadWhere(srcCfg.getSchema(), t);
+    }
+
+    /** WHERE-Bedingung je Tabelle (Standard: {@link WhereStore}). */
+    public void setWhereSource(Function<String, String> whereSource) { this.whereSource = whereSource; }
+
+    private static void log(String s) { System.out.println("[scheduler] " + s); }
+
+    /** Sessions, die eine Tabellenkopie je Seite belegt (MigrationTask-Paar + ggf. weitere Chunks, Link-Kopie bzw. Verifikation). */
+    static int sessionsPerTable(CopyOptions o) {
+        // Chunk-Worker 0 kopiert auf dem Paar des MigrationTask
+        int extra = o.isDelta() ? 0 : o.getChunks() > 1 && !o.isDirectPath() ? o.getChunks() - 1 : o.isServerSide() ? 1 : 0;
+        if (o.isVerify()) extra = Math.max(extra, o.getChunks());   // Verifikation nach der Kopie
+        return 1 + extra;
+    }
+
+    /** Bricht laufende Kopien ab und startet keine weiteren. */
+    public void stop() {
+        stopped = true;
+        for (TableItem it : running) it.getStopSignal().stop();
+    }
+
+    /**
+     * Führt alle Tabellen aus und kehrt zurück, wenn keine mehr läuft.
+     * {@code onFinished} wird nach jeder Tabelle aufgerufen (Erfolg, Fehler oder übersprungen).
+     */
+    public void run(List<TableItem> items, Consumer<TableItem> onFinished) throws SQLException, InterruptedException {
+        Map<String, TableItem> byName = new LinkedHashMap<>();
+        for (TableItem it : items) byName.put(it.getTableName().toUpperCase(), it);
+
+        // FK-Graph einmal aus der Quelle; Größe aus der Übersicht, sonst Segmentgrößen (eine Abfrage, kein COUNT)
+        Map<String, Set<String>> parents = new HashMap<>();
+        Map<String, Long> size = new HashMap<>();
+        try (Connection src = DBManager.open(srcCfg)) {
+            Map<String, Set<String>> all = DBManager.getFkParents(src, srcCfg.getSchema());
+            Map<String, Long> segments = null;
+            for (String t : byName.keySet()) {
+                Set<String> p = new HashSet<>(all.getOrDefault(t, Set.of()));
+                p.retainAll(byName.keySet());
+                parents.put(t, p);
+                double mb = byName.get(t).getSizeMB();
+                if (mb > 0) { size.put(t, (long) (mb * 1024 * 1024)); continue; }
+                if (segments == null) {
+                    try { segments = OverviewEstimator.segmentBytes(src); }
+                    catch (SQLException ex) { segments = Map.of(); log("Segmentgrößen nicht lesbar: " + ex.getMessage()); }
+                }
+                size.put(t, segments.getOrDefault(t, 0L));
+            }
+        }
+        Map<String, List<String>> children = new HashMap<>();
+        Map<String, Integer> pending = new HashMap<>();
+        for (Map.Entry<String, Set<String>> e : parents.entrySet()) {
+            pending.put(e.getKey(), e.getValue().size());
+            for (String p : e.getValue()) children.computeIfAbsent(p, k -> new ArrayList<>()).add(e.getKey());
+        }
+
+        PriorityQueue<String> ready = new PriorityQueue<>(
+                Comparator.comparingLong((String t) -> size.getOrDefault(t, 0L)).reversed().thenComparing(t -> t));
+        final Set<String> queued = new HashSet<>(), done = new HashSet<>();
+        for (String t : byName.keySet()) {
+            TableItem it = byName.get(t);
+            it.getStopSignal().reset();
+            if (pending.get(t) == 0) { ready.add(t); queued.add(t); it.setStatus("queued"); }
+            else it.setStatus("queued (wartet auf " + String.join(",", parents.get(t)) + ")");
+        }
+
+        final int perTable = sessionsPerTable(opts);
+        final int srcPermits = Math.min(perTable, maxSrc), dstPermits = Math.min(perTable, maxDst);
+        log(byName.size() + " Tabellen, je Kopie " + perTable + " Session(s), Limits Quelle " + maxSrc + " / Ziel " + maxDst);
+
+        final Object lock = new Object();
+        final Set<String> failed = new HashSet<>();
+        final int[] active = {0};
+        int remaining = byName.size();
+
+        ExecutorService pool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "scheduler-copy");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            while (remaining > 0) {
+                String next;
+                synchronized (lock) {
+                    while (ready.isEmpty() && active[0] > 0) lock.wait();
+                    if (ready.isEmpty()) {
+                        // nichts läuft, nichts bereit → FK-Zyklus: genau ein Mitglied freigeben
+                        String c = cycleMember(byName.keySet(), parents, queued, done);
+                        ready.add(c);
+                        queued.add(c);
+                        log("FK-Zyklus, gebe frei: " + c);
+                    }
+                    next = ready.poll();
+                }
+                remaining--;
+                TableItem item = byName.get(next);
+
+                String failedParent = null;
+                synchronized (lock) {
+                    for (String p : parents.get(next)) if (failed.contains(p)) failedParent = p;
+                }
+                if (stopped || failedParent != null) {
+                    item.setStatus(stopped ? "skipped (stopped)" : "skipped (" + failedParent + " failed)");
+                    synchronized (lock) { failed.add(next); release(next, children, pending, ready, queued, done); }
+                    onFinished.accept(item);
+                    continue;
+                }
+
+                srcSessions.acquire(srcPermits);
+                dstSessions.acquire(dstPermits);
+                if (stopped) {
+                    // Stop kam während des Wartens auf freie Sessions
+                    srcSessions.release(srcPermits);
+                    dstSessions.release(dstPermits);
+                    item.setStatus("skipped (stopped)");
+                    synchronized (lock) { failed.add(next); release(next, children, pending, ready, queued, done); }
+                    onFinished.accept(item);
+                    continue;
+                }
+                synchronized (lock) { active[0]++; }
+                running.add(item);
+                final String table = next;
+                pool.submit(() -> {
+                    boolean ok = false;
+                    try {
+                        MigrationTask.migrate(srcCfg, dstCfg, item.getTableName(), whereSource.apply(item.getTableName()), item, opts);
+                        ok = true;
+                    } catch (Exception ex) {
+                        log(table + " fehlgeschlagen: " + ex.getMessage());
+                    } finally {
+                        running.remove(item);
+                        srcSessions.release(srcPermits);
+                        dstSessions.release(dstPermits);
+                        synchronized (lock) {
+                            if (!ok) failed.add(table);
+                            release(table, children, pending, ready, queued, done);
+                            active[0]--;
+                            lock.notifyAll();
+                        }
+                        onFinished.accept(item);
+                    }
+                });
+            }
+            synchronized (lock) {
+                while (active[0] > 0) lock.wait();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        log("fertig, " + failed.size() + " fehlgeschlagen/übersprungen");
+    }
+
+    /** Tabelle ist erledigt: Kinder, deren Eltern nun alle fertig sind, werden startbereit (jede nur einmal). */
+    private static void release(String table, Map<String, List<String>> children, Map<String, Integer> pending,
+                                PriorityQueue<String> ready, Set<String> queued, Set<String> done) {
+        done.add(table);
+        for (String c : children.getOrDefault(table, List.of())) {
+            int left = pending.merge(c, -1, Integer::sum);
+            if (left <= 0 && queued.add(c)) ready.add(c);
+        }
+    }
+
+    /**
+     * Ein Mitglied eines FK-Zyklus unter den nicht eingereihten Tabellen: jede wartet auf einen unerledigten
+     * Elternteil, der Weg über solche Eltern kehrt also zwangsläufig zu einer schon besuchten Tabelle zurück.
+     * Deren Nachkommen außerhalb des Zyklus warten weiter auf ihre Eltern.
+     */
+    static String cycleMember(Collection<String> tables, Map<String, Set<String>> parents, Set<String> queued, Set<String> done) {
+        String t = null;
+        for (String x : tables) if (!queued.contains(x)) { t = x; break; }
+        Set<String> seen = new HashSet<>();
+        while (seen.add(t)) {
+            String next = null;
+            for (String p : parents.get(t)) if (!done.contains(p) && !queued.contains(p)) { next = p; break; }
+            if (next == null) return t;   // sollte nicht vorkommen: t wartet auf nichts mehr
+            t = next;
+        }
+        return t;
+    }
+}
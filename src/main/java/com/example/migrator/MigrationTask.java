@@ -7,36 +7,68 @@ public class MigrationTask extends Task<Void> {
     private final DBConfig srcCfg, dstCfg;
     private final String table;
     private final TableItem item;
-    private final int commitBatch;
+    private final CopyOptions opts;
 
-    public MigrationTask(DBConfig srcCfg, DBConfig dstCfg, String table, TableItem item, int commitBatch) {
-        this.srcCfg = srcCfg; this.dstCfg = dstCfg; this.table = table; this.item = item; this.commitBatch = commitBatch;
+    public MigrationTask(DBConfig srcCfg, DBConfig dstCfg, String table, TableItem item, CopyOptions opts) {
+        this.srcCfg = srcCfg; this.dstCfg = dstCfg; this.table = table; this.item = item; this.opts = opts;
     }
 
     @Override
     protected Void call() throws Exception {
+        migrate(srcCfg, dstCfg, table, WhereStore.loadWhere(srcCfg.getSchema(), table), item, opts);
+        return null;
+    }
+
+    /**
+     * Kopiert eine Tabelle mit den gewählten Optionen und schreibt Fortschritt/Status in {@code item}.
+     * Ohne JavaFX-Toolkit nutzbar (Scheduler, Headless-Runner).
+     */
+    static void migrate(DBConfig srcCfg, DBConfig dstCfg, String table, String where, TableItem item,
+                        CopyOptions opts) throws Exception {
         item.setStatus("migrating …");
         try (Connection src = DBManager.open(srcCfg);
              Connection dst = DBManager.open(dstCfg)) {
-            String where = WhereStore.loadWhere(srcCfg.getSchema(), table);
             long total = DBManager.countRows(src, srcCfg.getSchema(), table, where);
-            DBManager.copyTable(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), table,
-                    where, commitBatch,
-                    (copied, rate) -> {
-                        double frac = total > 0 ? copied / (double) total : 0.0;
-                        item.setTransferred((int) copied);
-                        item.setProgress(Math.min(1.0, frac));
-                        item.setRate(rate);
-                        item.setStatus("migrating " + copied + "/" + total);
-                    }, item.getStopSignal());
+            opts = DBManager.resolveCommitPolicy(src, srcCfg.getSchema(), table, where, opts, item.getCommitPolicy(), total);
+            DBManager.ProgressListener listener = new DBManager.ProgressListener() {
+                private String info = "";
+                @Override public void onBatch(long copied, double rate) {
+                    double frac = total > 0 ? copied / (double) total : 0.0;
+                    item.setTransferred((int) copied);
+                    item.setProgress(Math.min(1.0, frac));
+                    item.setRate(rate);
+                    item.setStatus("migrating " + copied + "/" + total + info);
+                }
+                @Override public void onInfo(String s) { info = s == null || s.isBlank() ? "" : " · " + s; }
+            };
+            String doneStatus = "done";
+            if (opts.isDelta()) {
+                DeltaSync.Result r = DeltaSync.sync(src, srcCfg, dst, dstCfg, table,
+                        where, opts, listener, item.getStopSignal());
+                doneStatus = "done (" + r + ")";
+            } else if (opts.isServerSide() && LinkCopy.copyTable(srcCfg, dstCfg, table, where, opts, listener, item.getStopSignal())) {
+                // Zeilen sind server-seitig über den DB-Link kopiert
+            } else if (opts.getChunks() > 1) {
+                ChunkedCopy.copyTable(src, srcCfg, dst, dstCfg, table, where, opts, listener, item.getStopSignal());
+            } else {
+                DBManager.copyTable(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), table,
+                        where, opts, listener, item.getStopSignal());
+            }
+            if (opts.isVerify()) {
+                item.setStatus("verifying …");
+                VerifyEngine.Result v = new VerifyEngine(srcCfg, dstCfg, opts.getChunks()).verify(table, where, true, opts,
+                        (done, all, checked, diff, repaired) -> item.setStatus("verifying " + done + "/" + all +
+                                (diff > 0 ? " · " + diff + " differing, " + repaired + " repaired" : "")),
+                        item.getStopSignal());
+                doneStatus += " · " + v;
+            }
             long newDst = DBManager.countRows(dst, dstCfg.getSchema(), table, where);
             item.setDstCount(Long.toString(newDst));
-            item.setStatus("done");
+            item.setStatus(doneStatus);
         } catch (Exception ex) {
             item.setStatus("failed: " + ex.getMessage());
             System.out.println("Fehler beim Migrate " + ex.getMessage());
             throw ex;
         }
-        return null;
     }
 }
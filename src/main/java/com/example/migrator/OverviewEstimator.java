@@ -0,0 +1,110 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Übersicht für viele Tabellen ohne COUNT(*) je Tabelle: Segmentgrößen aller Tabellen in einer
+ * gruppierten Abfrage, Zeilenzahlen aus den Optimizer-Statistiken oder per SAMPLE BLOCK geschätzt.
+ * Kleine Tabellen werden exakt gezählt, weil das billiger ist als eine Stichprobe.
+ */
+public class OverviewEstimator {
+
+    /** Bis zu dieser Segmentgröße wird exakt gezählt. */
+    static final long EXACT_BELOW_BYTES = 64L * 1024 * 1024;
+    /** Ohne Segmentgröße: bis zu dieser Statistik-Zeilenzahl wird exakt gezählt. */
+    static final long EXACT_BELOW_ROWS = 500_000;
+    /** Ungefähre Datenmenge, die eine Stichprobe lesen soll. */
+    static final long SAMPLE_BYTES = 64L * 1024 * 1024;
+
+    /** Zeilenzahl mit Kennzeichen, ob geschätzt. */
+    public static final class Estimate {
+        public final long rows;
+        public final boolean exact;
+        public final String source;   // "count", "stats", "sample x%"
+        Estimate(long rows, boolean exact, String source) { this.rows = rows; this.exact = exact; this.source = source; }
+    }
+
+    /**
+     * Belegter Platz je Tabelle (Tabelle + Partitionen + Indizes + LOB-Segmente), eine Abfrage für das ganze Schema.
+     * Wie {@link DBManager#getCountAndSizeFromSource} über user_segments, also für das Schema des angemeldeten Users.
+     */
+    public static Map<String, Long> segmentBytes(Connection conn) throws SQLException {
+        String sql =
+                "SELECT table_name, SUM(bytes) FROM ( " +
+                "  SELECT s.segment_name AS table_name, s.bytes FROM user_segments s WHERE s.segment_type LIKE 'TABLE%' " +
+                "  UNION ALL " +
+                "  SELECT i.table_name, s.bytes FROM user_indexes i " +
+                "    JOIN user_segments s ON s.segment_name = i.index_name AND s.segment_type LIKE 'INDEX%' " +
+                "   WHERE i.index_type <> 'LOB' " +
+                "  UNION ALL " +
+                "  SELECT l.table_name, s.bytes FROM user_lobs l " +
+                "    JOIN user_segments s ON s.segment_name IN (l.segment_name, l.index_name) " +
+                ") GROUP BY table_name";
+        Map<String, Long> bytes = new HashMap<>();
+        try (Statement st = conn.createStatement()) {
+            st.setFetchSize(1000);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) bytes.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return bytes;
+    }
+
+    /** num_rows aus den Optimizer-Statistiken (nur analysierte Tabellen). */
+    public static Map<String, Long> statsRows(Connection conn, String schema) throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        String sql = "SELECT table_name, num_rows FROM all_tables WHERE owner = ? AND num_rows IS NOT NULL";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setFetchSize(1000);
+            ps.setString(1, schema.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return rows;
+    }
+
+    /** Alle Tabellennamen des Schemas (statt tableExists je Tabelle). */
+    public static Set<String> existingTables(Connection conn, String schema) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT table_name FROM all_tables WHERE owner = ?")) {
+            ps.setFetchSize(1000);
+            ps.setString(1, schema.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Zeilenzahl ohne Vollscan großer Tabellen: klein → COUNT(*), ohne WHERE mit Statistik → num_rows,
+     * sonst SAMPLE BLOCK mit so viel Prozent, dass etwa {@link #SAMPLE_BYTES} gelesen werden.
+     * {@code bytes < 0}: Segmentgröße unbekannt.
+     */
+    public static Estimate estimate(Connection conn, String schema, String table, String whereClause,
+                                    Long statsRows, long bytes) throws SQLException {
+        boolean noWhere = whereClause == null || whereClause.isBlank();
+        boolean small = bytes >= 0 ? bytes <= EXACT_BELOW_BYTES
+                                   : statsRows == null || statsRows <= EXACT_BELOW_ROWS;   // Größe unbekannt (fremdes Schema)
+        if (small) {
+            return new Estimate(DBManager.countRows(conn, schema, table, whereClause), true, "count");
+        }
+        if (noWhere && statsRows != null) return new Estimate(statsRows, false, "stats");
+
+        double pct = bytes > 0 ? Math.max(0.000001, Math.min(99.0, 100.0 * SAMPLE_BYTES / bytes)) : 1.0;
+        String p = String.format(java.util.Locale.ROOT, "%.6f", pct);
+        String sql = "SELECT COUNT(*) FROM " + schema + "." + table + " SAMPLE BLOCK (" + p + ")"
+                + (noWhere ? "" : " WHERE " + whereClause);
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            long sampled = rs.getLong(1);
+            return new Estimate(Math.round(sampled * 100.0 / pct), false,
+                    String.format(java.util.Locale.ROOT, "sample %.2f%%", pct));
+        }
+    }
+}
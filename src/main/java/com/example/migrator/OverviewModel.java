@@ -0,0 +1,72 @@
+package com.example.migrator;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.*;
+
+/**
+ * Zeilen der Übersicht mit Index nach Tabellenname (case-insensitiv) und laufender Größensumme.
+ * Hinzufügen/Entfernen geschieht blockweise mit einem einzigen Change-Event, Nachschlagen in O(1).
+ * Nur auf dem FX-Thread verwenden.
+ */
+public class OverviewModel {
+
+    private final ObservableList<TableItem> items = FXCollections.observableArrayList();
+    private final Map<String, TableItem> byName = new HashMap<>();
+    private double sizeSum;
+
+    public ObservableList<TableItem> getItems() { return items; }
+
+    public TableItem get(String table) { return table == null ? null : byName.get(table.toUpperCase()); }
+
+    public boolean contains(String table) { return get(table) != null; }
+
+    public int size() { return items.size(); }
+
+    /** Summe aller Größen (MB), ohne über die Zeilen zu iterieren. */
+    public double getSizeSum() { return Math.max(0.0, sizeSum); }
+
+    /** Fügt die noch nicht vorhandenen Tabellen an und liefert die neu angelegten Zeilen. */
+    public List<TableItem> addAll(Collection<String> tables) {
+        List<TableItem> newly = new ArrayList<>();
+        for (String t : tables) {
+            if (t == null) continue;
+            String k = t.toUpperCase();
+            if (byName.containsKey(k)) continue;
+            TableItem it = new TableItem(t);
+            byName.put(k, it);
+            attach(it);
+            newly.add(it);
+        }
+        if (!newly.isEmpty()) items.addAll(newly);
+        return newly;
+    }
+
+    public void removeAll(Collection<TableItem> remove) {
+        if (remove.isEmpty()) return;
+        Set<TableItem> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TableItem it : remove) {
+            if (it != null && byName.remove(it.getTableName().toUpperCase()) != null) { detach(it); gone.add(it); }
+        }
+        if (!gone.isEmpty()) items.removeIf(gone::contains);
+    }
+
+    public void clear() {
+        for (TableItem it : items) it.setSizeWatcher(null);
+        byName.clear();
+        sizeSum = 0.0;
+        items.clear();
+    }
+
+    private void attach(TableItem it) {
+        sizeSum += it.shownSizeMB();
+        it.setSizeWatcher(d -> sizeSum += d);
+    }
+
+    private void detach(TableItem it) {
+        it.setSizeWatcher(null);
+        sizeSum -= it.shownSizeMB();
+        if (byName.isEmpty()) sizeSum = 0.0; // Rundungsreste verwerfen
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.migrator;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Zweistufige Pipeline für copyTable: ein Leser-Thread füllt einen begrenzten Puffer
+ * mit Zeilen-Batches, der aufrufende Thread schreibt sie ins Ziel.
+ * Wartezeiten beider Seiten zeigen, welche Datenbank der Engpass ist.
+ */
+public class RowPipeline implements AutoCloseable {
+
+    /** Liest die Spaltenwerte der aktuellen Zeile in ein Array. */
+    public interface RowReader { Object[] read(ResultSet rs) throws SQLException; }
+
+    private static final List<Object[]> END = new ArrayList<>();
+
+    private final BlockingQueue<List<Object[]>> queue;
+    private final int depth;
+    private volatile boolean closed;
+    private volatile Exception readerError;
+    private Thread reader;
+
+    // Statistik
+    private volatile long readerStallNanos;   // Leser wartet auf Platz → Ziel ist Engpass
+    private long writerStallNanos;            // Schreiber wartet auf Daten → Quelle ist Engpass
+    private long fillSamples, fillSum;
+
+    public RowPipeline(int depth) {
+        this.depth = Math.max(1, depth);
+        this.queue = new ArrayBlockingQueue<>(this.depth);
+    }
+
+    /**
+     * Startet den Leser. {@code batchRows} und {@code fetchSize} werden je Batch neu abgefragt
+     * (adaptive Anpassung); {@code fetchSize} darf {@code null} sein.
+     */
+    public void start(ResultSet rs, IntSupplier batchRows, IntSupplier fetchSize, RowReader rowReader,
+                      DBManager.StopSignal stop, String name) {
+        reader = new Thread(() -> {
+            try {
+                int limit = batchRows.getAsInt();
+                List<Object[]> batch = new ArrayList<>(limit);
+                while (!closed && rs.next()) {
+                    if (stop != null && stop.isStopped()) break;
+                    batch.add(rowReader.read(rs));
+                    if (batch.size() >= limit) {
+                        put(batch);
+                        limit = batchRows.getAsInt();
+                        batch = new ArrayList<>(limit);
+                        if (fetchSize != null && fetchSize.getAsInt() != rs.getFetchSize()) rs.setFetchSize(fetchSize.getAsInt());
+                    }
+                }
+                if (!batch.isEmpty()) put(batch);
+            } catch (Exception ex) {
+                readerError = ex;
+            } finally {
+                try { put(END); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+            }
+        }, "pipeline-reader-" + name);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void put(List<Object[]> batch) throws InterruptedException {
+        long t0 = System.nanoTime();
+        while (!closed && !queue.offer(batch, 100, TimeUnit.MILLISECONDS)) { /* Ziel zu langsam */ }
+        readerStallNanos += System.nanoTime() - t0;
+    }
+
+    /** Nächster Batch oder {@code null} am Ende; Fehler des Lesers werden hier weitergereicht. */
+    public List<Object[]> take() throws SQLException {
+        fillSamples++;
+        fillSum += queue.size();
+        long t0 = System.nanoTime();
+        List<Object[]> batch;
+        try {
+            batch = queue.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted", ie);
+        }
+        writerStallNanos += System.nanoTime() - t0;
+        if (batch == END) {
+            Exception ex = readerError;
+            if (ex instanceof SQLException sqe) throw sqe;
+            if (ex != null) throw new SQLException(ex.getMessage(), ex);
+            return null;
+        }
+        return batch;
+    }
+
+    /** Kurzbeschreibung für Status/Log, z. B. "buffer 3/4 (avg 2.1), src-wait 0.4s, dst-wait 12.0s → target". */
+    public String stats() {
+        double srcWait = writerStallNanos / 1e9;
+        double dstWait = readerStallNanos / 1e9;
+        double avgFill = fillSamples > 0 ? fillSum / (double) fillSamples : 0;
+        String bottleneck = dstWait > srcWait ? "target" : "source";
+        return String.format(java.util.Locale.ROOT, "buffer %d/%d (avg %.1f), src-wait %.1fs, dst-wait %.1fs → %s",
+                queue.size(), depth, avgFill, srcWait, dstWait, bottleneck);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+        if (reader != null) {
+            try { reader.join(5000); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.migrator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Schema-weiter Aufbau der Zieltabellen in drei Phasen:
+ * 1) nackte Tabellen (vor dem Laden), 2) PKs und Indizes mit PARALLEL n, danach NOPARALLEL
+ * (nach dem Laden), 3) FKs in Abhängigkeitsreihenfolge. Jede DDL meldet Dauer und Ergebnis.
+ */
+public class SchemaBuilder {
+
+    /** Rückmeldung je DDL-Anweisung; {@code error == null} bedeutet erfolgreich. */
+    public interface DdlListener {
+        void onDdl(String table, String ddl, long millis, String error);
+    }
+
+    private final DBConfig srcCfg, dstCfg;
+    private final DdlListener listener;
+
+    public SchemaBuilder(DBConfig srcCfg, DBConfig dstCfg, DdlListener listener) {
+        this.srcCfg = srcCfg;
+        this.dstCfg = dstCfg;
+        this.listener = listener;
+    }
+
+    private static void log(String s) { System.out.println("[schemaBuilder] " + s); }
+
+    /** Führt eine DDL aus und meldet Dauer und Fehler; liefert true bei Erfolg. */
+    static boolean exec(Connection dst, String table, String ddl, DdlListener l) {
+        long t0 = System.nanoTime();
+        String error = null;
+        try (Statement st = dst.createStatement()) {
+            st.execute(ddl);
+        } catch (SQLException ex) {
+            error = ex.getMessage() == null ? ex.toString() : ex.getMessage().trim();
+        }
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        log((error == null ? "ok " : "FEHLER ") + ms + " ms: " + ddl + (error == null ? "" : " → " + error));
+        if (l != null) l.onDdl(table, ddl, ms, error);
+        return error == null;
+    }
+
+    /** Phase 1: fehlende Tabellen ohne PK/Indizes/FKs anlegen; liefert die Anzahl Fehler. */
+    public int createTables(List<String> tables) throws SQLException {
+        int errors = 0;
+        try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+            Set<String> existing = OverviewEstimator.existingTables(dst, dstCfg.getSchema());
+            for (String t : tables) {
+                if (existing.contains(t.toUpperCase())) {
+                    if (listener != null) listener.onDdl(t, "CREATE TABLE", 0, null);
+                    continue;
+                }
+                CopyPlan.invalidate(t);
+                String ddl = DBManager.buildCreateTableDDL(src, srcCfg.getSchema(), dstCfg.getSchema(), t);
+                if (!exec(dst, t, ddl, listener)) errors++;
+                MetadataCache.invalidate(dst, dstCfg.getSchema(), t);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Phase 2: PK über einen vorab PARALLEL gebauten Unique-Index, übrige Indizes ebenso; danach NOPARALLEL.
+     * Tabellen laufen auf {@code sessions} Sessions parallel, bereits vorhandene PKs/Indizes werden übersprungen.
+     */
+    public int buildKeysAndIndexes(List<String> tables, int degree, int sessions) throws SQLException, InterruptedException {
+        final int dop = Math.max(1, degree);
+        return forEachParallel(tables, Math.max(1, sessions), (src, dst, t) -> {
+            String ss = srcCfg.getSchema(), ds = dstCfg.getSchema();
+            String fq = ds + "." + t;
+            MetadataCache.invalidate(dst, ds, t);
+            MetadataCache.TableMeta srcMeta = MetadataCache.table(src, ss, t);
+            MetadataCache.TableMeta dstMeta = MetadataCache.table(dst, ds, t);
+            Set<String> dstIndexes = new HashSet<>();
+            for (MetadataCache.Key k : dstMeta.indexes) dstIndexes.add(k.name);
+            int errors = 0;
+
+            MetadataCache.Key pk = srcMeta.primaryKey;
+            String pkIndex = null;
+            if (pk != null && !pk.columns.isEmpty()) {
+                // Index, der im Quellschema den PK trägt (gleiche Spalten, unique) – sonst PK-Name
+                pkIndex = pk.name;
+                for (MetadataCache.Key idx : srcMeta.indexes) {
+                    if (idx.unique && idx.columns.equals(pk.columns)) { pkIndex = idx.name; break; }
+                }
+                if (dstMeta.primaryKey == null) {
+                    if (!dstIndexes.contains(pkIndex)) {
+                        if (exec(dst, t, "CREATE UNIQUE INDEX " + ds + "." + pkIndex + " ON " + fq +
+                                " (" + String.join(",", pk.columns) + ") PARALLEL " + dop, listener)) {
+                            exec(dst, t, "ALTER INDEX " + ds + "." + pkIndex + " NOPARALLEL", listener);
+                        } else errors++;
+                    }
+                    if (!exec(dst, t, "ALTER TABLE " + fq + " ADD CONSTRAINT " + pk.name +
+                            " PRIMARY KEY (" + String.join(",", pk.columns) + ") USING INDEX " + ds + "." + pkIndex, listener)) errors++;
+                }
+            }
+            for (MetadataCache.Key idx : srcMeta.indexes) {
+                if (idx.name.equals(pkIndex) || dstIndexes.contains(idx.name) || idx.columns.isEmpty()) continue;
+                String ddl = "CREATE " + (idx.unique ? "UNIQUE " : "") + "INDEX " + ds + "." + idx.name + " ON " + fq +
+                        " (" + String.join(",", idx.columns) + ") PARALLEL " + dop;
+                if (exec(dst, t, ddl, listener)) exec(dst, t, "ALTER INDEX " + ds + "." + idx.name + " NOPARALLEL", listener);
+                else errors++;
+            }
+            MetadataCache.invalidate(dst, ds, t);
+            return errors;
+        });
+    }
+
+    /** Phase 3: FKs, Elterntabellen vor Kindtabellen (Zyklen am Ende); liefert die Anzahl Fehler. */
+    public int addForeignKeys(List<String> tables) throws SQLException {
+        int errors = 0;
+        try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+            String ss = srcCfg.getSchema(), ds = dstCfg.getSchema();
+            for (String t : dependencyOrder(tables, DBManager.getFkParents(src, ss))) {
+                MetadataCache.invalidate(dst, ds, t);
+                Set<String> existing = new HashSet<>();
+                for (MetadataCache.ForeignKey fk : MetadataCache.table(dst, ds, t).foreignKeys) existing.add(fk.name);
+                for (MetadataCache.ForeignKey fk : MetadataCache.table(src, ss, t).foreignKeys) {
+                    if (existing.contains(fk.name) || fk.refColumns.isEmpty() || fk.refColumns.contains(null)) continue;
+                    String ddl = "ALTER TABLE " + ds + "." + t + " ADD CONSTRAINT " + fk.name +
+                            " FOREIGN KEY (" + String.join(",", fk.columns) + ") " +
+                            "REFERENCES " + ds + "." + fk.refTable + " (" + String.join(",", fk.refColumns) + ")";
+                    if (!exec(dst, t, ddl, listener)) errors++;
+                }
+                MetadataCache.invalidate(dst, ds, t);
+            }
+        }
+        return errors;
+    }
+
+    /** Topologische Reihenfolge (Eltern zuerst, bei gleichem Rang alphabetisch); Zyklen werden angehängt. */
+    static List<String> dependencyOrder(List<String> tables, Map<String, Set<String>> parents) {
+        Map<String, String> byUpper = new LinkedHashMap<>();
+        for (String t : tables) byUpper.put(t.toUpperCase(), t);
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> children = new HashMap<>();
+        for (String t : byUpper.keySet()) {
+            Set<String> p = new HashSet<>(parents.getOrDefault(t, Set.of()));
+            p.retainAll(byUpper.keySet());
+            pending.put(t, p.size());
+            for (String x : p) children.computeIfAbsent(x, k -> new ArrayList<>()).add(t);
+        }
+        PriorityQueue<String> ready = new PriorityQueue<>();
+        for (Map.Entry<String, Integer> e : pending.entrySet()) if (e.getValue() == 0) ready.add(e.getKey());
+        List<String> order = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+        while (!ready.isEmpty()) {
+            String t = ready.poll();
+            order.add(byUpper.get(t));
+            done.add(t);
+            for (String c : children.getOrDefault(t, List.of())) if (pending.merge(c, -1, Integer::sum) == 0) ready.add(c);
+        }
+        for (String t : byUpper.keySet()) if (!done.contains(t)) order.add(byUpper.get(t));
+        return order;
+    }
+
+    private interface TableJob { int run(Connection src, Connection dst, String table) throws SQLException; }
+
+    /** Verteilt Tabellen auf {@code sessions} Worker mit eigenem Verbindungspaar; Summe der Fehler. */
+    private int forEachParallel(List<String> tables, int sessions, TableJob job) throws SQLException, InterruptedException {
+        BlockingQueue<String> work = new LinkedBlockingQueue<>(tables);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(sessions, Math.max(1, tables.size())), r -> {
+            Thread th = new Thread(r, "schema-builder");
+            th.setDaemon(true);
+            return th;
+        });
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(sessions, Math.max(1, tables.size())); i++) {
+            futures.add(pool.submit(() -> {
+                int errors = 0;
+                try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+                    String t;
+                    while ((t = work.poll()) != null) errors += job.run(src, dst, t);
+                }
+                return errors;
+            }));
+        }
+        pool.shutdown();
+        int errors = 0;
+        try {
+            for (Future<Integer> f : futures) errors += f.get();
+        } catch (ExecutionException ex) {
+            Throwable c = ex.getCause();
+            if (c instanceof SQLException sqe) throw sqe;
+            throw new SQLException(c.getMessage(), c);
+        } finally {
+            pool.shutdownNow();
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.migrator;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binäre Spool-Datei für die Offline-Zwischenablage einer Tabelle.
+ * <pre>
+ * Datei  = MAGIC Frame* ; Frame = typ(1) rohLänge(4) packLänge(4) crc32(8) Deflate-Daten
+ * 'H' Kopf : Schema, Tabelle, WHERE, Zeitpunkt, Spalten (Name, Oracle-Typ, JDBC-Typ)
+ * 'B' Block: Zeilenanzahl, dann je Wert Typ-Tag + Daten
+ * 'E' Ende : Gesamtzeilen
+ * </pre>
+ * Der Export liest nur die Quelle, der Import nur das Ziel (normaler Batch-Insert).
+ */
+public class SpoolFile {
+
+    private static final byte[] MAGIC = {'O', 'M', 'S', 'P', 'O', 'O', 'L', 1};
+    private static final int FRAME_HEADER = 1 + 4 + 4 + 8;
+    private static final int BLOCK_BYTES = 1024 * 1024;
+
+    private static final byte HEAD = 'H', BLOCK = 'B', END = 'E';
+    private static final byte T_NULL = 0, T_STRING = 1, T_BYTES = 2, T_DECIMAL = 3, T_DOUBLE = 4, T_TIMESTAMP = 5;
+
+    /** Inhalt des Kopf-Frames. */
+    public static final class Header {
+        public final String schema, table, where;
+        public final long created;
+        public final List<String> columns;
+        public final List<String> types;
+        public final int[] jdbcTypes;
+        Header(String schema, String table, String where, long created, List<String> columns, List<String> types, int[] jdbcTypes) {
+            this.schema = schema; this.table = table; this.where = where; this.created = created;
+            this.columns = columns; this.types = types; this.jdbcTypes = jdbcTypes;
+        }
+    }
+
+    private static void log(String s) { System.out.println("[spool] " + s); }
+
+    /** Standardablage: ~/.oracle-migrator/spool/SCHEMA__TABLE.omspool */
+    public static Path defaultPath(String schema, String table) {
+        Path dir = Paths.get(System.getProperty("user.home"), ".oracle-migrator", "spool");
+        try { Files.createDirectories(dir); } catch (IOException ignored) {}
+        return dir.resolve(schema.toUpperCase() + "__" + table.toUpperCase() + ".omspool");
+    }
+
+    // --- Export --------------------------------------------------------------
+
+    /** Schreibt SELECT * der Quelltabelle (mit WHERE) in die Datei; liefert die Zeilenanzahl. */
+    public static long export(Connection src, String schema, String table, String whereClause, Path file,
+                              DBManager.ProgressListener listener, DBManager.StopSignal stop) throws SQLException, IOException {
+        String sql = "SELECT * FROM " + schema + "." + table
+                + (whereClause != null && !whereClause.isBlank() ? " WHERE " + whereClause : "");
+        log("Export " + schema + "." + table + " → " + file + ": " + sql);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long rows = 0;
+        long started = System.nanoTime();
+        try (Statement st = src.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 256 * 1024)) {
+            st.setFetchSize(1000);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                ResultSetMetaData md = rs.getMetaData();
+                int n = md.getColumnCount();
+                int[] jdbc = new int[n];
+                List<String> cols = new ArrayList<>(), types = new ArrayList<>();
+                for (int i = 1; i <= n; i++) {
+                    cols.add(md.getColumnName(i));
+                    types.add(md.getColumnTypeName(i).toUpperCase());
+                    jdbc[i - 1] = md.getColumnType(i);
+                }
+                out.write(MAGIC);
+                writeFrame(out, HEAD, header(schema, table, whereClause, cols, types, jdbc));
+
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                ByteArrayOutputStream buf = new ByteArrayOutputStream(BLOCK_BYTES + 64 * 1024);
+                DataOutputStream data = new DataOutputStream(buf);
+                int blockRows = 0;
+                while (rs.next()) {
+                    if (stop != null && stop.isStopped()) throw new SQLException("stopped");
+                    for (int i = 0; i < n; i++) writeValue(data, rs, i + 1, jdbc[i]);
+                    blockRows++; rows++;
+                    if (buf.size() >= BLOCK_BYTES) {
+                        writeBlock(out, deflater, buf, blockRows);
+                        blockRows = 0;
+                        report(listener, rows, started);
+                    }
+                }
+                if (blockRows > 0) writeBlock(out, deflater, buf, blockRows);
+                deflater.end();
+
+                ByteArrayOutputStream end = new ByteArrayOutputStream();
+                new DataOutputStream(end).writeLong(rows);
+                writeFrame(out, END, end.toByteArray());
+            }
+        } catch (SQLException | IOException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        report(listener, rows, started);
+        log("Export fertig: " + rows + " Zeilen, " + DBManager.humanReadableBytes(Files.size(file)));
+        return rows;
+    }
+
+    private static byte[] header(String schema, String table, String where, List<String> cols, List<String> types, int[] jdbc) throws IOException {
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        DataOutputStream d = new DataOutputStream(b);
+        d.writeUTF(schema);
+        d.writeUTF(table);
+        d.writeUTF(where == null ? "" : where.trim());
+        d.writeLong(System.currentTimeMillis());
+        d.writeInt(cols.size());
+        for (int i = 0; i < cols.size(); i++) {
+            d.writeUTF(cols.get(i));
+            d.writeUTF(types.get(i));
+            d.writeInt(jdbc[i]);
+        }
+        return b.toByteArray();
+    }
+
+    private static void writeValue(DataOutputStream d, ResultSet rs, int idx, int jdbc) throws SQLException, IOException {
+        switch (jdbc) {
+            case Types.BLOB, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> {
+                byte[] v = rs.getBytes(idx);
+                if (v == null) { d.writeByte(T_NULL); return; }
+                d.writeByte(T_BYTES); d.writeInt(v.length); d.write(v);
+            }
+            case Types.NUMERIC, Types.DECIMAL, Types.INTEGER, Types.BIGINT, Types.SMALLINT -> {
+                BigDecimal v = rs.getBigDecimal(idx);
+                if (v == null) { d.writeByte(T_NULL); return; }
+                d.writeByte(T_DECIMAL); d.writeUTF(v.toPlainString());
+            }
+            case Types.REAL, Types.FLOAT, Types.DOUBLE, 100, 101 -> {   // 100/101 = BINARY_FLOAT/BINARY_DOUBLE
+                double v = rs.getDouble(idx);
+                if (rs.wasNull()) { d.writeByte(T_NULL); return; }
+                d.writeByte(T_DOUBLE); d.writeDouble(v);
+            }
+            case Types.DATE, Types.TIMESTAMP -> {
+                Timestamp v = rs.getTimestamp(idx);
+                if (v == null) { d.writeByte(T_NULL); return; }
+                d.writeByte(T_TIMESTAMP); d.writeLong(v.getTime()); d.writeInt(v.getNanos());
+            }
+            default -> {
+                // Zeichentypen, CLOB/LONG und Sonstiges als Text
+                String v = rs.getString(idx);
+                if (v == null) { d.writeByte(T_NULL); return; }
+                byte[] b = v.getBytes(StandardCharsets.UTF_8);
+                d.writeByte(T_STRING); d.writeInt(b.length); d.write(b);
+            }
+        }
+    }
+
+    private static void writeBlock(OutputStream out, Deflater deflater, ByteArrayOutputStream buf, int rows) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(buf.size() + 4);
+        new DataOutputStream(payload).writeInt(rows);
+        buf.writeTo(payload);
+        buf.reset();
+        writeFrame(out, BLOCK, payload.toByteArray(), deflater);
+    }
+
+    private static void writeFrame(OutputStream out, byte type, byte[] raw) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try { writeFrame(out, type, raw, deflater); } finally { deflater.end(); }
+    }
+
+    private static void writeFrame(OutputStream out, byte type, byte[] raw, Deflater deflater) throws IOException {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream packed = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[64 * 1024];
+        while (!deflater.finished()) packed.write(chunk, 0, deflater.deflate(chunk));
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        DataOutputStream d = new DataOutputStream(out);
+        d.writeByte(type);
+        d.writeInt(raw.length);
+        d.writeInt(packed.size());
+        d.writeLong(crc.getValue());
+        packed.writeTo(out);
+    }
+
+    // --- Import --------------------------------------------------------------
+
+    /** Liest nur den Kopf (z. B. zur Anzeige oder Prüfung). */
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkMagic(ch);
+            Frame f = readFrame(ch, MAGIC.length);
+            if (f.type != HEAD) throw new IOException("Spool-Datei ohne Kopf: " + file);
+            return parseHeader(f.data);
+        }
+    }
+
+    /**
+     * Prüft die ganze Datei ohne Datenbank: Kopf, jede Block-Prüfsumme, Ende-Frame und Zeilensumme.
+     * Liefert die Zeilenanzahl laut Ende-Frame.
+     */
+    public static long verify(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkMagic(ch);
+            Frame f = readFrame(ch, MAGIC.length);
+            if (f.type != HEAD) throw new IOException("Spool-Datei ohne Kopf: " + file);
+            long pos = f.next, rows = 0;
+            while (pos < ch.size()) {
+                f = readFrame(ch, pos);
+                pos = f.next;
+                if (f.type == END) {
+                    long expected = new DataInputStream(new ByteArrayInputStream(f.data)).readLong();
+                    if (expected != rows) throw new IOException("Zeilenanzahl " + rows + " ≠ " + expected + " laut Datei");
+                    return rows;
+                }
+                if (f.type != BLOCK) throw new IOException("Unbekannter Frame-Typ " + f.type + " in " + file);
+                rows += new DataInputStream(new ByteArrayInputStream(f.data)).readInt();
+            }
+            throw new IOException("Spool-Datei unvollständig (kein Ende-Frame): " + file);
+        }
+    }
+
+    /**
+     * Lädt die Datei per Memory-Mapping blockweise und schreibt die Zeilen per Batch-Insert
+     * in dstSchema.Tabelle; committet alle {@code commitBatch} Zeilen. Liefert die Zeilenanzahl.
+     * Vor dem ersten Commit wird die ganze Datei mit {@link #verify} geprüft, damit ein beschädigter
+     * oder abgeschnittener Block nicht erst nach einer Teilladung auffällt.
+     */
+    public static long importInto(Connection dst, String dstSchema, Path file, int commitBatch,
+                                  DBManager.ProgressListener listener, DBManager.StopSignal stop) throws SQLException, IOException {
+        long total = verify(file);
+        long rows = 0;
+        long started = System.nanoTime();
+        dst.setAutoCommit(false);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkMagic(ch);
+            long pos = MAGIC.length;
+            Frame hf = readFrame(ch, pos);
+            if (hf.type != HEAD) throw new IOException("Spool-Datei ohne Kopf: " + file);
+            pos = hf.next;
+            Header h = parseHeader(hf.data);
+            int n = h.columns.size();
+
+            String ins = "INSERT INTO " + dstSchema + "." + h.table + " (" + String.join(",", h.columns) + ") VALUES ("
+                    + String.join(",", java.util.Collections.nCopies(n, "?")) + ")";
+            log("Import " + file + " → " + dstSchema + "." + h.table + " (Export vom "
+                    + new Timestamp(h.created) + (h.where.isEmpty() ? "" : ", WHERE " + h.where) + ")");
+            log("Insert-SQL: " + ins + " (" + total + " Zeilen, Datei geprüft)");
+
+            long expected = -1;
+            int batch = 0;
+            try (PreparedStatement ps = dst.prepareStatement(ins)) {
+                while (pos < ch.size()) {
+                    Frame f = readFrame(ch, pos);
+                    pos = f.next;
+                    if (f.type == END) { expected = new DataInputStream(new ByteArrayInputStream(f.data)).readLong(); break; }
+                    if (f.type != BLOCK) throw new IOException("Unbekannter Frame-Typ " + f.type + " in " + file);
+
+                    DataInputStream d = new DataInputStream(new ByteArrayInputStream(f.data));
+                    int blockRows = d.readInt();
+                    for (int r = 0; r < blockRows; r++) {
+                        if (stop != null && stop.isStopped()) { dst.rollback(); throw new SQLException("stopped"); }
+                        for (int i = 0; i < n; i++) bindValue(d, ps, i + 1, h.jdbcTypes[i]);
+                        ps.addBatch();
+                        batch++; rows++;
+                        if (batch >= commitBatch) {
+                            ps.executeBatch();
+                            dst.commit();
+                            batch = 0;
+                            report(listener, rows, started);
+                        }
+                    }
+                }
+                if (batch > 0) {
+                    ps.executeBatch();
+                    dst.commit();
+                }
+            }
+            if (expected < 0) throw new IOException("Spool-Datei unvollständig (kein Ende-Frame): " + file);
+            if (expected != rows) throw new IOException("Zeilenanzahl " + rows + " ≠ " + expected + " laut Datei");
+        } catch (SQLException | IOException ex) {
+            try { dst.rollback(); } catch (SQLException ignored) {}
+            throw ex;
+        }
+        report(listener, rows, started);
+        log("Import fertig: " + rows + " Zeilen");
+        return rows;
+    }
+
+    private static void bindValue(DataInputStream d, PreparedStatement ps, int idx, int jdbc) throws SQLException, IOException {
+        byte tag = d.readByte();
+        switch (tag) {
+            case T_NULL -> ps.setNull(idx, jdbc == Types.BLOB || jdbc == Types.CLOB ? jdbc : Types.NULL);
+            case T_STRING -> {
+                byte[] b = new byte[d.readInt()];
+                d.readFully(b);
+                ps.setString(idx, new String(b, StandardCharsets.UTF_8));
+            }
+            case T_BYTES -> {
+                byte[] b = new byte[d.readInt()];
+                d.readFully(b);
+                ps.setBytes(idx, b);
+            }
+            case T_DECIMAL -> ps.setBigDecimal(idx, new BigDecimal(d.readUTF()));
+            case T_DOUBLE -> ps.setDouble(idx, d.readDouble());
+            case T_TIMESTAMP -> {
+                Timestamp ts = new Timestamp(d.readLong());
+                ts.setNanos(d.readInt());
+                ps.setTimestamp(idx, ts);
+            }
+            default -> throw new IOException("Unbekannter Werttyp " + tag);
+        }
+    }
+
+    private static Header parseHeader(byte[] raw) throws IOException {
+        DataInputStream d = new DataInputStream(new ByteArrayInputStream(raw));
+        String schema = d.readUTF(), table = d.readUTF(), where = d.readUTF();
+        long created = d.readLong();
+        int n = d.readInt();
+        List<String> cols = new ArrayList<>(n), types = new ArrayList<>(n);
+        int[] jdbc = new int[n];
+        for (int i = 0; i < n; i++) {
+            cols.add(d.readUTF());
+            types.add(d.readUTF());
+            jdbc[i] = d.readInt();
+        }
+        return new Header(schema, table, where, created, cols, types, jdbc);
+    }
+
+    private static void checkMagic(FileChannel ch) throws IOException {
+        if (ch.size() < MAGIC.length) throw new IOException("Keine Spool-Datei (zu kurz)");
+        MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_ONLY, 0, MAGIC.length);
+        for (byte b : MAGIC) if (m.get() != b) throw new IOException("Keine Spool-Datei (Magic)");
+    }
+
+    private static final class Frame {
+        final byte type; final byte[] data; final long next;
+        Frame(byte type, byte[] data, long next) { this.type = type; this.data = data; this.next = next; }
+    }
+
+    /** Liest einen Frame ab {@code pos} per Mapping, entpackt ihn und prüft die CRC32. */
+    private static Frame readFrame(FileChannel ch, long pos) throws IOException {
+        if (pos + FRAME_HEADER > ch.size()) throw new IOException("Spool-Datei abgeschnitten bei Offset " + pos);
+        MappedByteBuffer hdr = ch.map(FileChannel.MapMode.READ_ONLY, pos, FRAME_HEADER);
+        byte type = hdr.get();
+        int rawLen = hdr.getInt();
+        int packLen = hdr.getInt();
+        long crc = hdr.getLong();
+        long start = pos + FRAME_HEADER;
+        if (rawLen < 0 || packLen < 0 || start + packLen > ch.size()) throw new IOException("Spool-Datei abgeschnitten bei Offset " + pos);
+
+        MappedByteBuffer body = ch.map(FileChannel.MapMode.READ_ONLY, start, packLen);
+        byte[] packed = new byte[packLen];
+        body.get(packed);
+        byte[] raw = new byte[rawLen];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(packed);
+            int off = 0;
+            while (off < rawLen && !inflater.finished()) {
+                int k = inflater.inflate(raw, off, rawLen - off);
+                if (k == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                off += k;
+            }
+            if (off != rawLen) throw new IOException("Block bei Offset " + pos + " unvollständig");
+        } catch (DataFormatException ex) {
+            throw new IOException("Block bei Offset " + pos + " beschädigt: " + ex.getMessage(), ex);
+        } finally {
+            inflater.end();
+        }
+        CRC32 c = new CRC32();
+        c.update(raw);
+        if (c.getValue() != crc) throw new IOException("Prüfsumme falsch im Block bei Offset " + pos);
+        return new Frame(type, raw, start + packLen);
+    }
+
+    private static void report(DBManager.ProgressListener listener, long rows, long started) {
+        if (listener == null) return;
+        double sec = (System.nanoTime() - started) / 1_000_000_000.0;
+        listener.onBatch(rows, Math.round(sec > 0 ? rows / sec : 0));
+    }
+}
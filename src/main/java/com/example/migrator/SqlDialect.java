@@ -0,0 +1,123 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Datenbankspezifisches SQL der Pfade create/copy/delete. {@link #ORACLE} nutzt das Data Dictionary
+ * (ALL_*-Views, ROWNUM, NOLOGGING), {@link #GENERIC} nur JDBC-Metadaten und SQL:2008 – damit laufen
+ * dieselben Abläufe z. B. gegen H2 im Oracle-Modus (Durchsatz-Harness). Typnamen liefert auch
+ * {@link #GENERIC} in Oracle-Schreibweise, damit DDL-Erzeugung und Kopierer-Wahl unverändert bleiben.
+ */
+public enum SqlDialect {
+
+    ORACLE {
+        public List<String> listTables(Connection conn, String schema) throws SQLException {
+            List<String> tables = new ArrayList<>();
+            try (PreparedStatement ps = conn.prepareStatement("SELECT table_name FROM all_tables WHERE owner = ? ORDER BY table_name")) {
+                ps.setString(1, schema.toUpperCase());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) tables.add(rs.getString(1));
+                }
+            }
+            return tables;
+        }
+
+        public boolean tableExists(Connection conn, String schema, String table) throws SQLException {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM all_tables WHERE owner = ? AND table_name = ?")) {
+                ps.setString(1, schema.toUpperCase());
+                ps.setString(2, table.toUpperCase());
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next(); return rs.getInt(1) > 0;
+                }
+            }
+        }
+
+        public String containerName(Connection conn) {
+            try (var st = conn.createStatement();
+                 var rs = st.executeQuery("select sys_context('USERENV','CON_NAME') from dual")) {
+                rs.next();
+                return rs.getString(1);
+            } catch (SQLException e) { return "unknown"; }
+        }
+
+        public String deleteBatchSql(String fqTable, String whereClause) {
+            return (whereClause != null && !whereClause.isBlank())
+                    ? "DELETE FROM " + fqTable + " WHERE (" + whereClause + ") AND ROWNUM <= ?"
+                    : "DELETE FROM " + fqTable + " WHERE ROWNUM <= ?";
+        }
+
+        public boolean supportsNoLogging() { return true; }
+
+        Map<String, MetadataCache.TableMeta> loadMetadata(Connection conn, String schema, String table) throws SQLException {
+            return MetadataCache.loadDictionary(conn, schema, table);
+        }
+    },
+
+    GENERIC {
+        public List<String> listTables(Connection conn, String schema) throws SQLException {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = conn.getMetaData().getTables(null, schema.toUpperCase(), "%", new String[] {"TABLE"})) {
+                while (rs.next()) tables.add(rs.getString("TABLE_NAME"));
+            }
+            Collections.sort(tables);
+            return tables;
+        }
+
+        public boolean tableExists(Connection conn, String schema, String table) throws SQLException {
+            // Muster: '_' ist Platzhalter, daher exakt vergleichen
+            try (ResultSet rs = conn.getMetaData().getTables(null, schema.toUpperCase(), table.toUpperCase(), new String[] {"TABLE"})) {
+                while (rs.next()) if (table.equalsIgnoreCase(rs.getString("TABLE_NAME"))) return true;
+            }
+            return false;
+        }
+
+        public String containerName(Connection conn) {
+            try { return String.valueOf(conn.getCatalog()); } catch (SQLException e) { return "unknown"; }
+        }
+
+        public String deleteBatchSql(String fqTable, String whereClause) {
+            return "DELETE FROM " + fqTable + (whereClause != null && !whereClause.isBlank() ? " WHERE " + whereClause : "")
+                    + " FETCH FIRST ? ROWS ONLY";
+        }
+
+        public boolean supportsNoLogging() { return false; }
+
+        Map<String, MetadataCache.TableMeta> loadMetadata(Connection conn, String schema, String table) throws SQLException {
+            return MetadataCache.loadJdbc(conn, schema, table);
+        }
+    };
+
+    /** Tabellen des Schemas, sortiert. */
+    public abstract List<String> listTables(Connection conn, String schema) throws SQLException;
+
+    public abstract boolean tableExists(Connection conn, String schema, String table) throws SQLException;
+
+    /** Name der Datenbank/PDB für Logausgaben; nie {@code null}. */
+    public abstract String containerName(Connection conn);
+
+    /** DELETE, das höchstens {@code ?} Zeilen löscht (einziger Bindparameter). */
+    public abstract String deleteBatchSql(String fqTable, String whereClause);
+
+    /** ALTER TABLE … NOLOGGING/LOGGING möglich. */
+    public abstract boolean supportsNoLogging();
+
+    /** Metadaten aller Tabellen des Schemas ({@code table == null}) oder nur einer. */
+    abstract Map<String, MetadataCache.TableMeta> loadMetadata(Connection conn, String schema, String table) throws SQLException;
+
+    private static final Map<String, SqlDialect> BY_URL = new ConcurrentHashMap<>();
+
+    /** Dialekt anhand des Datenbankprodukts, gemerkt je URL. */
+    public static SqlDialect of(Connection conn) throws SQLException {
+        DatabaseMetaData md = conn.getMetaData();
+        String url = md.getURL();
+        SqlDialect d = url == null ? null : BY_URL.get(url);
+        if (d == null) {
+            String product = md.getDatabaseProductName();
+            d = product != null && product.toUpperCase().contains("ORACLE") ? ORACLE : GENERIC;
+            if (url != null) BY_URL.put(url, d);
+        }
+        return d;
+    }
+}
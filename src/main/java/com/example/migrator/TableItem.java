@@ -4,69 +4,184 @@ import javafx.beans.property.*;
 
 public class TableItem {
 
-    private final StringProperty tableName = new SimpleStringProperty();
-    private final StringProperty srcCount = new SimpleStringProperty("");
-    private final StringProperty dstCount = new SimpleStringProperty("");
-    private final StringProperty status   = new SimpleStringProperty("");
-
-    private final IntegerProperty transferred = new SimpleIntegerProperty(0);
-    private final DoubleProperty  rate        = new SimpleDoubleProperty(0.0);
-    private final DoubleProperty  progress    = new SimpleDoubleProperty(0.0);
+    /*
+     * Werte liegen in volatilen Feldern: sie werden sofort geschrieben und sind die einzige Quelle der Getter
+     * (auch aus Worker-Threads, z. B. Scheduler). Die JavaFX-Property entsteht erst, wenn eine Zelle sie anfordert
+     * (nur sichtbare Zeilen bzw. die Sortierspalte); die gepufferte Aktualisierung kopiert nur den Feldwert hinein.
+     */
+    private volatile String tableName;
+    private volatile String srcCount = "";
+    private volatile String dstCount = "";
+    private volatile String status = "";
+    private volatile boolean srcEstimated;
+    private volatile boolean dstEstimated;
+
+    private volatile int transferred;
+    private volatile double rate;
+    private volatile double progress;
 
     private DBManager.StopSignal stopSignal = new DBManager.StopSignal();
-    private final BooleanProperty deleting = new SimpleBooleanProperty(false);
+    private volatile boolean deleting;
+
+    private volatile String size = "n/a";
+    private volatile double sizeMB;
+    private double sizeMBShown;
+
+    private volatile CommitPolicy commitPolicy;   // null = Vorgabe der Kopier-Optionen
+
+    private StringProperty tableNameProp, srcCountProp, dstCountProp, statusProp, sizeProp, commitPolicyProp;
+    private BooleanProperty srcEstimatedProp, dstEstimatedProp, deletingProp;
+    private IntegerProperty transferredProp;
+    private DoubleProperty rateProp, progressProp, sizeMBProp;
+
+    /** Erhält Größenänderungen als Differenz (z. B. laufende Summe im {@link OverviewModel}). */
+    private java.util.function.DoubleConsumer sizeWatcher;
+
+    /**
+     * Zustellung von Property-Änderungen, z. B. gebündelt an den FX-Thread ({@link UiUpdateBuffer}).
+     * {@code key} benennt die Property: spätere Änderungen derselben Property ersetzen frühere.
+     */
+    public interface UpdateSink { void apply(TableItem item, String key, Runnable set); }
+
+    private static volatile UpdateSink sink;   // null = direkt setzen (Headless, Tests)
 
-    private final StringProperty  size        = new SimpleStringProperty("n/a");
-    private final DoubleProperty sizeMB = new SimpleDoubleProperty();
+    public static void setUpdateSink(UpdateSink s) { sink = s; }
 
-    public TableItem(String table) { this.tableName.set(table); }
+    private void apply(String key, Runnable set) {
+        UpdateSink s = sink;
+        if (s == null) set.run(); else s.apply(this, key, set);
+    }
+
+    public TableItem(String table) { this.tableName = table; }
     public TableItem(String table, String srcCount, String dstCount) {
-        this.tableName.set(table);
-        this.srcCount.set(srcCount == null ? "" : srcCount);
-        this.dstCount.set(dstCount == null ? "" : dstCount);
+        this.tableName = table;
+        this.srcCount = srcCount == null ? "" : srcCount;
+        this.dstCount = dstCount == null ? "" : dstCount;
     }
 
-    public String getTableName() { return tableName.get(); }
-    public void setTableName(String v) { tableName.set(v); }
-    public StringProperty tableNameProperty() { return tableName; }
+    public String getTableName() { return tableName; }
+    public void setTableName(String v) { tableName = v; apply("name", () -> { if (tableNameProp != null) tableNameProp.set(tableName); }); }
+    public StringProperty tableNameProperty() {
+        if (tableNameProp == null) tableNameProp = new SimpleStringProperty(tableName);
+        return tableNameProp;
+    }
 
-    public String getSrcCount() { return srcCount.get(); }
-    public void setSrcCount(String v) { srcCount.set(v); }
-    public StringProperty srcCountProperty() { return srcCount; }
+    public String getSrcCount() { return srcCount; }
+    public void setSrcCount(String v) { srcEstimated = false; srcCount = v; apply("src", this::showSrc); }
+    public StringProperty srcCountProperty() {
+        if (srcCountProp == null) srcCountProp = new SimpleStringProperty(srcCount);
+        return srcCountProp;
+    }
+    /** Geschätzte Zeilenzahl (Statistik/Stichprobe), in der Tabelle mit "≈" markiert. */
+    public void setSrcEstimate(long v) { srcEstimated = true; srcCount = Long.toString(v); apply("src", this::showSrc); }
+    public boolean isSrcEstimated() { return srcEstimated; }
+    public BooleanProperty srcEstimatedProperty() {
+        if (srcEstimatedProp == null) srcEstimatedProp = new SimpleBooleanProperty(srcEstimated);
+        return srcEstimatedProp;
+    }
+    private void showSrc() {
+        if (srcEstimatedProp != null) srcEstimatedProp.set(srcEstimated);
+        if (srcCountProp != null) srcCountProp.set(srcCount);
+    }
 
-    public String getDstCount() { return dstCount.get(); }
-    public void setDstCount(String v) { dstCount.set(v); }
-    public StringProperty dstCountProperty() { return dstCount; }
+    public String getDstCount() { return dstCount; }
+    public void setDstCount(String v) { dstEstimated = false; dstCount = v; apply("dst", this::showDst); }
+    public StringProperty dstCountProperty() {
+        if (dstCountProp == null) dstCountProp = new SimpleStringProperty(dstCount);
+        return dstCountProp;
+    }
+    public void setDstEstimate(long v) { dstEstimated = true; dstCount = Long.toString(v); apply("dst", this::showDst); }
+    public boolean isDstEstimated() { return dstEstimated; }
+    public BooleanProperty dstEstimatedProperty() {
+        if (dstEstimatedProp == null) dstEstimatedProp = new SimpleBooleanProperty(dstEstimated);
+        return dstEstimatedProp;
+    }
+    private void showDst() {
+        if (dstEstimatedProp != null) dstEstimatedProp.set(dstEstimated);
+        if (dstCountProp != null) dstCountProp.set(dstCount);
+    }
 
-    public String getStatus() { return status.get(); }
-    public void setStatus(String v) { status.set(v); }
-    public StringProperty statusProperty() { return status; }
+    public String getStatus() { return status; }
+    public void setStatus(String v) { status = v; apply("status", () -> { if (statusProp != null) statusProp.set(status); }); }
+    public StringProperty statusProperty() {
+        if (statusProp == null) statusProp = new SimpleStringProperty(status);
+        return statusProp;
+    }
 
-    public int getTransferred() { return transferred.get(); }
-    public void setTransferred(int v) { transferred.set(v); }
-    public IntegerProperty transferredProperty() { return transferred; }
+    public int getTransferred() { return transferred; }
+    public void setTransferred(int v) { transferred = v; apply("transferred", () -> { if (transferredProp != null) transferredProp.set(transferred); }); }
+    public IntegerProperty transferredProperty() {
+        if (transferredProp == null) transferredProp = new SimpleIntegerProperty(transferred);
+        return transferredProp;
+    }
 
-    public double getRate() { return rate.get(); }
-    public void setRate(double v) { rate.set(v); }
-    public DoubleProperty rateProperty() { return rate; }
+    public double getRate() { return rate; }
+    public void setRate(double v) { rate = v; apply("rate", () -> { if (rateProp != null) rateProp.set(rate); }); }
+    public DoubleProperty rateProperty() {
+        if (rateProp == null) rateProp = new SimpleDoubleProperty(rate);
+        return rateProp;
+    }
 
-    public double getProgress() { return progress.get(); }
-    public void setProgress(double v) { progress.set(v); }
-    public DoubleProperty progressProperty() { return progress; }
+    public double getProgress() { return progress; }
+    public void setProgress(double v) { progress = v; apply("progress", () -> { if (progressProp != null) progressProp.set(progress); }); }
+    public DoubleProperty progressProperty() {
+        if (progressProp == null) progressProp = new SimpleDoubleProperty(progress);
+        return progressProp;
+    }
 
     public DBManager.StopSignal getStopSignal() { return stopSignal; }
     public void setStopSignal(DBManager.StopSignal s) { this.stopSignal = s; }
 
-    public boolean isDeleting() { return deleting.get(); }
-    public void setDeleting(boolean v) { deleting.set(v); }
-    public BooleanProperty deletingProperty() { return deleting; }
+    public boolean isDeleting() { return deleting; }
+    public void setDeleting(boolean v) { deleting = v; apply("deleting", () -> { if (deletingProp != null) deletingProp.set(deleting); }); }
+    public BooleanProperty deletingProperty() {
+        if (deletingProp == null) deletingProp = new SimpleBooleanProperty(deleting);
+        return deletingProp;
+    }
 
-    public String getSize() { return size.get(); }
-    public void setSize(String v) { size.set(v); }
-    public StringProperty sizeProperty() { return size; }
+    public String getSize() { return size; }
+    public void setSize(String v) { size = v; apply("size", () -> { if (sizeProp != null) sizeProp.set(size); }); }
+    public StringProperty sizeProperty() {
+        if (sizeProp == null) sizeProp = new SimpleStringProperty(size);
+        return sizeProp;
+    }
 
-    public DoubleProperty sizeMBProperty() { return sizeMB; }
-    public double getSizeMB() { return sizeMB.get(); }
-    public void setSizeMB(double v) { sizeMB.set(v); }
+    public DoubleProperty sizeMBProperty() {
+        if (sizeMBProp == null) sizeMBProp = new SimpleDoubleProperty(sizeMB);
+        return sizeMBProp;
+    }
+    public double getSizeMB() { return sizeMB; }
+    public void setSizeMB(double v) {
+        sizeMB = v;
+        apply("sizeMB", () -> {
+            double cur = sizeMB, old = sizeMBShown;
+            sizeMBShown = cur;
+            if (sizeMBProp != null) sizeMBProp.set(cur);
+            java.util.function.DoubleConsumer w = sizeWatcher;
+            if (w != null && old != cur) w.accept(cur - old);
+        });
+    }
+    /** Zuletzt an Property und Watcher übergebene Größe (Thread der Zustellung), Basis der laufenden Summe. */
+    double shownSizeMB() { return sizeMBShown; }
+
+    void setSizeWatcher(java.util.function.DoubleConsumer w) { this.sizeWatcher = w; }
+
+    /** Commit-Policy nur dieser Tabelle, {@code null} = Vorgabe der Kopier-Optionen. */
+    public CommitPolicy getCommitPolicy() { return commitPolicy; }
+    public void setCommitPolicy(CommitPolicy p) {
+        commitPolicy = p;
+        apply("commit", () -> {
+            CommitPolicy cur = commitPolicy;
+            if (commitPolicyProp != null) commitPolicyProp.set(cur == null ? "" : cur.toString());
+        });
+    }
+    /** Textform der eigenen Policy für die Übersicht, leer = Vorgabe. */
+    public StringProperty commitPolicyProperty() {
+        if (commitPolicyProp == null) {
+            CommitPolicy p = commitPolicy;
+            commitPolicyProp = new SimpleStringProperty(p == null ? "" : p.toString());
+        }
+        return commitPolicyProp;
+    }
 
 }
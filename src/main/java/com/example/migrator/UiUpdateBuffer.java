@@ -0,0 +1,136 @@
+package com.example.migrator;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.application.Platform;
+import javafx.animation.Timeline;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+
+import java.util.*;
+
+/**
+ * Bündelt Änderungen an {@link TableItem}s aus Worker-Threads und spielt sie mit fester Bildrate
+ * auf dem FX-Thread ein. Je Tabelle und Property zählt nur der letzte Wert, die Kosten je Frame
+ * hängen also von der Anzahl geänderter Zeilen ab, nicht von der Update-Rate.
+ * Sortierung wird je Frame einmal nachgezogen: nur die geänderten Zeilen werden neu einsortiert,
+ * erst bei vielen Änderungen die ganze Tabelle.
+ */
+public class UiUpdateBuffer implements TableItem.UpdateSink {
+
+    /** Ab so vielen geänderten Zeilen wird komplett sortiert (TimSort auf fast sortierter Liste ist billig). */
+    private static final int FULL_SORT_ROWS = 32;
+
+    private record Key(TableItem item, String property) {}
+
+    private final TableView<TableItem> table;
+    private final Runnable afterFrame;
+    private final Object lock = new Object();
+    private Map<Key, Runnable> pending = new LinkedHashMap<>();
+    private final Set<TableItem> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean fullSort;
+    private final Timeline timer;
+
+    /**
+     * @param afterFrame läuft nach jedem Frame mit Änderungen (z. B. Summenanzeige), darf nicht teuer sein
+     */
+    public UiUpdateBuffer(TableView<TableItem> table, int framesPerSecond, Runnable afterFrame) {
+        this.table = table;
+        this.afterFrame = afterFrame;
+        this.timer = new Timeline(new KeyFrame(Duration.millis(1000.0 / Math.max(1, framesPerSecond)), ev -> drain()));
+        timer.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public void start() { timer.play(); }
+
+    public void stop() { timer.stop(); }
+
+    @Override
+    public void apply(TableItem item, String property, Runnable set) {
+        Key k = new Key(item, property);
+        if (Platform.isFxApplicationThread()) {
+            // direkt setzen; ein älterer, noch gepufferter Wert derselben Property darf ihn nicht überschreiben
+            synchronized (lock) { pending.remove(k); }
+            set.run();
+            changed.add(item);
+            return;
+        }
+        synchronized (lock) {
+            pending.remove(k);   // Reihenfolge: zuletzt geänderte Property zuletzt anwenden
+            pending.put(k, set);
+        }
+    }
+
+    /** Ganze Tabelle beim nächsten Frame neu sortieren (z. B. nach Hinzufügen von Zeilen). Aus jedem Thread. */
+    public void requestSort() {
+        synchronized (lock) { fullSort = true; }
+    }
+
+    private void drain() {
+        Map<Key, Runnable> batch;
+        boolean sortAll;
+        synchronized (lock) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            sortAll = fullSort;
+            fullSort = false;
+        }
+        for (Map.Entry<Key, Runnable> e : batch.entrySet()) {
+            e.getValue().run();
+            changed.add(e.getKey().item());
+        }
+        if (changed.isEmpty() && !sortAll) return;
+        resort(sortAll);
+        changed.clear();
+        if (afterFrame != null) afterFrame.run();
+    }
+
+    private void resort(boolean sortAll) {
+        if (table.getSortOrder().isEmpty()) return;
+        ObservableList<TableItem> items = table.getItems();
+        Comparator<TableItem> cmp = table.getComparator();
+        if (cmp == null) return;
+        if (sortAll || changed.size() > FULL_SORT_ROWS) {
+            table.sort();
+            return;
+        }
+        // Positionen der geänderten Zeilen in einem Durchlauf; verschoben werden nur die, die nicht mehr passen
+        List<Integer> out = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TableItem it = items.get(i);
+            if (!changed.contains(it)) continue;
+            boolean inPlace = (i == 0 || cmp.compare(items.get(i - 1), it) <= 0)
+                    && (i == items.size() - 1 || cmp.compare(it, items.get(i + 1)) <= 0);
+            if (!inPlace) out.add(i);
+        }
+        if (out.isEmpty()) return;
+
+        // Entfernen/Einfügen verwirft die Auswahl der verschobenen Zeilen → Auswahl und Fokus merken
+        TableView.TableViewSelectionModel<TableItem> sm = table.getSelectionModel();
+        List<TableItem> selected = new ArrayList<>(sm.getSelectedItems());
+        TableItem focused = table.getFocusModel().getFocusedItem();
+
+        List<TableItem> moved = new ArrayList<>(out.size());
+        for (int k = out.size() - 1; k >= 0; k--) moved.add(items.remove((int) out.get(k)));
+        for (TableItem it : moved) {
+            int lo = 0, hi = items.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cmp.compare(items.get(mid), it) <= 0) lo = mid + 1; else hi = mid;
+            }
+            items.add(lo, it);
+        }
+
+        if (selected.isEmpty() && focused == null) return;
+        Map<TableItem, Integer> pos = new IdentityHashMap<>();
+        for (int i = 0; i < items.size(); i++) pos.put(items.get(i), i);
+        sm.clearSelection();
+        for (TableItem it : selected) {
+            Integer i = pos.get(it);
+            if (i != null) sm.select(i);
+        }
+        Integer f = focused == null ? null : pos.get(focused);
+        if (f != null) table.getFocusModel().focus(f);
+    }
+}
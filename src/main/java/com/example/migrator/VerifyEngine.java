@@ -0,0 +1,322 @@
+package com.example.migrator;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inhaltlicher Vergleich Quelle/Ziel ohne Zeilentransfer: je PK-Bereich COUNT(*) und Summe eines
+ * Zeilen-Hashes (ORA_HASH über die ORA_HASH-Werte der Spalten), auf beiden Datenbanken gleichzeitig.
+ * Abweichende Bereiche werden halbiert, bis sie klein genug sind, um PK und Hash je Zeile zu vergleichen;
+ * beim Reparieren werden geänderte Zeilen im Ziel per UPDATE überschrieben, fehlende eingefügt und
+ * überzählige gelöscht (Elternzeilen mit FK-Kindern bleiben so bestehen).
+ * Zeichendaten werden vor dem Hash nach AL32UTF8 konvertiert, damit unterschiedliche Datenbank-Zeichensätze
+ * gleiche Hashes liefern. LONG-Spalten gehen nicht in den Hash ein, von LOBs nur Länge und Anfang
+ * (CLOB 1000 Zeichen, BLOB 2000 Bytes).
+ */
+public class VerifyEngine {
+
+    /** Bereiche bis zu dieser Zeilenzahl werden zeilenweise verglichen. */
+    static final long LEAF_ROWS = 2000;
+    /** Maximale Anzahl PK-Literale je Reparatur-Prädikat. */
+    private static final int REPAIR_CHUNK = 200;
+
+    public interface VerifyListener {
+        void onProgress(int rangesDone, int rangesTotal, long rowsChecked, long rowsDiffering, long rowsRepaired);
+    }
+
+    public static final class Result {
+        public final int ranges, mismatchedRanges;
+        public final long rowsChecked, missing, extra, changed, repaired;
+        Result(int ranges, int mismatchedRanges, long rowsChecked, long missing, long extra, long changed, long repaired) {
+            this.ranges = ranges; this.mismatchedRanges = mismatchedRanges; this.rowsChecked = rowsChecked;
+            this.missing = missing; this.extra = extra; this.changed = changed; this.repaired = repaired;
+        }
+        public long differing() { return missing + extra + changed; }
+        @Override public String toString() {
+            return differing() == 0 ? "verified " + rowsChecked + " rows"
+                    : differing() + " differing (" + missing + " missing, " + extra + " extra, " + changed + " changed)"
+                      + (repaired > 0 ? ", " + repaired + " repaired" : "");
+        }
+    }
+
+    private final DBConfig srcCfg, dstCfg;
+    private final int sessions;
+
+    public VerifyEngine(DBConfig srcCfg, DBConfig dstCfg, int sessions) {
+        this.srcCfg = srcCfg;
+        this.dstCfg = dstCfg;
+        this.sessions = Math.max(1, sessions);
+    }
+
+    private static void log(String s) { System.out.println("[verify] " + s); }
+
+    /** Hash-Summe und Zeilenzahl eines Bereichs. */
+    private record Digest(long rows, String hash) {}
+
+    /** Gemeinsame Daten eines Laufs. */
+    private final class Run {
+        final String table, whereClause;
+        final List<String> pk;
+        final String srcHashExpr, dstHashExpr;
+        final boolean repair;
+        final CopyOptions opts;
+        final DBManager.StopSignal stop;
+        final AtomicLong checked = new AtomicLong(), missing = new AtomicLong(), extra = new AtomicLong(),
+                changed = new AtomicLong(), repaired = new AtomicLong();
+        final AtomicInteger mismatched = new AtomicInteger();
+
+        Run(String table, String whereClause, List<String> pk, String srcHashExpr, String dstHashExpr,
+            boolean repair, CopyOptions opts, DBManager.StopSignal stop) {
+            this.table = table; this.whereClause = whereClause; this.pk = pk;
+            this.srcHashExpr = srcHashExpr; this.dstHashExpr = dstHashExpr;
+            this.repair = repair; this.opts = opts; this.stop = stop;
+        }
+    }
+
+    /**
+     * Vergleicht die Tabelle (mit optionaler WHERE-Bedingung auf beiden Seiten).
+     * @param repair abweichende Zeilen im Ziel löschen und aus der Quelle neu kopieren
+     */
+    public Result verify(String table, String whereClause, boolean repair, CopyOptions opts,
+                         VerifyListener listener, DBManager.StopSignal stop) throws SQLException {
+        final List<String> ranges;
+        final Run run;
+        // Fehler in einem Bereich beendet alle Worker, ohne das Stop-Signal des Aufrufers zu setzen
+        final DBManager.StopSignal abort = new DBManager.StopSignal() {
+            @Override public boolean isStopped() { return super.isStopped() || (stop != null && stop.isStopped()); }
+        };
+        try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+            List<String> pk = DBManager.getPrimaryKeyColumns(src, srcCfg.getSchema(), table);
+            if (pk.isEmpty()) throw new SQLException("Verifikation braucht einen Primärschlüssel: " + table);
+            MetadataCache.TableMeta sm = MetadataCache.table(src, srcCfg.getSchema(), table);
+            MetadataCache.TableMeta dm = MetadataCache.table(dst, dstCfg.getSchema(), table);
+            Map<String, String> dstTypes = new HashMap<>();
+            for (MetadataCache.Column c : dm.columns) dstTypes.put(c.name, c.dataType);
+            List<String> srcExpr = new ArrayList<>(), dstExpr = new ArrayList<>();
+            for (MetadataCache.Column c : sm.columns) {
+                String dt = dstTypes.get(c.name);
+                if (dt == null || c.dataType.startsWith("LONG") || dt.startsWith("LONG")) continue;
+                srcExpr.add(columnHash(c.name, c.dataType));
+                dstExpr.add(columnHash(c.name, dt));
+            }
+            run = new Run(table, whereClause, pk, rowHash(srcExpr), rowHash(dstExpr), repair, opts, abort);
+            ranges = KeyRanges.byPrimaryKey(src, srcCfg.getSchema(), table, pk, whereClause, sessions * 4);
+        }
+        if (ranges.isEmpty()) ranges.add("1=1");   // Quelle leer: Ziel muss auch leer sein
+        log(table + ": " + ranges.size() + " Bereiche auf " + sessions + " Sessions" + (repair ? ", mit Reparatur" : ""));
+
+        BlockingQueue<String> work = new LinkedBlockingQueue<>(ranges);
+        AtomicInteger done = new AtomicInteger();
+        int workers = Math.min(sessions, ranges.size());
+        ExecutorService pool = Executors.newFixedThreadPool(workers * 2, r -> {
+            Thread t = new Thread(r, "verify");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(pool.submit(() -> {
+                    try (Connection src = DBManager.open(srcCfg); Connection dst = DBManager.open(dstCfg)) {
+                        String range;
+                        while ((range = work.poll()) != null) {
+                            if (abort.isStopped()) throw new SQLException("stopped");
+                            if (check(run, src, dst, range, pool) > 0) run.mismatched.incrementAndGet();
+                            if (listener != null) listener.onProgress(done.incrementAndGet(), ranges.size(),
+                                    run.checked.get(), run.missing.get() + run.extra.get() + run.changed.get(), run.repaired.get());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted", ex);
+        } catch (ExecutionException ex) {
+            abort.stop();
+            Throwable c = ex.getCause();
+            if (c instanceof SQLException sqe) throw sqe;
+            throw new SQLException(c.getMessage(), c);
+        } finally {
+            pool.shutdownNow();
+        }
+        Result res = new Result(ranges.size(), run.mismatched.get(), run.checked.get(), run.missing.get(),
+                run.extra.get(), run.changed.get(), run.repaired.get());
+        log(table + ": " + res);
+        return res;
+    }
+
+    /** Vergleicht einen Bereich; bei Abweichung halbieren bzw. zeilenweise vergleichen. Liefert die abweichenden Zeilen. */
+    private long check(Run run, Connection src, Connection dst, String range, ExecutorService pool) throws Exception {
+        if (run.stop != null && run.stop.isStopped()) throw new SQLException("stopped");
+        String pred = KeyRanges.and(run.whereClause, range);
+        // Ziel-Abfrage parallel zur Quell-Abfrage
+        Future<Digest> df = pool.submit(() -> digest(dst, dstCfg.getSchema(), run.table, run.dstHashExpr, pred));
+        Digest s = digest(src, srcCfg.getSchema(), run.table, run.srcHashExpr, pred);
+        Digest d = df.get();
+        if (s.equals(d)) { run.checked.addAndGet(s.rows); return 0; }
+
+        long rows = Math.max(s.rows, d.rows);
+        if (rows > LEAF_ROWS && s.rows > 1) {
+            List<String> halves = KeyRanges.byPrimaryKey(src, srcCfg.getSchema(), run.table, run.pk, pred, 2);
+            if (halves.size() == 2) {
+                long diff = 0;
+                for (String h : halves) diff += check(run, src, dst, "(" + range + ") AND " + h, pool);
+                return diff;
+            }
+        }
+        return compareRows(run, src, dst, pred);
+    }
+
+    private static Digest digest(Connection c, String schema, String table, String hashExpr, String pred) throws SQLException {
+        String sql = "SELECT COUNT(*), NVL(SUM(" + hashExpr + "), 0) FROM " + schema + "." + table + " WHERE " + pred;
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return new Digest(rs.getLong(1), rs.getString(2));   // Summe kann long überschreiten
+        }
+    }
+
+    /** Zeilenweiser Vergleich (PK → Hash) eines kleinen Bereichs, ggf. mit Reparatur. */
+    private long compareRows(Run run, Connection src, Connection dst, String pred) throws SQLException {
+        Map<String, Long> s = rowHashes(src, srcCfg.getSchema(), run, run.srcHashExpr, pred);
+        Map<String, Long> d = rowHashes(dst, dstCfg.getSchema(), run, run.dstHashExpr, pred);
+        List<String> toDelete = new ArrayList<>(), toUpdate = new ArrayList<>(), toCopy = new ArrayList<>();
+        for (Map.Entry<String, Long> e : s.entrySet()) {
+            Long h = d.get(e.getKey());
+            if (h == null) { run.missing.incrementAndGet(); toCopy.add(e.getKey()); }
+            else if (!h.equals(e.getValue())) { run.changed.incrementAndGet(); toUpdate.add(e.getKey()); }
+        }
+        for (String k : d.keySet()) if (!s.containsKey(k)) { run.extra.incrementAndGet(); toDelete.add(k); }
+        run.checked.addAndGet(s.size());
+        Set<String> touched = new HashSet<>(toDelete);
+        touched.addAll(toUpdate);
+        touched.addAll(toCopy);
+        if (!run.repair || touched.isEmpty()) return touched.size();
+
+        // Überzählige löschen, geänderte per UPDATE überschreiben, fehlende einfügen – eine Transaktion je Bereich
+        CopyPlan plan = CopyPlan.get(src, srcCfg.getSchema(), dst, dstCfg.getSchema(), run.table);
+        CopyPlan.ColumnKind[] copiers = plan.copiers(run.opts.isRawDatums());
+        List<Integer> pkIdx = new ArrayList<>(), valIdx = new ArrayList<>();
+        for (int i = 0; i < plan.columns.size(); i++) {
+            if (run.pk.contains(plan.columns.get(i).toUpperCase())) pkIdx.add(i); else valIdx.add(i);
+        }
+        StringBuilder set = new StringBuilder(), on = new StringBuilder();
+        for (int i : valIdx) { if (set.length() > 0) set.append(", "); set.append(plan.columns.get(i)).append(" = ?"); }
+        for (int i : pkIdx) { if (on.length() > 0) on.append(" AND "); on.append(plan.columns.get(i)).append(" = ?"); }
+        if (set.length() == 0) set.append(plan.columns.get(pkIdx.get(0))).append(" = ").append(plan.columns.get(pkIdx.get(0)));
+        String fq = dstCfg.getSchema() + "." + run.table;
+        dst.setAutoCommit(false);
+        try (Statement del = dst.createStatement();
+             PreparedStatement pup = dst.prepareStatement("UPDATE " + fq + " SET " + set + " WHERE " + on);
+             PreparedStatement pin = dst.prepareStatement(plan.insertSql);
+             Statement sel = src.createStatement()) {
+            for (int i = 0; i < toDelete.size(); i += REPAIR_CHUNK) {
+                del.executeUpdate("DELETE FROM " + fq + " WHERE " +
+                        keyPredicate(run.pk, toDelete.subList(i, Math.min(toDelete.size(), i + REPAIR_CHUNK))));
+            }
+            for (int i = 0; i < toUpdate.size(); i += REPAIR_CHUNK) {
+                String sql = plan.selectSql(null) + " WHERE " +
+                        keyPredicate(run.pk, toUpdate.subList(i, Math.min(toUpdate.size(), i + REPAIR_CHUNK)));
+                try (ResultSet rs = sel.executeQuery(sql)) {
+                    while (rs.next()) {
+                        int p = 1;
+                        for (int c : valIdx) copiers[c].bind(pup, p++, copiers[c].read(rs, c + 1));
+                        for (int c : pkIdx) copiers[c].bind(pup, p++, copiers[c].read(rs, c + 1));
+                        pup.addBatch();
+                    }
+                }
+                pup.executeBatch();
+            }
+            for (int i = 0; i < toCopy.size(); i += REPAIR_CHUNK) {
+                // SELECT ohne WHERE-Cache des Plans, die Schlüsselprädikate sind Einmalware
+                String sql = plan.selectSql(null) + " WHERE " +
+                        keyPredicate(run.pk, toCopy.subList(i, Math.min(toCopy.size(), i + REPAIR_CHUNK)));
+                try (ResultSet rs = sel.executeQuery(sql)) {
+                    while (rs.next()) {
+                        for (int c = 0; c < copiers.length; c++) copiers[c].copy(rs, pin, c + 1);
+                        pin.addBatch();
+                    }
+                }
+                pin.executeBatch();
+            }
+            dst.commit();
+        } catch (SQLException ex) {
+            try { dst.rollback(); } catch (SQLException ignored) {}
+            throw ex;
+        } finally {
+            dst.setAutoCommit(true);
+        }
+        run.repaired.addAndGet(touched.size());
+        return touched.size();
+    }
+
+    /** PK (als Literal-Tupel, Trenner \u0001) → Zeilen-Hash. */
+    private static Map<String, Long> rowHashes(Connection c, String schema, Run run, String hashExpr, String pred) throws SQLException {
+        String cols = String.join(",", run.pk);
+        String sql = "SELECT " + cols + ", " + hashExpr + " FROM " + schema + "." + run.table + " WHERE " + pred;
+        Map<String, Long> m = new HashMap<>();
+        try (Statement st = c.createStatement()) {
+            st.setFetchSize(1000);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                // PK typgerecht lesen: die Literale landen unverändert in den Reparatur-Prädikaten
+                String[] types = new String[run.pk.size() + 1];
+                for (int i = 1; i <= run.pk.size(); i++) types[i] = rs.getMetaData().getColumnTypeName(i);
+                while (rs.next()) {
+                    StringBuilder k = new StringBuilder();
+                    for (int i = 1; i <= run.pk.size(); i++) {
+                        if (i > 1) k.append('\u0001');
+                        k.append(DBManager.toSqlLiteral(DBManager.readKey(rs, i, types[i]), types[i]));
+                    }
+                    m.put(k.toString(), rs.getLong(run.pk.size() + 1));
+                }
+            }
+        }
+        return m;
+    }
+
+    private static String keyPredicate(List<String> pk, List<String> keys) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) sb.append(" OR ");
+            String[] lits = keys.get(i).split("\u0001", -1);
+            sb.append("(");
+            for (int j = 0; j < pk.size(); j++) {
+                if (j > 0) sb.append(" AND ");
+                sb.append(pk.get(j)).append(" = ").append(lits[j]);
+            }
+            sb.append(")");
+        }
+        return sb.append(")").toString();
+    }
+
+    /** Zeilen-Hash aus den Spalten-Hashes (je Spalte höchstens 11 Zeichen, daher kein 4000-Byte-Limit). */
+    static String rowHash(List<String> columnHashes) {
+        if (columnHashes.isEmpty()) return "0";
+        return "ORA_HASH(" + String.join(" || ',' || ", columnHashes) + ")";
+    }
+
+    /**
+     * Typunabhängige, NLS- und zeichensatzfeste Darstellung einer Spalte, gehasht; NULL wird als 'N' unterschieden.
+     * Zeichendaten als AL32UTF8-Bytes, sonst hasht ORA_HASH die Bytes im jeweiligen Datenbank-Zeichensatz.
+     */
+    static String columnHash(String col, String dataType) {
+        String t = CopyPlan.ColumnKind.baseType(dataType).toUpperCase();
+        String e;
+        if (t.equals("NUMBER") || t.equals("FLOAT") || t.startsWith("BINARY_")) e = "TO_CHAR(" + col + ", 'TM9')";
+        else if (t.equals("DATE")) e = "TO_CHAR(" + col + ", 'YYYYMMDDHH24MISS')";
+        else if (t.startsWith("TIMESTAMP")) e = "TO_CHAR(" + col + ", 'YYYYMMDDHH24MISSFF9')";
+        else if (t.equals("RAW")) e = "RAWTOHEX(" + col + ")";
+        // 1000 Zeichen bleiben auch mit 4 Bytes je Zeichen unter 4000 Bytes
+        else if (t.equals("CLOB") || t.equals("NCLOB"))
+            e = "DBMS_LOB.GETLENGTH(" + col + ") || ':' || ORA_HASH(CONVERT(DBMS_LOB.SUBSTR(" + col + ", 1000, 1), 'AL32UTF8'))";
+        else if (t.equals("BLOB"))
+            e = "DBMS_LOB.GETLENGTH(" + col + ") || ':' || ORA_HASH(DBMS_LOB.SUBSTR(" + col + ", 2000, 1))";
+        else if (t.endsWith("CHAR") || t.endsWith("CHAR2")) e = "CONVERT(" + col + ", 'AL32UTF8')";
+        else e = col;
+        return "NVL2(" + col + ", TO_CHAR(ORA_HASH(" + e + ")), 'N')";
+    }
+}
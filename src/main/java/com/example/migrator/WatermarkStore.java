@@ -0,0 +1,79 @@
+package com.example.migrator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.Properties;
+
+/**
+ * Watermark je Quell-/Zieldatenbank, Schema und Tabelle für die Delta-Synchronisation:
+ * Spalte (z. B. LAST_UPDATED oder der PK) und der zuletzt übernommene Wert als SQL-Literal.
+ * Liegt neben den WHERE-Bedingungen unter ~/.oracle-migrator/watermark.
+ */
+public class WatermarkStore {
+
+    public static final class Watermark {
+        public final String column;
+        public final String lastLiteral;   // null = noch kein Lauf
+        public Watermark(String column, String lastLiteral) { this.column = column; this.lastLiteral = lastLiteral; }
+    }
+
+    private static Path baseDir() {
+        Path dir = Paths.get(System.getProperty("user.home"), ".oracle-migrator", "watermark");
+        try { Files.createDirectories(dir); } catch (IOException ignored) {}
+        return dir;
+    }
+
+    private static String key(String srcSchema, String dstSchema, String table) {
+        return (srcSchema == null ? "" : srcSchema.toUpperCase()) + "__" +
+                (dstSchema == null ? "" : dstSchema.toUpperCase()) + "__" +
+                (table == null ? "" : table.toUpperCase());
+    }
+
+    private static Path file(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table) {
+        return baseDir().resolve(key(srcSchema, dstSchema, table) + "__" + ConfigStore.dbTag(srcUrl, dstUrl) + ".properties");
+    }
+
+    public static void save(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table, Watermark wm) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("column", wm.column == null ? "" : wm.column);
+        if (wm.lastLiteral != null) p.setProperty("last", wm.lastLiteral);
+        Path f = file(srcUrl, srcSchema, dstUrl, dstSchema, table);
+        Path tmp = f.resolveSibling(f.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp)) {
+            p.store(os, "delta sync watermark");
+        }
+        Files.move(tmp, f, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Watermark oder {@code null}, wenn für die Tabelle keiner hinterlegt ist (ältere Dateien ohne URL werden noch gelesen). */
+    public static Watermark load(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table) {
+        Path f = file(srcUrl, srcSchema, dstUrl, dstSchema, table);
+        if (!Files.exists(f)) f = baseDir().resolve(key(srcSchema, dstSchema, table) + ".properties");
+        if (!Files.exists(f)) return null;
+        Properties p = new Properties();
+        try (InputStream is = Files.newInputStream(f)) {
+            p.load(is);
+        } catch (IOException e) {
+            return null;
+        }
+        String col = p.getProperty("column", "").trim();
+        return new Watermark(col.isEmpty() ? null : col, p.getProperty("last"));
+    }
+
+    /** Setzt die Watermark-Spalte; ein Spaltenwechsel verwirft den gespeicherten Wert. */
+    public static void setColumn(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table, String column) throws IOException {
+        Watermark old = load(srcUrl, srcSchema, dstUrl, dstSchema, table);
+        String col = column == null || column.isBlank() ? null : column.trim().toUpperCase();
+        boolean same = old != null && old.column != null && old.column.equalsIgnoreCase(col == null ? "" : col);
+        save(srcUrl, srcSchema, dstUrl, dstSchema, table, new Watermark(col, same ? old.lastLiteral : null));
+    }
+
+    public static void clear(String srcUrl, String srcSchema, String dstUrl, String dstSchema, String table) {
+        try {
+            Files.deleteIfExists(file(srcUrl, srcSchema, dstUrl, dstSchema, table));
+            Files.deleteIfExists(baseDir().resolve(key(srcSchema, dstSchema, table) + ".properties"));
+        } catch (IOException ignored) {}
+    }
+}
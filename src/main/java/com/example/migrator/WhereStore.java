@@ -2,8 +2,24 @@ package com.example.migrator;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
+/**
+ * WHERE-Bedingungen je Tabelle als Datei unter {@code ~/.oracle-migrator/where}.
+ * Welche Dateien existieren, wird einmal per Verzeichnisliste eingelesen und danach im Speicher
+ * gehalten; Inhalte werden beim ersten Zugriff gelesen. {@link #hasWhere} stößt so kein Dateisystem an.
+ */
 public class WhereStore {
+
+    private static volatile Set<String> keys;   // null = noch nicht eingelesen
+    private static final ConcurrentHashMap<String, Optional<String>> contents = new ConcurrentHashMap<>();
+    private static final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+
     private static Path baseDir() {
         Path dir = Paths.get(System.getProperty("user.home"), ".oracle-migrator", "where");
         try { Files.createDirectories(dir); } catch (IOException ignored) {}
@@ -12,19 +28,54 @@ public class WhereStore {
     private static String key(String schema, String table) {
         return (schema==null?"":schema.toUpperCase()) + "__" + (table==null?"":table.toUpperCase());
     }
+
+    private static Set<String> index() {
+        Set<String> k = keys;
+        if (k != null) return k;
+        synchronized (WhereStore.class) {
+            if (keys == null) {
+                Set<String> found = ConcurrentHashMap.newKeySet();
+                try (DirectoryStream<Path> ds = Files.newDirectoryStream(baseDir(), "*.sql")) {
+                    for (Path f : ds) {
+                        String n = f.getFileName().toString();
+                        found.add(n.substring(0, n.length() - 4));
+                    }
+                } catch (IOException ignored) {}
+                keys = found;
+            }
+            return keys;
+        }
+    }
+
+    /** Wird nach jedem Speichern mit (Schema, Tabelle) aufgerufen – im Thread des Aufrufers. */
+    public static void addListener(BiConsumer<String, String> l) { listeners.add(l); }
+
+    /** Index verwerfen, z. B. wenn Dateien außerhalb des Programms geändert wurden. */
+    public static void invalidate() {
+        synchronized (WhereStore.class) { keys = null; }
+        contents.clear();
+    }
+
     public static void saveWhere(String schema, String table, String where) throws IOException {
-        Path f = baseDir().resolve(key(schema, table) + ".sql");
+        String k = key(schema, table);
+        Path f = baseDir().resolve(k + ".sql");
         Files.writeString(f, where==null?"":where, java.nio.charset.StandardCharsets.UTF_8);
+        index().add(k);
+        contents.put(k, Optional.of(where==null?"":where));
+        for (BiConsumer<String, String> l : listeners) l.accept(schema, table);
     }
     public static String loadWhere(String schema, String table) {
-        try {
-            Path f = baseDir().resolve(key(schema, table) + ".sql");
-            if (Files.exists(f)) return Files.readString(f);
-        } catch (IOException ignored) {}
-        return null;
+        String k = key(schema, table);
+        if (!index().contains(k)) return null;
+        return contents.computeIfAbsent(k, kk -> {
+            try {
+                Path f = baseDir().resolve(kk + ".sql");
+                if (Files.exists(f)) return Optional.of(Files.readString(f));
+            } catch (IOException ignored) {}
+            return Optional.empty();
+        }).orElse(null);
     }
     public static boolean hasWhere(String schema, String table) {
-        Path f = baseDir().resolve(key(schema, table) + ".sql");
-        return Files.exists(f);
+        return index().contains(key(schema, table));
     }
 }
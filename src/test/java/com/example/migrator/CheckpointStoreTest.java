@@ -0,0 +1,78 @@
+package com.example.migrator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointStoreTest {
+
+    private static final String URL_A = "jdbc:oracle:thin:@//a:1521/X", URL_B = "jdbc:oracle:thin:@//b:1521/X";
+    private static final List<String> PK = List.of("ID", "TS");
+
+    @TempDir Path home;
+    private String oldHome;
+
+    @BeforeEach void setHome() { oldHome = System.setProperty("user.home", home.toString()); }
+    @AfterEach void restoreHome() { System.setProperty("user.home", oldHome); }
+
+    private static CheckpointStore.Checkpoint cp(long rows) {
+        return new CheckpointStore.Checkpoint(PK, List.of("17", "TO_DATE('2024-01-02 10:00:00','YYYY-MM-DD HH24:MI:SS')"), rows);
+    }
+
+    @Test
+    void saveLoadClear() throws Exception {
+        CheckpointStore.save(URL_A, "src", URL_A, "dst", "t", " X = 1 ", cp(500));
+        CheckpointStore.Checkpoint got = CheckpointStore.load(URL_A, "SRC", URL_A, "DST", "T", "X = 1", PK);
+        assertNotNull(got);
+        assertEquals(500, got.rows);
+        assertEquals(cp(0).lastLiterals, got.lastLiterals);
+
+        assertNull(CheckpointStore.load(URL_A, "SRC", URL_A, "DST", "T", "X = 2", PK), "andere WHERE-Bedingung");
+        assertNull(CheckpointStore.load(URL_A, "SRC", URL_A, "DST", "T", "X = 1", List.of("ID")), "anderer PK");
+
+        CheckpointStore.clear(URL_A, "SRC", URL_A, "DST", "T", "X = 1");
+        assertNull(CheckpointStore.load(URL_A, "SRC", URL_A, "DST", "T", "X = 1", PK));
+    }
+
+    @Test
+    void databasesDoNotShareCheckpoints() throws Exception {
+        CheckpointStore.save(URL_A, "S", URL_A, "D", "T", null, cp(1));
+        CheckpointStore.save(URL_B, "S", URL_B, "D", "T", null, cp(2));
+        assertEquals(1, CheckpointStore.load(URL_A, "S", URL_A, "D", "T", null, PK).rows);
+        assertEquals(2, CheckpointStore.load(URL_B, "S", URL_B, "D", "T", null, PK).rows);
+
+        assertEquals(1, CheckpointStore.clearAll(URL_A, "S", URL_A, "D", "T"));
+        assertNull(CheckpointStore.load(URL_A, "S", URL_A, "D", "T", null, PK));
+        assertNotNull(CheckpointStore.load(URL_B, "S", URL_B, "D", "T", null, PK));
+    }
+
+    @Test
+    void legacyFileWithoutUrlIsReadAndCleared() throws Exception {
+        Path dir = home.resolve(".oracle-migrator").resolve("checkpoint");
+        Files.createDirectories(dir);
+        Properties p = new Properties();
+        p.setProperty("where", "");
+        p.setProperty("pk", "ID");
+        p.setProperty("rows", "9");
+        p.setProperty("last.0", "41");
+        try (OutputStream os = Files.newOutputStream(dir.resolve("S__D__T__" + Integer.toHexString("".hashCode()) + ".properties"))) {
+            p.store(os, null);
+        }
+        CheckpointStore.Checkpoint got = CheckpointStore.load(URL_A, "S", URL_A, "D", "T", "", List.of("ID"));
+        assertNotNull(got);
+        assertEquals(9, got.rows);
+        assertEquals(List.of("41"), got.lastLiterals);
+
+        assertEquals(1, CheckpointStore.clearAll(URL_A, "S", URL_A, "D", "T"));
+        assertNull(CheckpointStore.load(URL_A, "S", URL_A, "D", "T", "", List.of("ID")));
+    }
+}
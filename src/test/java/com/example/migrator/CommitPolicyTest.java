@@ -0,0 +1,71 @@
+package com.example.migrator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitPolicyTest {
+
+    @Test
+    void parseAndToStringRoundTrip() {
+        for (String s : new String[]{"batch", "single", "rows=50000", "bytes=64m", "time=30s", "time=500ms",
+                "rows=50000,bytes=64m,time=30s", "single<=20000,bytes=64m", "bytes=3k", "bytes=1000"}) {
+            CommitPolicy p = CommitPolicy.parse(s);
+            assertEquals(s, p.toString(), s);
+            assertEquals(p, CommitPolicy.parse(p.toString()), s);
+        }
+    }
+
+    @Test
+    void parseNormalisesInput() {
+        assertSame(CommitPolicy.BATCH, CommitPolicy.parse(null));
+        assertSame(CommitPolicy.BATCH, CommitPolicy.parse("  "));
+        assertSame(CommitPolicy.BATCH, CommitPolicy.parse("rows=0"));
+        assertSame(CommitPolicy.SINGLE, CommitPolicy.parse("rows=10, single"));
+        assertEquals("rows=10,time=1s", CommitPolicy.parse(" ROWS = 10 , time=1 ").toString());
+        assertEquals(64L * 1024 * 1024, CommitPolicy.parse("bytes=64M").bytes);
+        assertEquals(120_000, CommitPolicy.parse("time=2m").millis);
+    }
+
+    @Test
+    void parseRejectsUnknownParts() {
+        assertThrows(IllegalArgumentException.class, () -> CommitPolicy.parse("every=5"));
+        assertThrows(IllegalArgumentException.class, () -> CommitPolicy.parse("rows=viele"));
+        assertThrows(IllegalArgumentException.class, () -> CommitPolicy.parse("single<=x"));
+    }
+
+    @Test
+    void resolveSingleUpTo() {
+        CommitPolicy p = CommitPolicy.parse("single<=20000,bytes=64m");
+        assertSame(CommitPolicy.SINGLE, p.resolve(0));
+        assertSame(CommitPolicy.SINGLE, p.resolve(20000));
+        assertEquals("bytes=64m", p.resolve(20001).toString());
+        assertEquals("bytes=64m", p.resolve(-1).toString(), "unbekannte Zeilenzahl → Grenzen");
+        assertSame(CommitPolicy.BATCH, CommitPolicy.parse("single<=10").resolve(11));
+        CommitPolicy plain = CommitPolicy.parse("rows=5");
+        assertSame(plain, plain.resolve(1));
+    }
+
+    @Test
+    void txCommitsAtLimits() {
+        CommitPolicy.Tx batch = CommitPolicy.BATCH.begin();
+        assertFalse(batch.flushDue(1000, 1 << 20));
+        assertTrue(batch.executed(1000, 0));
+
+        CommitPolicy.Tx single = CommitPolicy.SINGLE.begin();
+        assertFalse(single.flushDue(1_000_000, Long.MAX_VALUE / 2));
+        assertFalse(single.executed(1_000_000, 0));
+        assertEquals(1_000_000, single.pendingRows());
+
+        CommitPolicy.Tx rows = CommitPolicy.parse("rows=100").begin();
+        assertFalse(rows.executed(60, 0));
+        assertTrue(rows.flushDue(40, 0));
+        assertTrue(rows.executed(40, 0));
+        rows.committed();
+        assertEquals(0, rows.pendingRows());
+
+        CommitPolicy.Tx bytes = CommitPolicy.parse("bytes=1k").begin();
+        assertFalse(bytes.executed(1, 1000));
+        assertTrue(bytes.flushDue(1, 24));
+    }
+}
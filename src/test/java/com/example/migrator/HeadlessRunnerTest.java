@@ -0,0 +1,18 @@
+package com.example.migrator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessRunnerTest {
+
+    @Test
+    void jsonEscapesControlCharactersAndQuotes() {
+        assertEquals("null", HeadlessRunner.json(null));
+        assertEquals("\"\"", HeadlessRunner.json(""));
+        assertEquals("\"ORA-00942: \\\"T\\\" fehlt\"", HeadlessRunner.json("ORA-00942: \"T\" fehlt"));
+        assertEquals("\"C:\\\\tmp\\n\\r\\t\"", HeadlessRunner.json("C:\\tmp\n\r\t"));
+        assertEquals("\"a\\u0001b\\u001f\"", HeadlessRunner.json("a\u0001b\u001f"));
+        assertEquals("\"Größe ≈ 5\"", HeadlessRunner.json("Größe ≈ 5"));
+    }
+}
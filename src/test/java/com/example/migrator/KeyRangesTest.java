@@ -0,0 +1,33 @@
+package com.example.migrator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyRangesTest {
+
+    @Test
+    void tupleCompareSingleColumn() {
+        assertEquals("((ID < 5))", KeyRanges.tupleCompare(List.of("ID"), List.of("5"), "<"));
+        assertEquals("((ID >= 'a''b'))", KeyRanges.tupleCompare(List.of("ID"), List.of("'a''b'"), ">="));
+    }
+
+    @Test
+    void tupleCompareIsLexicographic() {
+        // nur die letzte Spalte nimmt den nicht-strikten Operator
+        assertEquals("((A > 1) OR (A = 1 AND B > 'x'))",
+                KeyRanges.tupleCompare(List.of("A", "B"), List.of("1", "'x'"), ">"));
+        assertEquals("((A < 1) OR (A = 1 AND B < 2) OR (A = 1 AND B = 2 AND C <= 3))",
+                KeyRanges.tupleCompare(List.of("A", "B", "C"), List.of("1", "2", "3"), "<="));
+    }
+
+    @Test
+    void andKeepsWhereClauseGrouped() {
+        assertEquals("ID > 5", KeyRanges.and(null, "ID > 5"));
+        assertEquals("ID > 5", KeyRanges.and("  ", "ID > 5"));
+        assertEquals("X = 1 OR Y = 2", KeyRanges.and("X = 1 OR Y = 2", null));
+        assertEquals("(X = 1 OR Y = 2) AND ID > 5", KeyRanges.and("X = 1 OR Y = 2", "ID > 5"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.migrator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Export → Prüfung → Import über H2 (Oracle-Modus) als JDBC-Gegenstelle. */
+class SpoolFileTest {
+
+    private static final int ROWS = 2500;
+
+    @TempDir Path dir;
+    private Connection db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = DriverManager.getConnection("jdbc:h2:mem:spool" + System.nanoTime() + ";MODE=Oracle");
+        try (Statement st = db.createStatement()) {
+            st.execute("CREATE SCHEMA SRC");
+            st.execute("CREATE SCHEMA DST");
+            for (String s : new String[]{"SRC", "DST"}) {
+                st.execute("CREATE TABLE " + s + ".T (ID NUMBER(10) PRIMARY KEY, NAME VARCHAR2(50), "
+                        + "AMOUNT NUMBER(12,2), TS TIMESTAMP, DATA VARBINARY(16))");
+            }
+        }
+        try (PreparedStatement ps = db.prepareStatement("INSERT INTO SRC.T VALUES (?,?,?,?,?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                ps.setInt(1, i);
+                ps.setString(2, i % 10 == 0 ? null : "Zeile " + i + " ä'ß");
+                ps.setBigDecimal(3, new java.math.BigDecimal(i + ".25"));
+                ps.setTimestamp(4, i % 7 == 0 ? null : new Timestamp(1_700_000_000_000L + i * 1000L));
+                ps.setBytes(5, new byte[]{(byte) i, (byte) (i >> 8)});
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException { db.close(); }
+
+    private long export(Path file) throws Exception {
+        return SpoolFile.export(db, "SRC", "T", null, file, null, null);
+    }
+
+    private long count(String schema) throws SQLException {
+        return DBManager.countRows(db, schema, "T", null);
+    }
+
+    @Test
+    void exportVerifyImportRoundTrip() throws Exception {
+        Path file = dir.resolve("t.omspool");
+        assertEquals(ROWS, export(file));
+        assertEquals(ROWS, SpoolFile.verify(file));
+
+        SpoolFile.Header h = SpoolFile.readHeader(file);
+        assertEquals("T", h.table);
+        assertEquals(5, h.columns.size());
+
+        assertEquals(ROWS, SpoolFile.importInto(db, "DST", file, 700, null, null));
+        assertEquals(ROWS, count("DST"));
+        String cmp = "SELECT COUNT(*) FROM (SELECT * FROM SRC.T MINUS SELECT * FROM DST.T)";
+        try (Statement st = db.createStatement(); ResultSet rs = st.executeQuery(cmp)) {
+            rs.next();
+            assertEquals(0, rs.getLong(1), "Werte nach dem Import abweichend");
+        }
+    }
+
+    @Test
+    void whereClauseIsExported() throws Exception {
+        Path file = dir.resolve("w.omspool");
+        assertEquals(100, SpoolFile.export(db, "SRC", "T", "ID <= 100", file, null, null));
+        assertEquals("ID <= 100", SpoolFile.readHeader(file).where);
+        assertEquals(100, SpoolFile.verify(file));
+    }
+
+    @Test
+    void truncatedFileIsRejectedBeforeAnyCommit() throws Exception {
+        Path file = dir.resolve("t.omspool");
+        export(file);
+        byte[] all = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(all, all.length - 10));   // Ende-Frame fehlt
+
+        assertThrows(IOException.class, () -> SpoolFile.verify(file));
+        assertThrows(IOException.class, () -> SpoolFile.importInto(db, "DST", file, 100, null, null));
+        assertEquals(0, count("DST"));
+    }
+
+    @Test
+    void corruptBlockIsRejectedBeforeAnyCommit() throws Exception {
+        Path file = dir.resolve("t.omspool");
+        export(file);
+        byte[] all = Files.readAllBytes(file);
+        all[all.length / 2] ^= 0x5a;   // mitten im Datenblock
+        Files.write(file, all);
+
+        assertThrows(IOException.class, () -> SpoolFile.verify(file));
+        assertThrows(IOException.class, () -> SpoolFile.importInto(db, "DST", file, 100, null, null));
+        assertEquals(0, count("DST"));
+    }
+
+    @Test
+    void notASpoolFile() throws Exception {
+        Path file = dir.resolve("x.omspool");
+        Files.writeString(file, "kein Spool");
+        assertThrows(IOException.class, () -> SpoolFile.verify(file));
+    }
+}
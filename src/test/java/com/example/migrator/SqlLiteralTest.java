@@ -0,0 +1,47 @@
+package com.example.migrator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlLiteralTest {
+
+    @Test
+    void timestampsUseFixedFormat() {
+        // volle Sekunden: LocalDateTime.toString() ließe ":00" weg
+        assertEquals("TO_TIMESTAMP('2024-01-02 10:00:00.000000000','YYYY-MM-DD HH24:MI:SS.FF')",
+                DBManager.toSqlLiteral(Timestamp.valueOf("2024-01-02 10:00:00")));
+        assertEquals("TO_TIMESTAMP('2024-01-02 10:11:12.123456789','YYYY-MM-DD HH24:MI:SS.FF')",
+                DBManager.toSqlLiteral(Timestamp.valueOf("2024-01-02 10:11:12.123456789")));
+        assertEquals("TO_TIMESTAMP_TZ('2024-01-02 10:00:00.500000000 +02:00','YYYY-MM-DD HH24:MI:SS.FF TZH:TZM')",
+                DBManager.toSqlLiteral(OffsetDateTime.of(2024, 1, 2, 10, 0, 0, 500_000_000, ZoneOffset.ofHours(2))));
+    }
+
+    @Test
+    void dateColumnsGetDateLiterals() {
+        assertEquals("TO_DATE('2024-01-02 10:11:12','YYYY-MM-DD HH24:MI:SS')",
+                DBManager.toSqlLiteral(Timestamp.valueOf("2024-01-02 10:11:12"), "DATE"));
+        assertEquals("NULL", DBManager.toSqlLiteral(null, "DATE"));
+        assertEquals("42", DBManager.toSqlLiteral(42, "DATE"));
+    }
+
+    @Test
+    void scalars() {
+        assertEquals("NULL", DBManager.toSqlLiteral(null));
+        assertEquals("10000000000", DBManager.toSqlLiteral(new BigDecimal("1E+10")));
+        assertEquals("-7", DBManager.toSqlLiteral(-7L));
+        assertEquals("'O''Brien'", DBManager.toSqlLiteral("O'Brien"));
+        assertEquals("HEXTORAW('00ff10')", DBManager.toSqlLiteral(new byte[]{0, (byte) 0xff, 0x10}));
+    }
+
+    @Test
+    void unknownTypesAreRejected() {
+        // z. B. oracle.sql.TIMESTAMP: toString() hinge von NLS ab
+        assertThrows(IllegalArgumentException.class, () -> DBManager.toSqlLiteral(new Object()));
+    }
+}